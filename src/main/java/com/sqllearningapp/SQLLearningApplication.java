@@ -2,9 +2,9 @@ package com.sqllearningapp;
 
 import atlantafx.base.theme.PrimerLight;
 import com.sqllearningapp.core.database.EmbeddedDatabase;
-import com.sqllearningapp.core.database.QueryExecutor;
 import com.sqllearningapp.core.services.LearningContentService;
 import com.sqllearningapp.core.services.PracticeService;
+import com.sqllearningapp.core.services.QueryExecutionService;
 import com.sqllearningapp.core.services.ProgressTrackingService;
 import com.sqllearningapp.ui.MainWindow;
 import com.sqllearningapp.utils.ConfigManager;
@@ -23,7 +23,7 @@ public class SQLLearningApplication extends Application {
     private LearningContentService learningService;
     private PracticeService practiceService;
     private ProgressTrackingService progressTrackingService;
-    private QueryExecutor queryExecutor;
+    private QueryExecutionService queryExecutionService;
     private MainWindow mainWindow;
 
     public static void main(String[] args) {
@@ -53,12 +53,12 @@ public class SQLLearningApplication extends Application {
             databaseManager = new EmbeddedDatabase();
             databaseManager.initialize();
 
-            // Initialize query executor (required by PracticeService)
-            queryExecutor = new QueryExecutor(databaseManager);
+            // Shared query execution service (required by PracticeService and the UI)
+            queryExecutionService = new QueryExecutionService(databaseManager, configManager);
 
             // Initialize services
             learningService = new LearningContentService();
-            practiceService = new PracticeService(queryExecutor);
+            practiceService = new PracticeService(queryExecutionService);
             progressTrackingService = new ProgressTrackingService();
 
             log.info("Application initialization completed successfully");
@@ -83,7 +83,8 @@ public class SQLLearningApplication extends Application {
                     configManager,          // 2nd: ConfigManager configManager
                     learningService,        // 3rd: LearningContentService learningContentService
                     practiceService,        // 4th: PracticeService practiceService
-                    progressTrackingService // 5th: ProgressTrackingService progressTrackingService
+                    progressTrackingService, // 5th: ProgressTrackingService progressTrackingService
+                    queryExecutionService   // 6th: QueryExecutionService queryExecutionService
             );
 
             // Show the main window
@@ -122,6 +123,11 @@ public class SQLLearningApplication extends Application {
                 configManager.saveConfiguration();
             }
 
+            // Stop query execution before the database goes away
+            if (queryExecutionService != null) {
+                queryExecutionService.shutdown();
+            }
+
             // Close database
             if (databaseManager != null) {
                 databaseManager.close();
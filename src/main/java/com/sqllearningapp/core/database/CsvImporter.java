@@ -0,0 +1,484 @@
+package com.sqllearningapp.core.database;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streaming CSV/TSV importer for the practice database.
+ * Reads the file through an NIO channel, infers column types from a sample,
+ * creates the table and loads rows through batched inserts on a writer thread.
+ * Only the sample and a few in-flight batches are ever held on the heap. The import
+ * runs on a practice connection of its own, so its transactions never mix with
+ * statements the user runs meanwhile.
+ */
+@Slf4j
+public class CsvImporter {
+
+    private static final int SAMPLE_ROWS = 1000;
+    private static final int BATCH_SIZE = 5000;
+    private static final int QUEUE_CAPACITY = 4; // batches in flight before the reader blocks
+
+    private final EmbeddedDatabase database;
+
+    public CsvImporter(EmbeddedDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Listener notified after each batch is committed
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(long bytesRead, long totalBytes, long rowsImported);
+    }
+
+    /**
+     * Import a CSV or TSV file into a new practice table
+     */
+    public ImportReport importFile(Path file, String tableName, ProgressListener listener)
+            throws IOException, SQLException {
+        String table = sanitizeIdentifier(tableName);
+
+        try (Connection connection = database.openPracticeConnection()) {
+            if (tableExists(connection, table)) {
+                throw new SQLException("Table already exists: " + table);
+            }
+            return importFile(connection, file, table, listener);
+        }
+    }
+
+    private ImportReport importFile(Connection connection, Path file, String table, ProgressListener listener)
+            throws IOException, SQLException {
+        char delimiter = CsvRecordReader.detectDelimiter(file);
+        log.info("Importing {} into table {} (delimiter '{}')", file, table,
+                delimiter == '\t' ? "\\t" : String.valueOf(delimiter));
+
+        long startTime = System.currentTimeMillis();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long totalBytes = channel.size();
+            CsvRecordReader reader = new CsvRecordReader(CsvRecordReader.newReader(channel), delimiter);
+
+            List<String> header = reader.next();
+            if (header == null || header.isEmpty()) {
+                throw new IOException("File is empty: " + file.getFileName());
+            }
+            List<String> columnNames = uniqueColumnNames(header);
+
+            // Sample the head of the file for type inference; these rows are inserted first
+            List<List<String>> sample = new ArrayList<>();
+            List<String> record;
+            while (sample.size() < SAMPLE_ROWS && (record = reader.next()) != null) {
+                sample.add(record);
+            }
+
+            List<ColumnType> columnTypes = inferColumnTypes(columnNames.size(), sample);
+            createTable(connection, table, columnNames, columnTypes);
+
+            LoadStats stats;
+            try {
+                stats = load(connection, table, columnNames, columnTypes, sample, reader, channel,
+                        totalBytes, listener);
+            } catch (IOException | SQLException | RuntimeException e) {
+                dropTableQuietly(connection, table);
+                throw e;
+            } finally {
+                // Bulk load bypasses QueryExecutor; results cached while rows were arriving are stale
+                database.getPracticeResultCache().invalidateAll();
+            }
+
+            Map<String, String> columns = new LinkedHashMap<>();
+            for (int i = 0; i < columnNames.size(); i++) {
+                columns.put(columnNames.get(i), columnTypes.get(i).sqlType);
+            }
+
+            ImportReport report = ImportReport.builder()
+                    .tableName(table)
+                    .columns(columns)
+                    .rowsImported(stats.imported)
+                    .rowsRejected(stats.rejected)
+                    .bytesRead(totalBytes)
+                    .elapsedMs(System.currentTimeMillis() - startTime)
+                    .build();
+
+            log.info("Imported {} rows into {} ({} rejected) in {} ms",
+                    report.getRowsImported(), table, report.getRowsRejected(), report.getElapsedMs());
+            return report;
+        }
+    }
+
+    // ===== PIPELINE =====
+
+    /**
+     * Reader thread parses and converts rows; the writer thread drains batches into JDBC.
+     * The bounded queue applies backpressure so parsing never runs ahead of the database.
+     */
+    private LoadStats load(Connection connection, String table, List<String> columnNames, List<ColumnType> columnTypes,
+                           List<List<String>> sample, CsvRecordReader reader, FileChannel channel,
+                           long totalBytes, ProgressListener listener)
+            throws IOException, SQLException {
+
+        BlockingQueue<List<Object[]>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        List<Object[]> endOfData = new ArrayList<>(0);
+        AtomicReference<Exception> writerError = new AtomicReference<>();
+        AtomicLong imported = new AtomicLong();
+
+        Thread writer = new Thread(() -> {
+            try {
+                writeBatches(connection, table, columnNames, columnTypes, queue, endOfData, batchRows -> {
+                    long total = imported.addAndGet(batchRows);
+                    if (listener != null) {
+                        listener.onProgress(position(channel, totalBytes), totalBytes, total);
+                    }
+                });
+            } catch (Exception e) {
+                writerError.set(e);
+                queue.clear(); // unblock the reader
+            }
+        }, "csv-import-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        long rejected = 0;
+        try {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            Iterator<List<String>> sampleIterator = sample.iterator();
+
+            while (true) {
+                List<String> record = sampleIterator.hasNext() ? sampleIterator.next() : reader.next();
+                if (record == null) {
+                    break;
+                }
+
+                Object[] row = convertRow(record, columnTypes);
+                if (row == null) {
+                    rejected++;
+                    continue;
+                }
+
+                batch.add(row);
+                if (batch.size() == BATCH_SIZE) {
+                    enqueue(queue, batch, writer, writerError);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                enqueue(queue, batch, writer, writerError);
+            }
+            enqueue(queue, endOfData, writer, writerError);
+            writer.join();
+
+        } catch (InterruptedException e) {
+            writer.interrupt();
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted", e);
+        } catch (IOException | SQLException | RuntimeException e) {
+            // Stop the writer so it rolls back before the table is dropped
+            writer.interrupt();
+            awaitQuietly(writer);
+            throw e;
+        }
+
+        rethrow(writerError.get());
+        return new LoadStats(imported.get(), rejected);
+    }
+
+    private void enqueue(BlockingQueue<List<Object[]>> queue, List<Object[]> batch, Thread writer,
+                         AtomicReference<Exception> writerError)
+            throws InterruptedException, IOException, SQLException {
+        while (!queue.offer(batch, 200, TimeUnit.MILLISECONDS)) {
+            if (writerError.get() != null || !writer.isAlive()) {
+                break;
+            }
+        }
+        rethrow(writerError.get());
+    }
+
+    private void writeBatches(Connection connection, String table, List<String> columnNames,
+                              List<ColumnType> columnTypes, BlockingQueue<List<Object[]>> queue,
+                              List<Object[]> endOfData, java.util.function.IntConsumer onBatchCommitted)
+            throws SQLException, InterruptedException {
+
+        StringJoiner columns = new StringJoiner(", ");
+        StringJoiner placeholders = new StringJoiner(", ");
+        for (String column : columnNames) {
+            columns.add(quote(column));
+            placeholders.add("?");
+        }
+        String sql = "INSERT INTO " + quote(table) + " (" + columns + ") VALUES (" + placeholders + ")";
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            connection.setAutoCommit(false);
+
+            List<Object[]> batch;
+            while ((batch = queue.take()) != endOfData) {
+                for (Object[] row : batch) {
+                    for (int i = 0; i < row.length; i++) {
+                        if (row[i] == null) {
+                            stmt.setNull(i + 1, columnTypes.get(i).jdbcType);
+                        } else {
+                            stmt.setObject(i + 1, row[i]);
+                        }
+                    }
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                connection.commit();
+                onBatchCommitted.accept(batch.size());
+            }
+        } catch (SQLException | InterruptedException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private void awaitQuietly(Thread thread) {
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void rethrow(Exception error) throws IOException, SQLException {
+        if (error == null) {
+            return;
+        }
+        if (error instanceof SQLException sqlException) {
+            throw sqlException;
+        }
+        if (error instanceof IOException ioException) {
+            throw ioException;
+        }
+        throw new SQLException("Import failed: " + error.getMessage(), error);
+    }
+
+    // ===== TYPE INFERENCE =====
+
+    /**
+     * Column types ordered from most to least specific
+     */
+    private enum ColumnType {
+        INTEGER("INT", Types.INTEGER),
+        BIGINT("BIGINT", Types.BIGINT),
+        DECIMAL("DECIMAL(38,10)", Types.DECIMAL),
+        BOOLEAN("BOOLEAN", Types.BOOLEAN),
+        DATE("DATE", Types.DATE),
+        TIMESTAMP("TIMESTAMP", Types.TIMESTAMP),
+        VARCHAR("VARCHAR", Types.VARCHAR);
+
+        private final String sqlType;
+        private final int jdbcType;
+
+        ColumnType(String sqlType, int jdbcType) {
+            this.sqlType = sqlType;
+            this.jdbcType = jdbcType;
+        }
+
+        Object parse(String value) {
+            return switch (this) {
+                case INTEGER -> Integer.valueOf(value);
+                case BIGINT -> Long.valueOf(value);
+                case DECIMAL -> new BigDecimal(value);
+                case BOOLEAN -> parseBoolean(value);
+                case DATE -> java.sql.Date.valueOf(LocalDate.parse(value));
+                case TIMESTAMP -> Timestamp.valueOf(value.length() == 10 ?
+                        LocalDate.parse(value).atStartOfDay() :
+                        LocalDateTime.parse(value.replace(' ', 'T')));
+                case VARCHAR -> value;
+            };
+        }
+
+        boolean accepts(String value) {
+            try {
+                parse(value);
+                return true;
+            } catch (NumberFormatException | DateTimeParseException e) {
+                return false;
+            }
+        }
+
+        private static Boolean parseBoolean(String value) {
+            if (value.equalsIgnoreCase("true")) return Boolean.TRUE;
+            if (value.equalsIgnoreCase("false")) return Boolean.FALSE;
+            throw new NumberFormatException("Not a boolean: " + value);
+        }
+    }
+
+    private List<ColumnType> inferColumnTypes(int columnCount, List<List<String>> sample) {
+        List<ColumnType> types = new ArrayList<>(columnCount);
+
+        for (int column = 0; column < columnCount; column++) {
+            ColumnType inferred = null;
+
+            for (List<String> record : sample) {
+                String value = column < record.size() ? record.get(column) : null;
+                if (value == null || value.isEmpty()) {
+                    continue;
+                }
+
+                if (inferred == null) {
+                    inferred = Arrays.stream(ColumnType.values())
+                            .filter(type -> type.accepts(value))
+                            .findFirst()
+                            .orElse(ColumnType.VARCHAR);
+                }
+                while (!inferred.accepts(value)) {
+                    inferred = widen(inferred);
+                }
+
+                if (inferred == ColumnType.VARCHAR) {
+                    break;
+                }
+            }
+
+            types.add(inferred == null ? ColumnType.VARCHAR : inferred);
+        }
+
+        return types;
+    }
+
+    /**
+     * Next wider type that still accepts every value seen so far
+     */
+    private ColumnType widen(ColumnType type) {
+        return switch (type) {
+            case INTEGER -> ColumnType.BIGINT;
+            case BIGINT -> ColumnType.DECIMAL;
+            case DATE -> ColumnType.TIMESTAMP;
+            case DECIMAL, BOOLEAN, TIMESTAMP, VARCHAR -> ColumnType.VARCHAR;
+        };
+    }
+
+    /**
+     * Convert a record to typed values, or null when it doesn't fit the inferred schema
+     */
+    private Object[] convertRow(List<String> record, List<ColumnType> columnTypes) {
+        if (record.size() > columnTypes.size()) {
+            return null;
+        }
+
+        Object[] row = new Object[columnTypes.size()];
+        for (int i = 0; i < row.length; i++) {
+            String value = i < record.size() ? record.get(i) : null;
+            if (value == null || value.isEmpty()) {
+                continue;
+            }
+            try {
+                row[i] = columnTypes.get(i).parse(value);
+            } catch (NumberFormatException | DateTimeParseException e) {
+                return null;
+            }
+        }
+        return row;
+    }
+
+    // ===== DDL =====
+
+    private void createTable(Connection connection, String table, List<String> columnNames,
+                             List<ColumnType> columnTypes) throws SQLException {
+        StringJoiner definitions = new StringJoiner(",\n    ");
+        for (int i = 0; i < columnNames.size(); i++) {
+            definitions.add(quote(columnNames.get(i)) + " " + columnTypes.get(i).sqlType);
+        }
+
+        String sql = "CREATE TABLE " + quote(table) + " (\n    " + definitions + "\n)";
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(sql);
+        }
+        log.debug("Created import table:\n{}", sql);
+    }
+
+    private boolean tableExists(Connection connection, String table) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet rs = metaData.getTables(null, null, table, new String[]{"TABLE"})) {
+            return rs.next();
+        }
+    }
+
+    private void dropTableQuietly(Connection connection, String table) {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS " + quote(table));
+        } catch (SQLException e) {
+            log.warn("Failed to drop partially imported table {}", table, e);
+        }
+    }
+
+    // ===== HELPERS =====
+
+    /**
+     * Turn a file or header name into an upper-case identifier
+     */
+    public static String sanitizeIdentifier(String name) {
+        String identifier = name.trim().replaceAll("[^A-Za-z0-9_]+", "_").replaceAll("^_+|_+$", "");
+        if (identifier.isEmpty()) {
+            identifier = "COLUMN";
+        }
+        if (Character.isDigit(identifier.charAt(0))) {
+            identifier = "_" + identifier;
+        }
+        return identifier.toUpperCase();
+    }
+
+    private List<String> uniqueColumnNames(List<String> header) {
+        List<String> names = new ArrayList<>(header.size());
+        Set<String> seen = new HashSet<>();
+
+        for (int i = 0; i < header.size(); i++) {
+            String base = header.get(i).isBlank() ? "COLUMN_" + (i + 1) : sanitizeIdentifier(header.get(i));
+            String name = base;
+            for (int suffix = 2; !seen.add(name); suffix++) {
+                name = base + "_" + suffix;
+            }
+            names.add(name);
+        }
+        return names;
+    }
+
+    private String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    private long position(FileChannel channel, long totalBytes) {
+        try {
+            return channel.isOpen() ? channel.position() : totalBytes;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private record LoadStats(long imported, long rejected) { }
+
+    // ===== REPORT =====
+
+    @Data
+    @Builder
+    public static class ImportReport {
+        private String tableName;
+        private Map<String, String> columns;
+        private long rowsImported;
+        private long rowsRejected;
+        private long bytesRead;
+        private long elapsedMs;
+    }
+}
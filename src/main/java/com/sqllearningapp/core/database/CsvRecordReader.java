@@ -0,0 +1,141 @@
+package com.sqllearningapp.core.database;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 record reader: quoted fields, doubled quotes and embedded newlines
+ */
+public final class CsvRecordReader {
+
+    private static final int READ_BUFFER_CHARS = 64 * 1024;
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char[] buffer = new char[READ_BUFFER_CHARS];
+    private final StringBuilder field = new StringBuilder();
+    private int length;
+    private int position;
+    private boolean endOfFile;
+
+    public CsvRecordReader(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Delimiter from the file extension, or sniffed from the header line
+     */
+    public static char detectDelimiter(Path file) throws IOException {
+        String fileName = file.getFileName().toString().toLowerCase();
+        if (fileName.endsWith(".tsv") || fileName.endsWith(".tab")) {
+            return '\t';
+        }
+
+        // Sniff the header line for files without a telling extension
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             Reader reader = newReader(channel)) {
+            char[] buffer = new char[4096];
+            int read = reader.read(buffer);
+            int commas = 0, tabs = 0, semicolons = 0;
+            for (int i = 0; i < Math.max(read, 0) && buffer[i] != '\n'; i++) {
+                switch (buffer[i]) {
+                    case ',' -> commas++;
+                    case '\t' -> tabs++;
+                    case ';' -> semicolons++;
+                    default -> { }
+                }
+            }
+            if (tabs > commas && tabs >= semicolons) return '\t';
+            if (semicolons > commas) return ';';
+            return ',';
+        }
+    }
+
+    /**
+     * Buffered UTF-8 reader that replaces malformed input instead of failing
+     */
+    public static Reader newReader(FileChannel channel) {
+        return Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE), READ_BUFFER_CHARS);
+    }
+
+    /**
+     * Next record, or null at the end of the input
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            c = read(); // skip blank lines
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> record = new ArrayList<>();
+        boolean quoted = false;
+        field.setLength(0);
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int nextChar = read();
+                    if (nextChar == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = nextChar;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == delimiter) {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r') {
+                    int nextChar = read();
+                    if (nextChar != '\n' && nextChar != -1) {
+                        position--; // not CRLF, push back
+                    }
+                }
+                record.add(field.toString());
+                return record;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == length) {
+            if (endOfFile) {
+                return -1;
+            }
+            length = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (length <= 0) {
+                length = 0;
+                endOfFile = true;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+}
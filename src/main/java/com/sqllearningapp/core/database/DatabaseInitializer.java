@@ -36,6 +36,9 @@ public class DatabaseInitializer {
             createEmployeeProjectsTable(stmt);
             createCustomersTable(stmt);
             createOrdersTable(stmt);
+            createProductsTable(stmt);
+            createOrderDetailsTable(stmt);
+            createPerformanceTestTable(stmt);
 
             // Insert your existing sample data
             insertSampleDepartments(stmt);
@@ -153,6 +156,54 @@ public class DatabaseInitializer {
         log.debug("Created orders table");
     }
 
+    // Tables used by the advanced exercises and filled by SampleDataGenerator
+    private void createProductsTable(Statement stmt) throws SQLException {
+        String sql = """
+            CREATE TABLE IF NOT EXISTS products (
+                id INT PRIMARY KEY AUTO_INCREMENT,
+                product_code VARCHAR(20) UNIQUE,
+                product_name VARCHAR(100) NOT NULL,
+                category VARCHAR(50),
+                unit_price DECIMAL(8,2),
+                units_in_stock INT DEFAULT 0,
+                discontinued BOOLEAN DEFAULT FALSE
+            );
+            """;
+        stmt.execute(sql);
+        log.debug("Created products table");
+    }
+
+    private void createOrderDetailsTable(Statement stmt) throws SQLException {
+        String sql = """
+            CREATE TABLE IF NOT EXISTS order_details (
+                id INT PRIMARY KEY AUTO_INCREMENT,
+                order_id INT NOT NULL,
+                product_id INT NOT NULL,
+                quantity INT NOT NULL DEFAULT 1,
+                unit_price DECIMAL(8,2) NOT NULL,
+                discount DECIMAL(5,4) DEFAULT 0,
+                FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE,
+                FOREIGN KEY (product_id) REFERENCES products(id)
+            );
+            """;
+        stmt.execute(sql);
+        log.debug("Created order_details table");
+    }
+
+    private void createPerformanceTestTable(Statement stmt) throws SQLException {
+        String sql = """
+            CREATE TABLE IF NOT EXISTS performance_test (
+                id INT PRIMARY KEY AUTO_INCREMENT,
+                test_name VARCHAR(100),
+                execution_time_ms INT,
+                memory_usage_mb DECIMAL(8,2),
+                test_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+            );
+            """;
+        stmt.execute(sql);
+        log.debug("Created performance_test table");
+    }
+
     // Sample data insertion methods (preserving your existing data)
     private void insertSampleDepartments(Statement stmt) throws SQLException {
         String sql = """
@@ -6,6 +6,8 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -20,10 +22,17 @@ public class EmbeddedDatabase {
     // Practice database for SQL exercises (in-memory, resetable)
     private static final String PRACTICE_DB_URL = "jdbc:h2:mem:practice;DB_CLOSE_DELAY=-1";
 
+    // Private copies of the practice database, e.g. for batch grading; dropped when closed
+    private static final String SANDBOX_DB_URL_PREFIX = "jdbc:h2:mem:sandbox_";
+
     private Connection mainConnection;
     private Connection practiceConnection;
     private boolean isInitialized = false;
 
+    // Shared by every QueryExecutor so cached practice results survive across executions
+    private final QueryResultCache practiceResultCache = new QueryResultCache();
+    private final QueryStatistics queryStatistics = new QueryStatistics(this);
+
     public void initialize() throws SQLException {
         log.info("Initializing embedded database system...");
 
@@ -38,6 +47,7 @@ public class EmbeddedDatabase {
             initializePracticeDatabase();
 
             isInitialized = true;
+            queryStatistics.start();
             log.info("Database system initialized successfully");
 
         } catch (Exception e) {
@@ -103,36 +113,11 @@ public class EmbeddedDatabase {
 
             String script = new Scanner(is, "UTF-8").useDelimiter("\\A").next();
 
-            // Better script parsing
-            String[] statements = script.split(";");
-
+            // Quote-, comment- and $$-aware splitting; comment-only fragments are dropped
             try (Statement stmt = connection.createStatement()) {
-                for (String statement : statements) {
-                    // Clean the statement
-                    statement = statement.trim();
-
-                    // Skip empty statements and comments
-                    if (statement.isEmpty() ||
-                            statement.startsWith("--") ||
-                            statement.matches("^\\s*--.*$")) {
-                        continue;
-                    }
-
-                    // Remove single-line comments from the statement
-                    String[] lines = statement.split("\n");
-                    StringBuilder cleanStatement = new StringBuilder();
-                    for (String line : lines) {
-                        String cleanLine = line.trim();
-                        if (!cleanLine.startsWith("--") && !cleanLine.isEmpty()) {
-                            cleanStatement.append(cleanLine).append("\n");
-                        }
-                    }
-
-                    String finalStatement = cleanStatement.toString().trim();
-                    if (!finalStatement.isEmpty()) {
-                        log.debug("Executing SQL: {}", finalStatement);
-                        stmt.execute(finalStatement);
-                    }
+                for (String statement : SqlScriptSplitter.split(script)) {
+                    log.debug("Executing SQL: {}", statement);
+                    stmt.execute(statement);
                 }
             }
         } catch (Exception e) {
@@ -156,6 +141,64 @@ public class EmbeddedDatabase {
         return practiceConnection;
     }
 
+    public QueryResultCache getPracticeResultCache() {
+        return practiceResultCache;
+    }
+
+    public QueryStatistics getQueryStatistics() {
+        return queryStatistics;
+    }
+
+    /**
+     * Open an additional connection to the main database; the caller closes it
+     */
+    public Connection openMainConnection() throws SQLException {
+        return DriverManager.getConnection(MAIN_DB_URL, "sa", "");
+    }
+
+    /**
+     * Open an additional connection to the practice database; the caller closes it
+     */
+    public Connection openPracticeConnection() throws SQLException {
+        return DriverManager.getConnection(PRACTICE_DB_URL, "sa", "");
+    }
+
+    /**
+     * Script that recreates the practice tables, views and data (the PUBLIC schema only).
+     * Runs on its own session, so it sees committed state and never touches the shared connection.
+     */
+    public List<String> scriptPracticeDatabase() throws SQLException {
+        List<String> statements = new ArrayList<>();
+        try (Connection connection = openPracticeConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SCRIPT NOPASSWORDS NOSETTINGS SCHEMA PUBLIC")) {
+            while (rs.next()) {
+                String statement = rs.getString(1);
+                if (!statement.startsWith("--")) {
+                    statements.add(statement);
+                }
+            }
+        }
+        return statements;
+    }
+
+    /**
+     * Open a new private in-memory database loaded from a practice database script.
+     * The database disappears when the returned connection is closed.
+     */
+    public Connection openSandbox(String name, List<String> script) throws SQLException {
+        Connection sandbox = DriverManager.getConnection(SANDBOX_DB_URL_PREFIX + name, "sa", "");
+        try (Statement stmt = sandbox.createStatement()) {
+            for (String statement : script) {
+                stmt.execute(statement);
+            }
+        } catch (SQLException e) {
+            sandbox.close();
+            throw e;
+        }
+        return sandbox;
+    }
+
     // Practice database management
     public void resetPracticeDatabase() throws SQLException {
         log.info("Resetting practice database...");
@@ -165,6 +208,7 @@ public class EmbeddedDatabase {
         }
 
         // Recreate practice database
+        practiceResultCache.invalidateAll();
         initializePracticeDatabase();
         log.info("Practice database reset completed");
     }
@@ -192,6 +236,7 @@ public class EmbeddedDatabase {
     // Graceful shutdown
     public void close() {
         log.info("Closing database connections...");
+        queryStatistics.stop();
 
         try {
             if (practiceConnection != null && !practiceConnection.isClosed()) {
@@ -1,7 +1,10 @@
 package com.sqllearningapp.core.database;
 
 import com.sqllearningapp.core.models.QueryResult;
+import com.sqllearningapp.utils.ConfigManager;
 import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
 import java.sql.*;
 import java.util.*;
 
@@ -12,11 +15,23 @@ import java.util.*;
 public class QueryExecutor {
 
     private final EmbeddedDatabase database;
-    private static final int QUERY_TIMEOUT_SECONDS = 30;
-    private static final int MAX_RESULT_ROWS = 1000;
+    private final ConfigManager configManager;
+    private static final int DEFAULT_MAX_RESULT_ROWS = 1000;
+    private static final int DEFAULT_MEMORY_BUDGET_MB = 64;
+    private static final int DEFAULT_MAX_SPILLED_ROWS = 5_000_000;
+    private static final int DEFAULT_RESULT_CACHE_MB = 32;
+    private static final int SCRIPT_BATCH_SIZE = 1000;
 
     public QueryExecutor(EmbeddedDatabase database) {
+        this(database, null);
+    }
+
+    /**
+     * @param configManager source of result-size limits; defaults are used when null
+     */
+    public QueryExecutor(EmbeddedDatabase database, ConfigManager configManager) {
         this.database = database;
+        this.configManager = configManager;
     }
 
     /**
@@ -32,6 +47,15 @@ public class QueryExecutor {
      * @param usePracticeDb true for practice database, false for main database
      */
     public QueryResult executeQuery(String sql, boolean usePracticeDb) {
+        return executeQuery(sql, usePracticeDb, true);
+    }
+
+    /**
+     * Execute SQL query with database selection
+     * @param spillLargeResults false when only the in-memory page is needed, e.g. for grading;
+     *                          rows past the page are then counted but not written to disk
+     */
+    public QueryResult executeQuery(String sql, boolean usePracticeDb, boolean spillLargeResults) {
         if (sql == null || sql.trim().isEmpty()) {
             return QueryResult.builder()
                     .success(false)
@@ -41,29 +65,48 @@ public class QueryExecutor {
         }
 
         long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
         Connection connection = usePracticeDb ?
                 database.getPracticeConnection() : database.getMainConnection();
+        sql = sql.trim();
+        SqlLexer.Classification classification = SqlLexer.classify(sql);
 
-        try {
-            sql = sql.trim();
-            String queryType = determineQueryType(sql);
+        // H2 runs every statement in the text, so only single statements are known to be read-only
+        boolean singleStatement = SqlScriptSplitter.split(sql).size() <= 1;
+
+        QueryResult result = dispatchQuery(connection, sql, classification, singleStatement, usePracticeDb,
+                spillLargeResults, startTime);
+        database.getQueryStatistics().record(sql, result, System.nanoTime() - startNanos);
+        return result;
+    }
+
+    private QueryResult dispatchQuery(Connection connection, String sql, SqlLexer.Classification classification,
+                                      boolean singleStatement, boolean usePracticeDb, boolean spill,
+                                      long startTime) {
+        String queryType = classification.queryType();
+        boolean readOnly = singleStatement && classification.readOnly();
 
+        try {
             log.debug("Executing {} query: {}", queryType, sql);
 
             // Handle different query types
-            switch (queryType.toUpperCase()) {
+            switch (queryType) {
                 case "SELECT":
-                    return executeSelectQuery(connection, sql, startTime);
+                    if (usePracticeDb && readOnly) {
+                        return executeCachedSelect(connection, sql, startTime, spill);
+                    }
+                    return executeSelectQuery(connection, sql, startTime, spill);
                 case "INSERT":
                 case "UPDATE":
                 case "DELETE":
+                case "MERGE":
                     return executeModificationQuery(connection, sql, queryType, startTime);
                 case "CREATE":
                 case "DROP":
                 case "ALTER":
                     return executeDDLQuery(connection, sql, queryType, startTime);
                 default:
-                    return executeGenericQuery(connection, sql, queryType, startTime);
+                    return executeGenericQuery(connection, sql, queryType, startTime, spill);
             }
 
         } catch (SQLException e) {
@@ -73,7 +116,7 @@ public class QueryExecutor {
             return QueryResult.builder()
                     .success(false)
                     .message("SQL Error: " + e.getMessage())
-                    .queryType(determineQueryType(sql))
+                    .queryType(queryType)
                     .executionTimeMs(executionTime)
                     .build();
 
@@ -84,43 +127,485 @@ public class QueryExecutor {
             return QueryResult.builder()
                     .success(false)
                     .message("Unexpected error: " + e.getMessage())
-                    .queryType(determineQueryType(sql))
+                    .queryType(queryType)
+                    .executionTimeMs(executionTime)
+                    .build();
+
+        } finally {
+            if (usePracticeDb && !singleStatement) {
+                database.getPracticeResultCache().invalidateAll(); // later statements are not classified
+            } else if (usePracticeDb && !readOnly) {
+                database.getPracticeResultCache().recordWrite(connection, classification);
+            }
+        }
+    }
+
+    /**
+     * Execute a multi-statement script and return one result per statement.
+     * Runs of consecutive INSERTs are sent as JDBC batches; execution stops
+     * at the first failing statement, like running the statements one by one.
+     */
+    public List<QueryResult> executeScript(String script, boolean usePracticeDb) {
+        List<String> statements = SqlScriptSplitter.split(script);
+        List<QueryResult> results = new ArrayList<>(statements.size());
+        Connection connection = usePracticeDb ?
+                database.getPracticeConnection() : database.getMainConnection();
+
+        log.debug("Executing script with {} statement(s)", statements.size());
+
+        int i = 0;
+        while (i < statements.size()) {
+            int end = i;
+            while (end < statements.size() && end - i < SCRIPT_BATCH_SIZE
+                    && "INSERT".equals(SqlLexer.classify(statements.get(end)).queryType())) {
+                end++;
+            }
+
+            if (end - i > 1 && executeInsertBatch(connection, statements.subList(i, end), results)) {
+                if (usePracticeDb) {
+                    for (String insert : statements.subList(i, end)) {
+                        database.getPracticeResultCache().recordWrite(connection, SqlLexer.classify(insert));
+                    }
+                }
+                i = end;
+                continue;
+            }
+
+            // Single statement, or a batch that failed and is replayed one by one
+            int stop = Math.max(end, i + 1);
+            for (; i < stop; i++) {
+                QueryResult result = executeQuery(statements.get(i), usePracticeDb);
+                results.add(result);
+                if (!result.isSuccess()) {
+                    return results;
+                }
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Run INSERTs as one batch in a single transaction.
+     * @return false if the batch failed and was rolled back, so the caller can replay it
+     */
+    private boolean executeInsertBatch(Connection connection, List<String> inserts, List<QueryResult> results) {
+        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        boolean originalAutoCommit = true;
+        Savepoint savepoint = null;
+
+        try {
+            originalAutoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            if (!originalAutoCommit) {
+                savepoint = connection.setSavepoint(); // keep the user's open transaction intact
+            }
+
+            int[] counts;
+            try (Statement stmt = getTuning().createStatement(connection)) {
+                for (String insert : inserts) {
+                    stmt.addBatch(insert);
+                }
+                counts = stmt.executeBatch();
+            }
+            if (originalAutoCommit) {
+                connection.commit();
+            }
+
+            // Batched statements share the batch time evenly
+            long executionTime = System.currentTimeMillis() - startTime;
+            long perStatement = executionTime / inserts.size();
+            long perStatementNanos = (System.nanoTime() - startNanos) / inserts.size();
+
+            for (int k = 0; k < inserts.size(); k++) {
+                int affectedRows = Math.max(counts[k], 0);
+                QueryResult result = QueryResult.builder()
+                        .success(true)
+                        .message(String.format("INSERT executed successfully. %d row(s) affected. (batched)",
+                                affectedRows))
+                        .rowCount(affectedRows)
+                        .queryType("INSERT")
+                        .executionTimeMs(perStatement)
+                        .sql(inserts.get(k))
+                        .build();
+                results.add(result);
+                database.getQueryStatistics().record(inserts.get(k), result, perStatementNanos);
+            }
+            return true;
+
+        } catch (SQLException e) {
+            log.debug("Insert batch failed, replaying statements individually: {}", e.getMessage());
+            try {
+                if (savepoint != null) {
+                    connection.rollback(savepoint);
+                } else {
+                    connection.rollback();
+                }
+            } catch (SQLException rollbackError) {
+                log.error("Failed to roll back insert batch", rollbackError);
+            }
+            return false;
+
+        } finally {
+            try {
+                connection.setAutoCommit(originalAutoCommit);
+            } catch (SQLException e) {
+                log.error("Failed to restore auto-commit mode", e);
+            }
+        }
+    }
+
+    /**
+     * Execute a DML statement inside a savepoint and roll it back automatically.
+     * The returned result carries the post-statement state of the target table
+     * so the change can be inspected (and graded) without a database reset.
+     * Non-DML statements are executed normally.
+     */
+    public QueryResult executeWithRollback(String sql) {
+        if (sql == null || sql.trim().isEmpty()) {
+            return executeQuery(sql, true);
+        }
+
+        sql = sql.trim();
+        SqlLexer.Classification classification = SqlLexer.classify(sql);
+        String queryType = classification.queryType();
+        if (!isModificationType(queryType)) {
+            return executeQuery(sql, true);
+        }
+
+        long startNanos = System.nanoTime();
+        QueryResult result = previewModification(database.getPracticeConnection(), sql, classification);
+        database.getQueryStatistics().record(sql, result, System.nanoTime() - startNanos);
+        return result;
+    }
+
+    private QueryResult previewModification(Connection connection, String sql,
+                                            SqlLexer.Classification classification) {
+        String queryType = classification.queryType();
+        long startTime = System.currentTimeMillis();
+        boolean originalAutoCommit = true;
+        Savepoint savepoint = null;
+
+        try {
+            originalAutoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            savepoint = connection.setSavepoint("practice_preview");
+
+            log.debug("Executing {} query with automatic rollback: {}", queryType, sql);
+
+            int affectedRows;
+            StatementTuning tuning = getTuning();
+            try (PreparedStatement stmt = tuning.prepareUpdate(connection, sql)) {
+                affectedRows = stmt.executeUpdate();
+            }
+
+            // Capture the table as the statement left it, before rolling back: a page of rows
+            // in key order plus the count and checksum of every row, so grading sees the whole table
+            String targetTable = classification.targetTable();
+            List<String> columnNames = new ArrayList<>();
+            List<Map<String, Object>> rows = new ArrayList<>();
+            long totalRows = 0;
+            long checksum = 0;
+
+            if (targetTable != null) {
+                try (PreparedStatement stmt = tuning.prepareSelect(connection, snapshotQuery(connection, targetTable));
+                     ResultSet rs = stmt.executeQuery()) {
+                    RowExtractor extractor = new RowExtractor(rs.getMetaData());
+                    columnNames = extractor.getColumnNames();
+                    int maxRows = getMaxResultRows();
+                    Object[] values = new Object[extractor.getColumnCount()];
+
+                    while (rs.next()) {
+                        extractor.readValues(rs, values);
+                        if (rows.size() < maxRows) {
+                            rows.add(extractor.toRow(values));
+                        }
+                        checksum += rowHash(values);
+                        totalRows++;
+                    }
+                }
+            }
+
+            long executionTime = System.currentTimeMillis() - startTime;
+            String message = String.format(
+                    "%s executed successfully. %d row(s) affected. Changes were rolled back automatically.",
+                    queryType, affectedRows);
+
+            return QueryResult.builder()
+                    .success(true)
+                    .message(message)
+                    .columnNames(columnNames)
+                    .rows(rows)
+                    .rowCount(affectedRows)
+                    .totalRowCount(totalRows)
+                    .rowChecksum(checksum)
+                    .queryType(queryType)
+                    .executionTimeMs(executionTime)
+                    .rolledBack(true)
+                    .build();
+
+        } catch (SQLException e) {
+            long executionTime = System.currentTimeMillis() - startTime;
+            log.error("SQL execution error: {}", e.getMessage());
+
+            return QueryResult.builder()
+                    .success(false)
+                    .message("SQL Error: " + e.getMessage())
+                    .queryType(queryType)
                     .executionTimeMs(executionTime)
                     .build();
+
+        } finally {
+            rollbackQuietly(connection, savepoint, originalAutoCommit);
         }
     }
 
-    private QueryResult executeSelectQuery(Connection connection, String sql, long startTime)
+    /**
+     * Query over every row of a DML target, ordered by primary key (or by every column when
+     * the table has none) so equal table states keep the same page of rows
+     */
+    private String snapshotQuery(Connection connection, String targetTable) throws SQLException {
+        String select = "SELECT * FROM " + targetTable;
+        Map<Short, String> keyColumns = new TreeMap<>();
+        int columnCount;
+
+        try (PreparedStatement stmt = connection.prepareStatement(select)) {
+            ResultSetMetaData metaData = stmt.getMetaData();
+            columnCount = metaData.getColumnCount();
+            try (ResultSet rs = connection.getMetaData().getPrimaryKeys(
+                    null, metaData.getSchemaName(1), metaData.getTableName(1))) {
+                while (rs.next()) {
+                    keyColumns.put(rs.getShort("KEY_SEQ"), rs.getString("COLUMN_NAME"));
+                }
+            }
+        }
+
+        StringJoiner order = new StringJoiner(", ", " ORDER BY ", "");
+        if (keyColumns.isEmpty()) {
+            for (int i = 1; i <= columnCount; i++) {
+                order.add(Integer.toString(i));
+            }
+        } else {
+            keyColumns.values().forEach(column -> order.add('"' + column.replace("\"", "\"\"") + '"'));
+        }
+        return select + order;
+    }
+
+    /**
+     * Hash of one row; summed over a table it does not depend on row order
+     */
+    private static long rowHash(Object[] values) throws SQLException {
+        long hash = 1;
+        for (Object value : values) {
+            int valueHash;
+            if (value instanceof byte[] bytes) {
+                valueHash = Arrays.hashCode(bytes);
+            } else if (value instanceof Blob blob) {
+                valueHash = Arrays.hashCode(blob.getBytes(1, (int) blob.length()));
+            } else if (value instanceof Clob clob) {
+                valueHash = clob.getSubString(1, (int) clob.length()).hashCode();
+            } else {
+                valueHash = Objects.hashCode(value);
+            }
+            hash = hash * 31 + valueHash;
+        }
+        // Spread the bits so the sum does not cancel out for similar rows
+        hash *= 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 32);
+    }
+
+    /**
+     * Check whether a statement modifies data (INSERT, UPDATE, DELETE or MERGE)
+     */
+    public boolean isModificationQuery(String sql) {
+        return isModificationType(SqlLexer.classify(sql).queryType());
+    }
+
+    /**
+     * Check whether a statement only reads data, so it may be served from a cache
+     * or a read-only connection. SELECT ... FOR UPDATE and EXPLAIN ANALYZE of DML are not read-only.
+     */
+    public boolean isReadOnlyQuery(String sql) {
+        return SqlLexer.classify(sql).readOnly();
+    }
+
+    private boolean isModificationType(String queryType) {
+        return "INSERT".equals(queryType) || "UPDATE".equals(queryType)
+                || "DELETE".equals(queryType) || "MERGE".equals(queryType);
+    }
+
+    private void rollbackQuietly(Connection connection, Savepoint savepoint, boolean originalAutoCommit) {
+        try {
+            if (savepoint != null) {
+                if (originalAutoCommit) {
+                    // The savepoint opened the transaction, so discard all of it
+                    connection.rollback();
+                } else {
+                    // Leave any transaction the user started untouched
+                    connection.rollback(savepoint);
+                    connection.releaseSavepoint(savepoint);
+                }
+            }
+        } catch (SQLException e) {
+            log.error("Failed to roll back practice statement", e);
+        }
+
+        try {
+            connection.setAutoCommit(originalAutoCommit);
+        } catch (SQLException e) {
+            log.error("Failed to restore auto-commit mode", e);
+        }
+    }
+
+    private QueryResult executeSelectQuery(Connection connection, String sql, long startTime, boolean spill)
             throws SQLException {
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
-            stmt.setMaxRows(MAX_RESULT_ROWS);
+        try (PreparedStatement stmt = getTuning().prepareSelect(connection, sql)) {
+            stmt.setMaxRows(getRowLimit() + 1); // one extra row detects truncation
 
             try (ResultSet rs = stmt.executeQuery()) {
-                List<String> columnNames = extractColumnNames(rs.getMetaData());
-                List<Map<String, Object>> rows = extractRows(rs, columnNames);
+                RowExtractor extractor = new RowExtractor(rs.getMetaData());
+                List<String> columnNames = extractor.getColumnNames();
+                RowCollection collected = collectRows(rs, extractor, spill);
                 long executionTime = System.currentTimeMillis() - startTime;
 
                 return QueryResult.builder()
                         .success(true)
-                        .message(String.format("Query executed successfully. Retrieved %d row(s).", rows.size()))
+                        .message(describeRows("Query executed successfully.", collected))
                         .columnNames(columnNames)
-                        .rows(rows)
-                        .rowCount(rows.size())
+                        .rows(collected.rows())
+                        .rowCount(collected.rows().size())
+                        .totalRowCount(collected.totalRows())
+                        .spillFile(collected.spillFile())
+                        .truncated(collected.truncated())
                         .queryType("SELECT")
                         .executionTimeMs(executionTime)
+                        .sql(sql)
                         .build();
             }
         }
     }
 
+    /**
+     * Serve a read-only SELECT from the practice result cache, or run it and cache the result
+     */
+    private QueryResult executeCachedSelect(Connection connection, String sql, long startTime, boolean spill)
+            throws SQLException {
+        if (!isResultCacheEnabled()) {
+            return executeSelectQuery(connection, sql, startTime, spill);
+        }
+
+        QueryResultCache cache = database.getPracticeResultCache();
+        cache.setMaxBytes(getResultCacheBytes());
+        QueryResultCache.Fingerprint fingerprint = QueryResultCache.fingerprint(sql);
+        if (!fingerprint.cacheable()) {
+            return executeSelectQuery(connection, sql, startTime, spill);
+        }
+
+        QueryResult cached = cache.get(fingerprint);
+        if (cached != null && cached.getRows().size() <= getMaxResultRows()) {
+            log.debug("Result cache hit for: {}", sql);
+            return cached.toBuilder()
+                    .message(cached.getMessage() + " (cached)")
+                    .executionTimeMs(System.currentTimeMillis() - startTime)
+                    .sql(sql)
+                    .cached(true)
+                    .build();
+        }
+
+        QueryResultCache.Snapshot snapshot = cache.snapshot(fingerprint);
+        QueryResult result = executeSelectQuery(connection, sql, startTime, spill);
+        cache.put(fingerprint, snapshot, result, connection);
+        return result;
+    }
+
+    /**
+     * Run a read-only SELECT on a separate connection to the practice database, e.g. for
+     * speculative grading. Uses the result cache but is not recorded in query statistics.
+     */
+    public QueryResult executeReadOnly(Connection sandbox, String sql) {
+        long startTime = System.currentTimeMillis();
+        sql = sql.trim();
+        SqlLexer.Classification classification = SqlLexer.classify(sql);
+        if (!"SELECT".equals(classification.queryType()) || !classification.readOnly()
+                || SqlScriptSplitter.split(sql).size() != 1) {
+            return QueryResult.builder()
+                    .success(false)
+                    .message("Only a single read-only SELECT statement can run in the sandbox")
+                    .queryType(classification.queryType())
+                    .executionTimeMs(0)
+                    .build();
+        }
+
+        try {
+            return executeCachedSelect(sandbox, sql, startTime, false);
+        } catch (SQLException e) {
+            return QueryResult.builder()
+                    .success(false)
+                    .message("SQL Error: " + e.getMessage())
+                    .queryType(classification.queryType())
+                    .executionTimeMs(System.currentTimeMillis() - startTime)
+                    .build();
+        }
+    }
+
+    /**
+     * Run a SELECT, or preview a data modification with automatic rollback, on a sandbox
+     * copy of the practice database. Other statements, and text holding more than one
+     * statement, are refused so the sandbox stays intact: H2 runs every statement in the
+     * text, not only the one that was classified.
+     * Neither the result cache nor query statistics are involved.
+     */
+    public QueryResult executeInSandbox(Connection sandbox, String sql) {
+        long startTime = System.currentTimeMillis();
+        sql = sql == null ? "" : sql.trim();
+        SqlLexer.Classification classification = SqlLexer.classify(sql);
+        String queryType = classification.queryType();
+
+        if (SqlScriptSplitter.split(sql).size() != 1) {
+            return QueryResult.builder()
+                    .success(false)
+                    .message("Exactly one SQL statement can be graded")
+                    .queryType(queryType)
+                    .executionTimeMs(0)
+                    .build();
+        }
+        if (isModificationType(queryType)) {
+            return previewModification(sandbox, sql, classification);
+        }
+        if (!"SELECT".equals(queryType)) {
+            return QueryResult.builder()
+                    .success(false)
+                    .message("Only SELECT, INSERT, UPDATE, DELETE and MERGE statements can be graded")
+                    .queryType(queryType)
+                    .executionTimeMs(0)
+                    .build();
+        }
+
+        try {
+            return executeSelectQuery(sandbox, sql, startTime, false);
+        } catch (SQLException e) {
+            return QueryResult.builder()
+                    .success(false)
+                    .message("SQL Error: " + e.getMessage())
+                    .queryType(queryType)
+                    .executionTimeMs(System.currentTimeMillis() - startTime)
+                    .build();
+        }
+    }
+
+    /**
+     * Hit rate and size of the practice result cache
+     */
+    public Map<String, Object> getResultCacheMetrics() {
+        return database.getPracticeResultCache().getMetrics();
+    }
+
     private QueryResult executeModificationQuery(Connection connection, String sql,
                                                  String queryType, long startTime) throws SQLException {
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
-
+        try (PreparedStatement stmt = getTuning().prepareUpdate(connection, sql)) {
             int affectedRows = stmt.executeUpdate();
             long executionTime = System.currentTimeMillis() - startTime;
 
@@ -140,9 +625,7 @@ public class QueryExecutor {
     private QueryResult executeDDLQuery(Connection connection, String sql,
                                         String queryType, long startTime) throws SQLException {
 
-        try (Statement stmt = connection.createStatement()) {
-            stmt.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
-
+        try (Statement stmt = getTuning().createStatement(connection)) {
             stmt.execute(sql);
             long executionTime = System.currentTimeMillis() - startTime;
 
@@ -158,26 +641,32 @@ public class QueryExecutor {
         }
     }
 
-    private QueryResult executeGenericQuery(Connection connection, String sql,
-                                            String queryType, long startTime) throws SQLException {
+    private QueryResult executeGenericQuery(Connection connection, String sql, String queryType,
+                                            long startTime, boolean spill) throws SQLException {
 
-        try (Statement stmt = connection.createStatement()) {
-            stmt.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+        try (Statement stmt = getTuning().createStatement(connection)) {
+            stmt.setMaxRows(getRowLimit() + 1); // one extra row detects truncation
 
             boolean hasResultSet = stmt.execute(sql);
             long executionTime = System.currentTimeMillis() - startTime;
 
             if (hasResultSet) {
                 try (ResultSet rs = stmt.getResultSet()) {
-                    List<String> columnNames = extractColumnNames(rs.getMetaData());
-                    List<Map<String, Object>> rows = extractRows(rs, columnNames);
+                    RowExtractor extractor = new RowExtractor(rs.getMetaData());
+                    List<String> columnNames = extractor.getColumnNames();
+                    RowCollection collected = collectRows(rs, extractor, spill);
 
                     return QueryResult.builder()
                             .success(true)
-                            .message("Query executed successfully.")
+                            .message(collected.spillFile() != null || collected.truncated() ?
+                                    describeRows("Query executed successfully.", collected) :
+                                    "Query executed successfully.")
                             .columnNames(columnNames)
-                            .rows(rows)
-                            .rowCount(rows.size())
+                            .rows(collected.rows())
+                            .rowCount(collected.rows().size())
+                            .totalRowCount(collected.totalRows())
+                            .spillFile(collected.spillFile())
+                            .truncated(collected.truncated())
                             .queryType(queryType)
                             .executionTimeMs(executionTime)
                             .build();
@@ -195,59 +684,155 @@ public class QueryExecutor {
         }
     }
 
-    private List<String> extractColumnNames(ResultSetMetaData metaData) throws SQLException {
-        List<String> columnNames = new ArrayList<>();
-        int columnCount = metaData.getColumnCount();
+    /**
+     * Keep rows in memory up to the configured row and memory limits,
+     * spilling the remainder to a temp file so the true total is known and pageable.
+     * When the caller only needs the page, the remainder is counted instead of spilled.
+     */
+    private RowCollection collectRows(ResultSet rs, RowExtractor extractor, boolean spillLargeResults)
+            throws SQLException {
+        int maxRows = getMaxResultRows();
+        long memoryBudget = getMemoryBudgetBytes();
+        boolean spill = isSpillEnabled();
+        boolean countOnly = spill && !spillLargeResults;
 
-        for (int i = 1; i <= columnCount; i++) {
-            columnNames.add(metaData.getColumnName(i));
+        List<Map<String, Object>> rows = new ArrayList<>();
+        ResultSpillFile spillFile = null;
+        long memoryUsed = 0;
+        long totalRows = 0;
+        boolean truncated = false;
+
+        int rowLimit = getRowLimit();
+        Object[] values = new Object[extractor.getColumnCount()]; // reused for every row
+
+        while (rs.next()) {
+            if (totalRows >= rowLimit) {
+                truncated = true;
+                break;
+            }
+            boolean inPage = spillFile == null && rows.size() < maxRows && memoryUsed < memoryBudget;
+            if (!inPage && countOnly) {
+                totalRows++;
+                continue;
+            }
+            extractor.readValues(rs, values);
+
+            if (inPage) {
+                rows.add(extractor.toRow(values));
+                memoryUsed += estimateRowBytes(values);
+            } else if (!spill) {
+                truncated = true;
+                break;
+            } else {
+                try {
+                    if (spillFile == null) {
+                        spillFile = ResultSpillFile.create(extractor.getColumnNames());
+                    }
+                    spillFile.append(values); // spilled rows never become maps
+                } catch (IOException e) {
+                    log.warn("Failed to spill result rows, truncating result: {}", e.getMessage());
+                    if (spillFile != null) {
+                        spillFile.close();
+                        spillFile = null;
+                    }
+                    totalRows = rows.size();
+                    truncated = true;
+                    break;
+                }
+            }
+            totalRows++;
         }
 
-        return columnNames;
-    }
+        if (spillFile != null) {
+            try {
+                spillFile.finish();
+                log.debug("Spilled {} rows ({} bytes) to {}",
+                        spillFile.getRowCount(), spillFile.getSizeBytes(), spillFile.getPath());
+            } catch (IOException e) {
+                log.warn("Failed to finish spill file, truncating result: {}", e.getMessage());
+                spillFile.close();
+                spillFile = null;
+                totalRows = rows.size();
+                truncated = true;
+            }
+        }
 
-    private List<Map<String, Object>> extractRows(ResultSet rs, List<String> columnNames)
-            throws SQLException {
+        return new RowCollection(rows, totalRows, spillFile, truncated);
+    }
 
-        List<Map<String, Object>> rows = new ArrayList<>();
-        int rowCount = 0;
+    private String describeRows(String prefix, RowCollection collected) {
+        StringBuilder message = new StringBuilder(prefix)
+                .append(String.format(" Retrieved %,d row(s).", collected.totalRows()));
 
-        while (rs.next() && rowCount < MAX_RESULT_ROWS) {
-            Map<String, Object> row = new LinkedHashMap<>();
+        if (collected.spillFile() != null) {
+            message.append(String.format(" Showing %,d per page; the rest are paged from disk.",
+                    collected.rows().size()));
+        } else if (collected.totalRows() > collected.rows().size() && !collected.truncated()) {
+            message.append(String.format(" Showing the first %,d.", collected.rows().size()));
+        }
+        if (collected.truncated()) {
+            message.append(" Result was truncated at the configured row limit.");
+        }
+        return message.toString();
+    }
 
-            for (String columnName : columnNames) {
-                Object value = rs.getObject(columnName);
-                row.put(columnName, value);
+    private long estimateRowBytes(Object[] values) {
+        // Rough heap cost: map entry overhead plus payload
+        long bytes = 64;
+        for (Object value : values) {
+            bytes += 48;
+            if (value instanceof String text) {
+                bytes += 2L * text.length();
             }
-
-            rows.add(row);
-            rowCount++;
         }
+        return bytes;
+    }
 
-        return rows;
+    private record RowCollection(List<Map<String, Object>> rows, long totalRows,
+                                 ResultSpillFile spillFile, boolean truncated) { }
+
+    // ===== RESULT LIMITS =====
+
+    /**
+     * Statement settings for the current configuration
+     */
+    public StatementTuning getTuning() {
+        return StatementTuning.from(configManager);
     }
 
-    private String determineQueryType(String sql) {
-        if (sql == null || sql.trim().isEmpty()) {
-            return "UNKNOWN";
-        }
+    private int getMaxResultRows() {
+        int configured = configManager != null ? configManager.getConfig().getMaxResultRows() : 0;
+        return configured > 0 ? configured : DEFAULT_MAX_RESULT_ROWS;
+    }
+
+    private long getMemoryBudgetBytes() {
+        int configured = configManager != null ? configManager.getConfig().getResultMemoryBudgetMb() : 0;
+        return (configured > 0 ? configured : DEFAULT_MEMORY_BUDGET_MB) * 1024L * 1024L;
+    }
+
+    private boolean isResultCacheEnabled() {
+        return configManager == null || configManager.getConfig().isResultCacheEnabled();
+    }
 
-        String trimmedSql = sql.trim().toUpperCase();
+    private long getResultCacheBytes() {
+        int configured = configManager != null ? configManager.getConfig().getResultCacheSizeMb() : 0;
+        return (configured > 0 ? configured : DEFAULT_RESULT_CACHE_MB) * 1024L * 1024L;
+    }
 
-        if (trimmedSql.startsWith("SELECT")) return "SELECT";
-        if (trimmedSql.startsWith("INSERT")) return "INSERT";
-        if (trimmedSql.startsWith("UPDATE")) return "UPDATE";
-        if (trimmedSql.startsWith("DELETE")) return "DELETE";
-        if (trimmedSql.startsWith("CREATE")) return "CREATE";
-        if (trimmedSql.startsWith("DROP")) return "DROP";
-        if (trimmedSql.startsWith("ALTER")) return "ALTER";
-        if (trimmedSql.startsWith("TRUNCATE")) return "TRUNCATE";
-        if (trimmedSql.startsWith("COMMIT")) return "COMMIT";
-        if (trimmedSql.startsWith("ROLLBACK")) return "ROLLBACK";
-        if (trimmedSql.startsWith("GRANT")) return "GRANT";
-        if (trimmedSql.startsWith("REVOKE")) return "REVOKE";
+    private boolean isSpillEnabled() {
+        return configManager == null || configManager.getConfig().isSpillLargeResults();
+    }
 
-        return "OTHER";
+    /**
+     * Hard cap on rows read from the database
+     */
+    private int getRowLimit() {
+        if (!isSpillEnabled()) {
+            return getMaxResultRows();
+        }
+        int configured = configManager != null ? configManager.getConfig().getMaxSpilledRows() : 0;
+        int limit = configured > 0 ? configured : DEFAULT_MAX_SPILLED_ROWS;
+        return Math.min(Math.max(limit, getMaxResultRows()), Integer.MAX_VALUE - 1);
     }
 
     /**
@@ -257,13 +842,20 @@ public class QueryExecutor {
         if (sql == null || sql.trim().isEmpty()) {
             return new ValidationResult(false, "Empty query");
         }
+        return validateSql(sql, database.getPracticeConnection());
+    }
 
-        try {
-            Connection connection = database.getPracticeConnection();
-            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-                // If we can prepare the statement, syntax is likely valid
-                return new ValidationResult(true, "SQL syntax is valid");
-            }
+    /**
+     * Validate SQL syntax by preparing it on the given practice connection
+     */
+    public ValidationResult validateSql(String sql, Connection connection) {
+        if (sql == null || sql.trim().isEmpty()) {
+            return new ValidationResult(false, "Empty query");
+        }
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            // If we can prepare the statement, syntax is likely valid
+            return new ValidationResult(true, "SQL syntax is valid");
         } catch (SQLException e) {
             return new ValidationResult(false, "SQL syntax error: " + e.getMessage());
         }
@@ -0,0 +1,359 @@
+package com.sqllearningapp.core.database;
+
+import com.sqllearningapp.core.models.QueryResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Byte-bounded LRU cache of read-only query results for the practice database.
+ * Entries are keyed by a normalized SQL fingerprint and remember the modification
+ * version of every name the statement mentions; a write to any of those tables
+ * removes the entry. Names are taken from all identifiers in the statement, which
+ * over-approximates the referenced tables but never misses one.
+ */
+@Slf4j
+public class QueryResultCache {
+
+    private static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+    private static final long ENTRY_OVERHEAD_BYTES = 256;
+    private static final int MAX_ENTRY_FRACTION = 4; // one result may use at most a quarter of the budget
+
+    // Results of these depend on more than the table contents, or running them has side effects
+    private static final String[] VOLATILE_WORDS = {
+            "RAND", "RANDOM", "RANDOM_UUID", "UUID", "SECURE_RAND", "NOW", "CURRENT_TIMESTAMP",
+            "CURRENT_DATE", "CURRENT_TIME", "LOCALTIMESTAMP", "LOCALTIME", "SYSDATE", "SYSTIMESTAMP",
+            "NEXTVAL", "CURRVAL", "NEXT", "SESSION_ID", "TRANSACTION_ID", "IDENTITY", "SCOPE_IDENTITY",
+            "LAST_INSERT_ID", "CSVREAD", "CSVWRITE", "FILE_READ", "FILE_WRITE", "MEMORY_FREE", "MEMORY_USED",
+            "DISK_SPACE_USED", "INFORMATION_SCHEMA", "CURRENT_USER", "SESSION_USER", "USER", "SET", "SLEEP",
+            "CANCEL_SESSION", "LOCK_MODE"
+    };
+
+    /**
+     * Normalized cache key, the upper-cased names it mentions, and whether it may be cached
+     */
+    public record Fingerprint(String key, Set<String> names, boolean cacheable) { }
+
+    /**
+     * Versions observed before the statement ran; a result is only stored if they still hold
+     */
+    public record Snapshot(Map<String, Long> tableVersions, long globalVersion, long writeVersion) { }
+
+    private record Entry(QueryResult result, Snapshot snapshot, boolean viewDependent, long sizeBytes) { }
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Long> tableVersions = new HashMap<>();
+    private long globalVersion;   // bumped by DDL, resets and writes to unknown tables
+    private long writeVersion;    // bumped by every write; views depend on it
+    private Set<String> viewNames; // loaded lazily, cleared with the global version
+    private long maxBytes = DEFAULT_MAX_BYTES;
+    private long currentBytes;
+
+    private long hits;
+    private long misses;
+    private long stores;
+    private long evictions;
+    private long invalidations;
+
+    // ===== FINGERPRINTS =====
+
+    /**
+     * Normalize a statement in one lexer pass: comments and redundant whitespace are
+     * dropped, unquoted words are upper-cased, literals and quoted names are kept as is
+     */
+    public static Fingerprint fingerprint(String sql) {
+        StringBuilder key = new StringBuilder(sql.length());
+        Set<String> names = new HashSet<>();
+        boolean cacheable = true;
+
+        SqlLexer lexer = new SqlLexer(sql);
+        while (lexer.nextSignificant()) {
+            int start = lexer.start();
+            int end = lexer.end();
+
+            switch (lexer.type()) {
+                case SEMICOLON -> {
+                    continue; // a trailing semicolon does not change the statement
+                }
+                case WORD -> {
+                    String word = lexer.text().toUpperCase(Locale.ROOT);
+                    cacheable &= !SqlLexer.isWordIn(sql, start, end, VOLATILE_WORDS);
+                    names.add(word);
+                    appendToken(key, word);
+                }
+                case QUOTED_IDENTIFIER -> {
+                    names.add(sql.substring(start + 1, Math.max(start + 1, end - 1)));
+                    appendToken(key, sql.substring(start, end));
+                }
+                default -> appendToken(key, sql.substring(start, end));
+            }
+        }
+        return new Fingerprint(key.toString(), names, cacheable);
+    }
+
+    private static void appendToken(StringBuilder key, String token) {
+        if (!key.isEmpty()) {
+            key.append(' ');
+        }
+        key.append(token);
+    }
+
+    /**
+     * Normalize a table name as written in a statement to the form used in fingerprints
+     */
+    public static String normalizeTableName(String tableName) {
+        String name = tableName.strip();
+        if (name.endsWith("\"") || name.endsWith("`")) {
+            char quote = name.charAt(name.length() - 1);
+            int open = name.lastIndexOf(quote, name.length() - 2);
+            return open >= 0 ? name.substring(open + 1, name.length() - 1) : name;
+        }
+        return name.substring(name.lastIndexOf('.') + 1).toUpperCase(Locale.ROOT);
+    }
+
+    // ===== CACHE OPERATIONS =====
+
+    /**
+     * Capture the versions a result will be validated against; call before executing
+     */
+    public synchronized Snapshot snapshot(Fingerprint fingerprint) {
+        Map<String, Long> versions = new HashMap<>(fingerprint.names().size() * 2);
+        for (String name : fingerprint.names()) {
+            versions.put(name, tableVersions.getOrDefault(name, 0L));
+        }
+        return new Snapshot(versions, globalVersion, writeVersion);
+    }
+
+    /**
+     * Look up a cached result
+     * @return the cached result, or null on a miss
+     */
+    public synchronized QueryResult get(Fingerprint fingerprint) {
+        Entry entry = entries.get(fingerprint.key());
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (!isCurrent(entry.snapshot(), entry.viewDependent())) {
+            remove(fingerprint.key(), entry);
+            invalidations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.result();
+    }
+
+    /**
+     * Store a complete in-memory result if no referenced table changed since the snapshot
+     * @param connection practice connection, used once to learn which names are views
+     */
+    public synchronized void put(Fingerprint fingerprint, Snapshot snapshot,
+                                 QueryResult result, Connection connection) {
+        if (!fingerprint.cacheable() || result.getSpillFile() != null || result.isTruncated()
+                || result.getTotalRowCount() > result.getRows().size()) { // only part of the rows is held
+            return;
+        }
+
+        boolean viewDependent = referencesView(fingerprint, connection);
+        if (!isCurrent(snapshot, viewDependent)) {
+            return; // a write raced with the query
+        }
+
+        long size = estimateBytes(fingerprint, result);
+        if (size > maxBytes / MAX_ENTRY_FRACTION) {
+            return;
+        }
+
+        QueryResult stored = result.toBuilder()
+                .rows(Collections.unmodifiableList(result.getRows()))
+                .build();
+        Entry previous = entries.put(fingerprint.key(), new Entry(stored, snapshot, viewDependent, size));
+        if (previous != null) {
+            currentBytes -= previous.sizeBytes();
+        }
+        currentBytes += size;
+        stores++;
+        evictToBudget();
+    }
+
+    /**
+     * Check that no table a statement mentions was written since the snapshot
+     * @param connection practice connection, used once to learn which names are views
+     */
+    public synchronized boolean isUnchanged(Fingerprint fingerprint, Snapshot snapshot, Connection connection) {
+        return isCurrent(snapshot, referencesView(fingerprint, connection));
+    }
+
+    /**
+     * Record a write to a table and drop every entry that mentions it
+     */
+    public synchronized void invalidateTable(String tableName) {
+        String name = normalizeTableName(tableName);
+        tableVersions.merge(name, 1L, Long::sum);
+        writeVersion++;
+
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.viewDependent() || entry.snapshot().tableVersions().containsKey(name)) {
+                currentBytes -= entry.sizeBytes();
+                iterator.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * Record a statement that may have changed data. DML invalidates its target table;
+     * deletes and updates on tables with cascading foreign keys also change the referencing
+     * tables, so they invalidate everything, as do DDL and statements without a known target.
+     */
+    public void recordWrite(Connection connection, SqlLexer.Classification classification) {
+        String queryType = classification.queryType();
+        String target = classification.targetTable();
+        boolean dml = "INSERT".equals(queryType) || "UPDATE".equals(queryType)
+                || "DELETE".equals(queryType) || "MERGE".equals(queryType);
+
+        if (target == null || !dml) {
+            invalidateAll();
+        } else if (!"INSERT".equals(queryType) && hasCascadingReferences(connection, normalizeTableName(target))) {
+            invalidateAll();
+        } else {
+            invalidateTable(target);
+        }
+    }
+
+    /**
+     * Drop everything, e.g. after DDL, a database reset or a bulk load
+     */
+    public synchronized void invalidateAll() {
+        globalVersion++;
+        writeVersion++;
+        viewNames = null;
+        invalidations += entries.size();
+        entries.clear();
+        currentBytes = 0;
+    }
+
+    public synchronized void setMaxBytes(long maxBytes) {
+        if (maxBytes > 0 && maxBytes != this.maxBytes) {
+            this.maxBytes = maxBytes;
+            evictToBudget();
+        }
+    }
+
+    /**
+     * Hit rate and size counters
+     */
+    public synchronized Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        long lookups = hits + misses;
+        metrics.put("hits", hits);
+        metrics.put("misses", misses);
+        metrics.put("hitRate", lookups > 0 ? (double) hits / lookups : 0.0);
+        metrics.put("stores", stores);
+        metrics.put("evictions", evictions);
+        metrics.put("invalidations", invalidations);
+        metrics.put("entries", entries.size());
+        metrics.put("bytes", currentBytes);
+        metrics.put("maxBytes", maxBytes);
+        return metrics;
+    }
+
+    // ===== HELPERS =====
+
+    private boolean isCurrent(Snapshot snapshot, boolean viewDependent) {
+        if (snapshot.globalVersion() != globalVersion) {
+            return false;
+        }
+        if (viewDependent && snapshot.writeVersion() != writeVersion) {
+            return false;
+        }
+        for (Map.Entry<String, Long> version : snapshot.tableVersions().entrySet()) {
+            if (tableVersions.getOrDefault(version.getKey(), 0L).longValue() != version.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Views hide the tables they read, so results over views depend on every write
+     */
+    private boolean referencesView(Fingerprint fingerprint, Connection connection) {
+        if (viewNames == null) {
+            viewNames = loadViewNames(connection);
+        }
+        for (String name : fingerprint.names()) {
+            if (viewNames.contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Set<String> loadViewNames(Connection connection) {
+        Set<String> names = new HashSet<>();
+        try {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet rs = metaData.getTables(null, null, "%", new String[]{"VIEW"})) {
+                while (rs.next()) {
+                    names.add(rs.getString("TABLE_NAME"));
+                }
+            }
+        } catch (SQLException e) {
+            log.debug("Could not list views for the result cache: {}", e.getMessage());
+        }
+        return names;
+    }
+
+    private boolean hasCascadingReferences(Connection connection, String tableName) {
+        try (ResultSet rs = connection.getMetaData().getExportedKeys(null, null, tableName)) {
+            while (rs.next()) {
+                if (rs.getShort("UPDATE_RULE") != DatabaseMetaData.importedKeyNoAction
+                        && rs.getShort("UPDATE_RULE") != DatabaseMetaData.importedKeyRestrict
+                        || rs.getShort("DELETE_RULE") != DatabaseMetaData.importedKeyNoAction
+                        && rs.getShort("DELETE_RULE") != DatabaseMetaData.importedKeyRestrict) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (SQLException e) {
+            return true; // unknown, assume the worst
+        }
+    }
+
+    private void evictToBudget() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            currentBytes -= iterator.next().sizeBytes();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    private void remove(String key, Entry entry) {
+        entries.remove(key);
+        currentBytes -= entry.sizeBytes();
+    }
+
+    private static long estimateBytes(Fingerprint fingerprint, QueryResult result) {
+        // Rough heap cost, matching the per-row estimate used for the result memory budget
+        long bytes = ENTRY_OVERHEAD_BYTES + 2L * fingerprint.key().length();
+        for (Map<String, Object> row : result.getRows()) {
+            bytes += 64;
+            for (Object value : row.values()) {
+                bytes += 48;
+                if (value instanceof String text) {
+                    bytes += 2L * text.length();
+                }
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,605 @@
+package com.sqllearningapp.core.database;
+
+import com.sqllearningapp.core.models.QueryResult;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregate execution statistics per normalized statement, in the spirit of
+ * pg_stat_statements. Literals are replaced with placeholders so executions that
+ * differ only in constants share one fingerprint. Recording is lock-free; totals are
+ * flushed periodically to the main database and mirrored into the practice database
+ * as {@code STATS.QUERY_STATS}, so they can be queried from the SQL editor.
+ */
+@Slf4j
+public class QueryStatistics {
+
+    public static final String STATS_SCHEMA = "STATS";
+    public static final String STATS_TABLE = "QUERY_STATS";
+    public static final String TOP_QUERIES_SQL = """
+            SELECT query_id, query, calls, cache_hits, errors, rows_total,
+                   total_time_ms, mean_time_ms, p95_time_ms, max_time_ms
+            FROM STATS.QUERY_STATS
+            ORDER BY total_time_ms DESC""";
+
+    private static final int MAX_FINGERPRINTS = 5000;
+    private static final int FLUSH_INTERVAL_SECONDS = 30;
+    private static final int MAX_QUERY_LENGTH = 4000;
+
+    // Latency histogram: 4 linear sub-buckets per power of two microseconds (under 25% error)
+    private static final int SUB_BUCKETS = 4;
+    private static final int BUCKET_COUNT = SUB_BUCKETS + 40 * SUB_BUCKETS;
+
+    private static final String MAIN_TABLE_DDL = """
+            CREATE TABLE IF NOT EXISTS query_stats (
+                query_id VARCHAR(16) PRIMARY KEY,
+                query VARCHAR(4000) NOT NULL,
+                query_type VARCHAR(20),
+                calls BIGINT NOT NULL,
+                cache_hits BIGINT NOT NULL,
+                errors BIGINT NOT NULL,
+                rows_total BIGINT NOT NULL,
+                total_time_ms DOUBLE PRECISION NOT NULL,
+                min_time_ms DOUBLE PRECISION,
+                max_time_ms DOUBLE PRECISION,
+                p95_time_ms DOUBLE PRECISION,
+                histogram VARCHAR(4000),
+                first_seen TIMESTAMP,
+                last_seen TIMESTAMP
+            )""";
+
+    private static final String MIRROR_TABLE_DDL = """
+            CREATE TABLE IF NOT EXISTS STATS.QUERY_STATS (
+                query_id VARCHAR(16) PRIMARY KEY,
+                query VARCHAR(4000) NOT NULL,
+                query_type VARCHAR(20),
+                calls BIGINT NOT NULL,
+                cache_hits BIGINT NOT NULL,
+                errors BIGINT NOT NULL,
+                rows_total BIGINT NOT NULL,
+                total_time_ms DOUBLE PRECISION NOT NULL,
+                mean_time_ms DOUBLE PRECISION,
+                min_time_ms DOUBLE PRECISION,
+                max_time_ms DOUBLE PRECISION,
+                p95_time_ms DOUBLE PRECISION,
+                first_seen TIMESTAMP,
+                last_seen TIMESTAMP
+            )""";
+
+    private final EmbeddedDatabase database;
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final Object evictionLock = new Object(); // not the instance monitor, which flush holds during I/O
+    private ScheduledExecutorService scheduler;
+    private Connection mainConnection;     // own connections, so flushes never join a user transaction
+    private Connection practiceConnection;
+
+    public QueryStatistics(EmbeddedDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Immutable view of one fingerprint's counters
+     */
+    @Data
+    @Builder
+    public static class Summary {
+        private String queryId;
+        private String query;
+        private String queryType;
+        private long calls;
+        private long cacheHits;
+        private long errors;
+        private long rowsTotal;
+        private double totalTimeMs;
+        private double meanTimeMs;
+        private double minTimeMs;
+        private double maxTimeMs;
+        private double p95TimeMs;
+        private long firstSeen;
+        private long lastSeen;
+    }
+
+    // ===== RECORDING =====
+
+    /**
+     * Record one execution; cache hits count as calls but not towards timing
+     */
+    public void record(String sql, QueryResult result, long elapsedNanos) {
+        if (sql == null || result == null) {
+            return;
+        }
+
+        String normalized = normalize(sql);
+        if (normalized.isEmpty()) {
+            return;
+        }
+
+        StatementStats stats = statements.get(normalized);
+        if (stats == null) {
+            if (statements.size() >= MAX_FINGERPRINTS) {
+                evictLeastUsed();
+            }
+            stats = statements.computeIfAbsent(normalized,
+                    key -> new StatementStats(queryId(key), key, result.getQueryType()));
+        }
+
+        stats.calls.increment();
+        stats.lastSeen = System.currentTimeMillis();
+        if (!result.isSuccess()) {
+            stats.errors.increment();
+        }
+        if (result.isCached()) {
+            stats.cacheHits.increment();
+            return;
+        }
+
+        long micros = Math.max(0, elapsedNanos / 1000);
+        stats.timedCalls.increment();
+        stats.totalMicros.add(micros);
+        stats.minMicros.accumulate(micros);
+        stats.maxMicros.accumulate(micros);
+        stats.histogram.incrementAndGet(bucketFor(micros));
+        if (result.isSuccess()) {
+            stats.rows.add(Math.max(result.getTotalRowCount(), result.getRowCount()));
+        }
+    }
+
+    /**
+     * Replace literals with {@code ?}, drop comments and normalize case and spacing.
+     * Lists of placeholders collapse to one, so {@code IN (1, 2, 3)} and {@code IN (4)} match.
+     */
+    public static String normalize(String sql) {
+        StringBuilder normalized = new StringBuilder(Math.min(sql.length(), MAX_QUERY_LENGTH));
+        SqlLexer lexer = new SqlLexer(sql);
+        boolean lastWasPlaceholder = false;
+        boolean pendingComma = false;
+
+        while (lexer.nextSignificant()) {
+            SqlLexer.TokenType type = lexer.type();
+            if (type == SqlLexer.TokenType.SEMICOLON) {
+                continue;
+            }
+
+            boolean literal = type == SqlLexer.TokenType.STRING || type == SqlLexer.TokenType.NUMBER;
+            boolean comma = type == SqlLexer.TokenType.PUNCTUATION && sql.charAt(lexer.start()) == ',';
+
+            if (comma && lastWasPlaceholder && !pendingComma) {
+                pendingComma = true; // held until we know whether another placeholder follows
+                continue;
+            }
+            if (literal && lastWasPlaceholder && pendingComma) {
+                pendingComma = false;
+                continue;
+            }
+            if (pendingComma) {
+                append(normalized, ",");
+                pendingComma = false;
+            }
+
+            if (literal) {
+                append(normalized, "?");
+            } else if (type == SqlLexer.TokenType.WORD) {
+                append(normalized, lexer.text().toUpperCase(Locale.ROOT));
+            } else {
+                append(normalized, lexer.text());
+            }
+            lastWasPlaceholder = literal;
+
+            if (normalized.length() >= MAX_QUERY_LENGTH) {
+                return normalized.substring(0, MAX_QUERY_LENGTH);
+            }
+        }
+        if (pendingComma) {
+            append(normalized, ",");
+        }
+        return normalized.toString();
+    }
+
+    private static void append(StringBuilder normalized, String token) {
+        if (!normalized.isEmpty()) {
+            char last = normalized.charAt(normalized.length() - 1);
+            boolean tight = last == '(' || last == '.' || token.equals(",") || token.equals(")") || token.equals(".");
+            if (!tight) {
+                normalized.append(' ');
+            }
+        }
+        normalized.append(token);
+    }
+
+    /**
+     * Stable 64-bit FNV-1a hash of the normalized text, as hex
+     */
+    public static String queryId(String normalized) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalized.length(); i++) {
+            hash ^= normalized.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return String.format("%016x", hash);
+    }
+
+    // ===== QUERYING =====
+
+    /**
+     * Current statistics, most total time first
+     */
+    public List<Summary> getSummaries() {
+        List<Summary> summaries = new ArrayList<>(statements.size());
+        for (StatementStats stats : statements.values()) {
+            summaries.add(stats.summarize());
+        }
+        summaries.sort(Comparator.comparingDouble(Summary::getTotalTimeMs).reversed());
+        return summaries;
+    }
+
+    /**
+     * Forget all statistics, in memory and in both databases
+     */
+    public synchronized void reset() {
+        statements.clear();
+        try {
+            try (Statement stmt = getMainConnection().createStatement()) {
+                stmt.execute("DELETE FROM query_stats");
+            }
+            try (Statement stmt = getPracticeConnection().createStatement()) {
+                stmt.execute("DELETE FROM STATS.QUERY_STATS");
+            }
+            database.getPracticeResultCache().invalidateTable(STATS_TABLE);
+        } catch (SQLException e) {
+            log.warn("Failed to clear stored query statistics: {}", e.getMessage());
+        }
+    }
+
+    // ===== PERSISTENCE =====
+
+    /**
+     * Load stored totals and start the periodic flush
+     */
+    public synchronized void start() {
+        try {
+            loadStoredStatistics();
+        } catch (SQLException e) {
+            log.warn("Could not load stored query statistics: {}", e.getMessage());
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "query-stats-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly,
+                FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stop the periodic flush, write the final totals and close the stats connections
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        flushQuietly();
+        closeQuietly(mainConnection);
+        closeQuietly(practiceConnection);
+        mainConnection = null;
+        practiceConnection = null;
+    }
+
+    /**
+     * Write changed fingerprints to the main database and refresh the practice mirror
+     */
+    public synchronized void flush() throws SQLException {
+        List<StatementStats> changed = new ArrayList<>();
+        for (StatementStats stats : statements.values()) {
+            if (stats.calls.sum() != stats.flushedCalls) {
+                changed.add(stats);
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            writeMain(changed);
+        }
+        writeMirror();
+        log.debug("Flushed statistics for {} changed statement(s)", changed.size());
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Failed to flush query statistics: {}", e.getMessage());
+        }
+    }
+
+    private void writeMain(List<StatementStats> changed) throws SQLException {
+        Connection connection = getMainConnection();
+        String sql = "MERGE INTO query_stats (query_id, query, query_type, calls, cache_hits, errors, rows_total, "
+                + "total_time_ms, min_time_ms, max_time_ms, p95_time_ms, histogram, first_seen, last_seen) "
+                + "KEY (query_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        connection.setAutoCommit(false);
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (StatementStats stats : changed) {
+                Summary summary = stats.summarize();
+                stmt.setString(1, summary.getQueryId());
+                stmt.setString(2, summary.getQuery());
+                stmt.setString(3, summary.getQueryType());
+                stmt.setLong(4, summary.getCalls());
+                stmt.setLong(5, summary.getCacheHits());
+                stmt.setLong(6, summary.getErrors());
+                stmt.setLong(7, summary.getRowsTotal());
+                stmt.setDouble(8, summary.getTotalTimeMs());
+                stmt.setDouble(9, summary.getMinTimeMs());
+                stmt.setDouble(10, summary.getMaxTimeMs());
+                stmt.setDouble(11, summary.getP95TimeMs());
+                stmt.setString(12, stats.encodeHistogram());
+                stmt.setTimestamp(13, new Timestamp(summary.getFirstSeen()));
+                stmt.setTimestamp(14, new Timestamp(summary.getLastSeen()));
+                stmt.addBatch();
+                stats.flushedCalls = summary.getCalls();
+            }
+            stmt.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            for (StatementStats stats : changed) {
+                stats.flushedCalls = -1; // retry on the next flush
+            }
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private void writeMirror() throws SQLException {
+        Connection connection = getPracticeConnection();
+        try (Statement stmt = connection.createStatement()) {
+            // The practice database can be reset at any time, so recreate before every refresh
+            stmt.execute("CREATE SCHEMA IF NOT EXISTS " + STATS_SCHEMA);
+            stmt.execute(MIRROR_TABLE_DDL);
+        }
+
+        String sql = "INSERT INTO STATS.QUERY_STATS VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        connection.setAutoCommit(false);
+        try (Statement delete = connection.createStatement();
+             PreparedStatement insert = connection.prepareStatement(sql)) {
+            delete.execute("DELETE FROM STATS.QUERY_STATS");
+            for (Summary summary : getSummaries()) {
+                insert.setString(1, summary.getQueryId());
+                insert.setString(2, summary.getQuery());
+                insert.setString(3, summary.getQueryType());
+                insert.setLong(4, summary.getCalls());
+                insert.setLong(5, summary.getCacheHits());
+                insert.setLong(6, summary.getErrors());
+                insert.setLong(7, summary.getRowsTotal());
+                insert.setDouble(8, summary.getTotalTimeMs());
+                insert.setDouble(9, summary.getMeanTimeMs());
+                insert.setDouble(10, summary.getMinTimeMs());
+                insert.setDouble(11, summary.getMaxTimeMs());
+                insert.setDouble(12, summary.getP95TimeMs());
+                insert.setTimestamp(13, new Timestamp(summary.getFirstSeen()));
+                insert.setTimestamp(14, new Timestamp(summary.getLastSeen()));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+            // Written outside QueryExecutor, so cached results over the mirror are stale
+            database.getPracticeResultCache().invalidateTable(STATS_TABLE);
+        }
+    }
+
+    private void loadStoredStatistics() throws SQLException {
+        Connection connection = getMainConnection();
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(MAIN_TABLE_DDL);
+        }
+
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM query_stats")) {
+            while (rs.next()) {
+                StatementStats stats = new StatementStats(rs.getString("query_id"),
+                        rs.getString("query"), rs.getString("query_type"));
+                long calls = rs.getLong("calls");
+                long cacheHits = rs.getLong("cache_hits");
+                stats.calls.add(calls);
+                stats.cacheHits.add(cacheHits);
+                stats.errors.add(rs.getLong("errors"));
+                stats.rows.add(rs.getLong("rows_total"));
+                stats.timedCalls.add(calls - cacheHits);
+                stats.totalMicros.add(Math.round(rs.getDouble("total_time_ms") * 1000));
+                stats.minMicros.accumulate(Math.round(rs.getDouble("min_time_ms") * 1000));
+                stats.maxMicros.accumulate(Math.round(rs.getDouble("max_time_ms") * 1000));
+                stats.decodeHistogram(rs.getString("histogram"));
+                stats.firstSeen = rs.getTimestamp("first_seen").getTime();
+                stats.lastSeen = rs.getTimestamp("last_seen").getTime();
+                stats.flushedCalls = calls;
+                statements.put(stats.query, stats);
+            }
+        }
+        log.info("Loaded statistics for {} statement(s)", statements.size());
+    }
+
+    private Connection getMainConnection() throws SQLException {
+        if (mainConnection == null || mainConnection.isClosed()) {
+            mainConnection = database.openMainConnection();
+        }
+        return mainConnection;
+    }
+
+    private Connection getPracticeConnection() throws SQLException {
+        if (practiceConnection == null || practiceConnection.isClosed()) {
+            practiceConnection = database.openPracticeConnection();
+        }
+        return practiceConnection;
+    }
+
+    private void closeQuietly(Connection connection) {
+        try {
+            if (connection != null && !connection.isClosed()) {
+                connection.close();
+            }
+        } catch (SQLException e) {
+            log.debug("Error closing statistics connection", e);
+        }
+    }
+
+    /**
+     * Drop the least-called 5% of fingerprints once the table is full
+     */
+    private void evictLeastUsed() {
+        synchronized (evictionLock) {
+            if (statements.size() < MAX_FINGERPRINTS) {
+                return;
+            }
+            statements.values().stream()
+                    .sorted(Comparator.comparingLong(stats -> stats.calls.sum()))
+                    .limit(MAX_FINGERPRINTS / 20)
+                    .map(stats -> stats.query)
+                    .toList()
+                    .forEach(statements::remove);
+        }
+    }
+
+    // ===== HISTOGRAM =====
+
+    private static int bucketFor(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros); // >= 2
+        int sub = (int) (micros >> (exponent - 2)) & (SUB_BUCKETS - 1);
+        return Math.min(BUCKET_COUNT - 1, SUB_BUCKETS + (exponent - 2) * SUB_BUCKETS + sub);
+    }
+
+    /**
+     * Midpoint of a bucket's range in microseconds
+     */
+    private static double bucketMidpoint(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + 2;
+        int sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + sub) << (exponent - 2);
+        long width = 1L << (exponent - 2);
+        return lower + width / 2.0;
+    }
+
+    /**
+     * Counters for one fingerprint; every field can be updated without locking
+     */
+    private static class StatementStats {
+        private final String queryId;
+        private final String query;
+        private final String queryType;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder timedCalls = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalMicros = new LongAdder();
+        private final LongAccumulator minMicros = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKET_COUNT);
+        private volatile long firstSeen = System.currentTimeMillis();
+        private volatile long lastSeen = firstSeen;
+        private volatile long flushedCalls;
+
+        StatementStats(String queryId, String query, String queryType) {
+            this.queryId = queryId;
+            this.query = query;
+            this.queryType = queryType;
+        }
+
+        Summary summarize() {
+            long timed = timedCalls.sum();
+            double totalMs = totalMicros.sum() / 1000.0;
+            long min = minMicros.get();
+            return Summary.builder()
+                    .queryId(queryId)
+                    .query(query)
+                    .queryType(queryType)
+                    .calls(calls.sum())
+                    .cacheHits(cacheHits.sum())
+                    .errors(errors.sum())
+                    .rowsTotal(rows.sum())
+                    .totalTimeMs(totalMs)
+                    .meanTimeMs(timed > 0 ? totalMs / timed : 0)
+                    .minTimeMs(min == Long.MAX_VALUE ? 0 : min / 1000.0)
+                    .maxTimeMs(maxMicros.get() / 1000.0)
+                    .p95TimeMs(percentileMicros(0.95) / 1000.0)
+                    .firstSeen(firstSeen)
+                    .lastSeen(lastSeen)
+                    .build();
+        }
+
+        private double percentileMicros(double fraction) {
+            long total = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                total += histogram.get(i);
+            }
+            if (total == 0) {
+                return 0;
+            }
+
+            long target = (long) Math.ceil(total * fraction);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += histogram.get(i);
+                if (seen >= target) {
+                    return bucketMidpoint(i);
+                }
+            }
+            return bucketMidpoint(BUCKET_COUNT - 1);
+        }
+
+        /**
+         * Non-empty buckets as {@code index:count} pairs
+         */
+        String encodeHistogram() {
+            StringBuilder encoded = new StringBuilder();
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                long count = histogram.get(i);
+                if (count > 0) {
+                    if (!encoded.isEmpty()) encoded.append(',');
+                    encoded.append(i).append(':').append(count);
+                }
+            }
+            return encoded.toString();
+        }
+
+        void decodeHistogram(String encoded) {
+            if (encoded == null || encoded.isBlank()) {
+                return;
+            }
+            for (String pair : encoded.split(",")) {
+                int colon = pair.indexOf(':');
+                try {
+                    int bucket = Integer.parseInt(pair.substring(0, colon));
+                    if (bucket >= 0 && bucket < BUCKET_COUNT) {
+                        histogram.addAndGet(bucket, Long.parseLong(pair.substring(colon + 1)));
+                    }
+                } catch (RuntimeException e) {
+                    log.debug("Ignoring malformed histogram entry {}", pair);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.sqllearningapp.core.database;
+
+import com.sqllearningapp.core.models.QueryResult;
+import com.sqllearningapp.utils.ConfigManager;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.*;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams query results to CSV, TSV or JSON-lines files.
+ * SELECT results are re-run with a forward-only cursor and written row by row,
+ * so exports are not limited by the in-memory result cap and use constant memory.
+ */
+@Slf4j
+public class ResultExporter {
+
+    private static final int WRITE_BUFFER_CHARS = 64 * 1024;
+    private static final int PROGRESS_INTERVAL = 10_000;
+
+    private final EmbeddedDatabase database;
+    private final ConfigManager configManager;
+
+    public ResultExporter(EmbeddedDatabase database) {
+        this(database, null);
+    }
+
+    public ResultExporter(EmbeddedDatabase database, ConfigManager configManager) {
+        this.database = database;
+        this.configManager = configManager;
+    }
+
+    public enum Format {
+        CSV, TSV, JSON_LINES;
+
+        public static Format fromFileName(String fileName) {
+            String name = fileName.toLowerCase();
+            if (name.endsWith(".tsv")) return TSV;
+            if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) return JSON_LINES;
+            return CSV;
+        }
+    }
+
+    /**
+     * Listener notified every few thousand rows
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(long rowsWritten);
+    }
+
+    /**
+     * Check whether a result can be re-run for a full streaming export
+     */
+    public boolean canStream(QueryResult result) {
+        return result != null && result.getSql() != null
+                && "SELECT".equals(result.getQueryType()) && !result.isRolledBack();
+    }
+
+    /**
+     * Export a result, streaming it from the database when possible
+     * and falling back to the rows already held in memory otherwise
+     * @return number of data rows written
+     */
+    public long export(QueryResult result, Path file, ProgressListener listener) throws IOException, SQLException {
+        Format format = Format.fromFileName(file.getFileName().toString());
+
+        if (canStream(result)) {
+            return exportQuery(result.getSql(), file, format, listener);
+        }
+        return exportRows(result, file, format, listener);
+    }
+
+    /**
+     * Re-run a SELECT with a forward-only, read-only cursor and write every row
+     */
+    public long exportQuery(String sql, Path file, Format format, ProgressListener listener)
+            throws IOException, SQLException {
+        long startTime = System.currentTimeMillis();
+
+        // A connection of its own, so a long export does not hold the shared practice session
+        try (Connection connection = database.openPracticeConnection();
+             PreparedStatement stmt = StatementTuning.from(configManager).prepareExport(connection, sql)) {
+
+            try (ResultSet rs = stmt.executeQuery();
+                 RowWriter writer = new RowWriter(file, format)) {
+
+                ResultSetMetaData metaData = rs.getMetaData();
+                int columnCount = metaData.getColumnCount();
+                String[] columnNames = new String[columnCount];
+                boolean[] unquoted = new boolean[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    columnNames[i] = metaData.getColumnLabel(i + 1);
+                    unquoted[i] = isJsonLiteralType(metaData.getColumnType(i + 1));
+                }
+
+                writer.writeHeader(columnNames);
+
+                Object[] values = new Object[columnCount];
+                long rows = 0;
+                while (rs.next()) {
+                    for (int i = 0; i < columnCount; i++) {
+                        values[i] = unquoted[i] ? rs.getObject(i + 1) : rs.getString(i + 1);
+                    }
+                    writer.writeRow(columnNames, values);
+
+                    if (++rows % PROGRESS_INTERVAL == 0 && listener != null) {
+                        listener.onProgress(rows);
+                    }
+                }
+
+                log.info("Exported {} rows to {} in {} ms", rows, file, System.currentTimeMillis() - startTime);
+                return rows;
+            }
+        }
+    }
+
+    private long exportRows(QueryResult result, Path file, Format format, ProgressListener listener)
+            throws IOException {
+        List<String> columns = result.getColumnNames();
+        String[] columnNames = columns.toArray(new String[0]);
+        Object[] values = new Object[columnNames.length];
+        long rows = 0;
+
+        try (RowWriter writer = new RowWriter(file, format)) {
+            writer.writeHeader(columnNames);
+
+            for (Map<String, Object> row : result.getRows()) {
+                for (int i = 0; i < columnNames.length; i++) {
+                    values[i] = row.get(columnNames[i]);
+                }
+                writer.writeRow(columnNames, values);
+
+                if (++rows % PROGRESS_INTERVAL == 0 && listener != null) {
+                    listener.onProgress(rows);
+                }
+            }
+        }
+        return rows;
+    }
+
+    private boolean isJsonLiteralType(int sqlType) {
+        return switch (sqlType) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT,
+                 Types.REAL, Types.FLOAT, Types.DOUBLE, Types.NUMERIC, Types.DECIMAL,
+                 Types.BOOLEAN, Types.BIT -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Buffered channel writer that formats each row into a single reused builder
+     */
+    private static class RowWriter implements AutoCloseable {
+        private final Writer out;
+        private final Format format;
+        private final StringBuilder line = new StringBuilder(256);
+        private char[] chars = new char[256];
+
+        RowWriter(Path file, Format format) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS);
+            this.format = format;
+        }
+
+        void writeHeader(String[] columnNames) throws IOException {
+            if (format == Format.JSON_LINES) {
+                return; // every line carries its own keys
+            }
+            writeDelimited(columnNames);
+        }
+
+        void writeRow(String[] columnNames, Object[] values) throws IOException {
+            if (format == Format.JSON_LINES) {
+                writeJson(columnNames, values);
+            } else {
+                writeDelimited(values);
+            }
+        }
+
+        private void writeDelimited(Object[] values) throws IOException {
+            char separator = format == Format.TSV ? '\t' : ',';
+            line.setLength(0);
+
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) line.append(separator);
+                if (values[i] == null) continue;
+
+                String value = values[i].toString();
+                if (format == Format.TSV) {
+                    appendTsv(value);
+                } else {
+                    appendCsv(value);
+                }
+            }
+            line.append('\n');
+            flushLine();
+        }
+
+        private void writeJson(String[] columnNames, Object[] values) throws IOException {
+            line.setLength(0);
+            line.append('{');
+
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) line.append(',');
+                appendJsonString(columnNames[i]);
+                line.append(':');
+
+                Object value = values[i];
+                if (value == null) {
+                    line.append("null");
+                } else if (value instanceof Double d && !Double.isFinite(d)
+                        || value instanceof Float f && !Float.isFinite(f)) {
+                    line.append("null"); // JSON has no NaN or Infinity
+                } else if (value instanceof Number || value instanceof Boolean) {
+                    line.append(value);
+                } else {
+                    appendJsonString(value.toString());
+                }
+            }
+            line.append("}\n");
+            flushLine();
+        }
+
+        private void flushLine() throws IOException {
+            // Copy through a reused char array; Writer.append(CharSequence) would allocate a String per row
+            if (chars.length < line.length()) {
+                chars = new char[Math.max(line.length(), chars.length * 2)];
+            }
+            line.getChars(0, line.length(), chars, 0);
+            out.write(chars, 0, line.length());
+        }
+
+        private void appendCsv(String value) {
+            boolean needsQuotes = false;
+            for (int i = 0; i < value.length() && !needsQuotes; i++) {
+                char c = value.charAt(i);
+                needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!needsQuotes) {
+                line.append(value);
+                return;
+            }
+
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') line.append('"');
+                line.append(c);
+            }
+            line.append('"');
+        }
+
+        private void appendTsv(String value) {
+            // TSV has no quoting, so control characters are escaped
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '\t' -> line.append("\\t");
+                    case '\n' -> line.append("\\n");
+                    case '\r' -> line.append("\\r");
+                    case '\\' -> line.append("\\\\");
+                    default -> line.append(c);
+                }
+            }
+        }
+
+        private void appendJsonString(String value) {
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> line.append("\\\"");
+                    case '\\' -> line.append("\\\\");
+                    case '\n' -> line.append("\\n");
+                    case '\r' -> line.append("\\r");
+                    case '\t' -> line.append("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            line.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            line.append(c);
+                        }
+                    }
+                }
+            }
+            line.append('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.sqllearningapp.core.database;
+
+import com.sqllearningapp.utils.FileUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * Result rows that did not fit the in-memory budget, stored in a compact binary format.
+ * Each cell is a one-byte type tag followed by its value; a sparse offset index allows
+ * pages to be read back without scanning the file from the start.
+ */
+@Slf4j
+public class ResultSpillFile implements Closeable {
+
+    private static final int INDEX_INTERVAL = 1000; // rows between offset checkpoints
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final byte NULL = 0;
+    private static final byte INT = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte STRING = 4;
+    private static final byte DECIMAL = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte DATE = 7;
+    private static final byte TIMESTAMP = 8;
+    private static final byte TIME = 9;
+
+    private final Path path;
+    private final List<String> columnNames;
+    private final List<Long> rowOffsets = new ArrayList<>();
+    private final CountingOutputStream counter;
+    private DataOutputStream out;
+    private long rowCount;
+
+    private ResultSpillFile(Path path, List<String> columnNames) throws IOException {
+        this.path = path;
+        this.columnNames = List.copyOf(columnNames);
+        this.counter = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+        this.out = new DataOutputStream(counter);
+    }
+
+    /**
+     * Create an empty spill file in the application temp directory
+     */
+    public static ResultSpillFile create(List<String> columnNames) throws IOException {
+        Path path = Files.createTempFile(FileUtils.getTempDirectory(), "result_", ".spill");
+        path.toFile().deleteOnExit();
+        log.debug("Spilling result rows to {}", path);
+        return new ResultSpillFile(path, columnNames);
+    }
+
+    /**
+     * Append one row; values are in result column order
+     */
+    public void append(Object[] values) throws IOException {
+        if (rowCount % INDEX_INTERVAL == 0) {
+            rowOffsets.add(counter.bytesWritten); // DataOutputStream.size() saturates at 2 GB
+        }
+        for (int i = 0; i < columnNames.size(); i++) {
+            writeValue(values[i]);
+        }
+        rowCount++;
+    }
+
+    /**
+     * Finish writing; the file becomes readable
+     */
+    public void finish() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    /**
+     * Read up to {@code limit} rows starting at the given spilled-row index
+     */
+    public List<Map<String, Object>> readRows(long fromRow, int limit) throws IOException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        if (fromRow >= rowCount || limit <= 0) {
+            return rows;
+        }
+
+        int checkpoint = (int) (fromRow / INDEX_INTERVAL);
+        long skipRows = fromRow - (long) checkpoint * INDEX_INTERVAL;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.position(rowOffsets.get(checkpoint));
+            DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE));
+
+            for (long i = 0; i < skipRows; i++) {
+                for (int c = 0; c < columnNames.size(); c++) {
+                    readValue(in);
+                }
+            }
+
+            long end = Math.min(rowCount, fromRow + limit);
+            for (long r = fromRow; r < end; r++) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (String columnName : columnNames) {
+                    row.putIfAbsent(columnName, readValue(in)); // duplicate labels keep the first value
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getSizeBytes() {
+        return counter.bytesWritten;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Delete the spill file
+     */
+    @Override
+    public void close() {
+        try {
+            finish();
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("Could not delete spill file {}", path);
+        }
+    }
+
+    // ===== ENCODING =====
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(INT);
+            out.writeInt(((Number) value).intValue());
+        } else if (value instanceof Long l) {
+            out.writeByte(LONG);
+            out.writeLong(l);
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof BigDecimal decimal) {
+            out.writeByte(DECIMAL);
+            writeString(decimal.toString());
+        } else if (value instanceof Boolean b) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(b);
+        } else if (value instanceof Date date) {
+            out.writeByte(DATE);
+            out.writeLong(date.toLocalDate().toEpochDay());
+        } else if (value instanceof Timestamp timestamp) {
+            out.writeByte(TIMESTAMP);
+            out.writeLong(timestamp.getTime());
+            out.writeInt(timestamp.getNanos());
+        } else if (value instanceof Time time) {
+            out.writeByte(TIME);
+            out.writeLong(time.getTime());
+        } else {
+            out.writeByte(STRING);
+            writeString(value.toString());
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        // Length-prefixed UTF-8; writeUTF would cap values at 64 KB
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case NULL -> null;
+            case INT -> in.readInt();
+            case LONG -> in.readLong();
+            case DOUBLE -> in.readDouble();
+            case STRING -> readString(in);
+            case DECIMAL -> new BigDecimal(readString(in));
+            case BOOLEAN -> in.readBoolean();
+            case DATE -> Date.valueOf(java.time.LocalDate.ofEpochDay(in.readLong()));
+            case TIMESTAMP -> {
+                Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                yield timestamp;
+            }
+            case TIME -> new Time(in.readLong());
+            default -> throw new IOException("Corrupt spill file, unknown type tag " + tag);
+        };
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long bytesWritten;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            bytesWritten++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            bytesWritten += len;
+        }
+    }
+}
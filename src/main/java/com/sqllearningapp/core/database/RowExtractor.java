@@ -0,0 +1,115 @@
+package com.sqllearningapp.core.database;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads result rows by column index with getters chosen once from the metadata.
+ * Avoids the per-cell name lookup of {@code getObject(String)} and the generic
+ * conversion path of {@code getObject} for the common numeric and boolean types.
+ */
+public class RowExtractor {
+
+    private enum Getter { INT, LONG, DOUBLE, FLOAT, BOOLEAN, OBJECT }
+
+    private final List<String> columnNames;
+    private final Getter[] getters;
+    private final int[] source; // first column with the same name; differs for duplicates
+
+    public RowExtractor(ResultSetMetaData metaData) throws SQLException {
+        int columnCount = metaData.getColumnCount();
+        List<String> names = new ArrayList<>(columnCount);
+        this.getters = new Getter[columnCount];
+        this.source = new int[columnCount];
+
+        for (int i = 0; i < columnCount; i++) {
+            String name = metaData.getColumnName(i + 1);
+            // getObject(name) resolves to the first matching column, so later duplicates repeat it
+            int first = names.indexOf(name);
+            source[i] = first >= 0 ? first : i;
+            names.add(name);
+            getters[i] = getterFor(metaData.getColumnType(i + 1));
+        }
+        this.columnNames = Collections.unmodifiableList(names);
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    public int getColumnCount() {
+        return getters.length;
+    }
+
+    /**
+     * Read the current row into a caller-owned buffer of {@link #getColumnCount()} values
+     */
+    public void readValues(ResultSet rs, Object[] values) throws SQLException {
+        for (int i = 0; i < getters.length; i++) {
+            values[i] = source[i] != i ? values[source[i]] : read(rs, i);
+        }
+    }
+
+    /**
+     * Read the current row as a column-name map
+     */
+    public Map<String, Object> readRow(ResultSet rs) throws SQLException {
+        Map<String, Object> row = new LinkedHashMap<>(mapCapacity());
+        for (int i = 0; i < getters.length; i++) {
+            if (source[i] == i) {
+                row.put(columnNames.get(i), read(rs, i));
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Build a column-name map from values previously read with {@link #readValues}
+     */
+    public Map<String, Object> toRow(Object[] values) {
+        Map<String, Object> row = new LinkedHashMap<>(mapCapacity());
+        for (int i = 0; i < getters.length; i++) {
+            if (source[i] == i) {
+                row.put(columnNames.get(i), values[i]);
+            }
+        }
+        return row;
+    }
+
+    private Object read(ResultSet rs, int index) throws SQLException {
+        int column = index + 1;
+        Object value = switch (getters[index]) {
+            case INT -> rs.getInt(column);
+            case LONG -> rs.getLong(column);
+            case DOUBLE -> rs.getDouble(column);
+            case FLOAT -> rs.getFloat(column);
+            case BOOLEAN -> rs.getBoolean(column);
+            case OBJECT -> rs.getObject(column);
+        };
+        // Primitive getters return 0/false for SQL NULL
+        return getters[index] != Getter.OBJECT && rs.wasNull() ? null : value;
+    }
+
+    private int mapCapacity() {
+        return (int) (getters.length / 0.75f) + 1;
+    }
+
+    private static Getter getterFor(int sqlType) {
+        // Only types whose getObject result matches the primitive getter exactly
+        return switch (sqlType) {
+            case Types.INTEGER -> Getter.INT;
+            case Types.BIGINT -> Getter.LONG;
+            case Types.DOUBLE, Types.FLOAT -> Getter.DOUBLE;
+            case Types.REAL -> Getter.FLOAT;
+            case Types.BOOLEAN -> Getter.BOOLEAN;
+            default -> Getter.OBJECT;
+        };
+    }
+}
@@ -0,0 +1,491 @@
+package com.sqllearningapp.core.database;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic data generator for the practice database.
+ * Appends scaled, foreign-key consistent data to the practice tables so that
+ * indexing and join strategies can be explored at realistic sizes.
+ */
+@Slf4j
+public class SampleDataGenerator {
+
+    public static final int MIN_SCALE_FACTOR = 1;
+    public static final int MAX_SCALE_FACTOR = 1000;
+    public static final long DEFAULT_SEED = 42L;
+
+    private static final int BATCH_SIZE = 5000;
+
+    // Rows generated per unit of scale factor
+    private static final int DEPARTMENTS_PER_SCALE = 5;
+    private static final int EMPLOYEES_PER_SCALE = 1000;
+    private static final int PROJECTS_PER_SCALE = 20;
+    private static final int CUSTOMERS_PER_SCALE = 100;
+    private static final int PRODUCTS_PER_SCALE = 50;
+    private static final int ORDERS_PER_SCALE = 1000;
+    private static final int ORDER_DETAILS_PER_SCALE = 3000;
+    private static final int PERFORMANCE_TESTS_PER_SCALE = 500;
+
+    // One employee in ten heads a team and has no manager
+    private static final int TEAM_SIZE = 10;
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda",
+            "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica",
+            "Thomas", "Sarah", "Charles", "Karen", "Daniel", "Nancy", "Matthew", "Lisa"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis",
+            "Rodriguez", "Martinez", "Hernandez", "Lopez", "Wilson", "Anderson", "Thomas", "Taylor",
+            "Moore", "Jackson", "Martin", "Lee", "Thompson", "White", "Harris", "Clark"
+    };
+    private static final String[] DEPARTMENT_NAMES = {
+            "Engineering", "Marketing", "Sales", "HR", "Finance", "Support", "Legal", "Operations"
+    };
+    private static final String[] CITIES = {
+            "San Francisco", "New York", "Chicago", "Boston", "Seattle", "Austin", "Denver", "Atlanta"
+    };
+    private static final String[] ROLES = {
+            "Developer", "Tester", "Analyst", "Designer", "Project Manager", "Technical Lead"
+    };
+    private static final String[] PRODUCT_CATEGORIES = {
+            "Hardware", "Software", "Services", "Accessories", "Training"
+    };
+    private static final String[] ORDER_STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+    private static final LocalDate BASE_DATE = LocalDate.of(2015, 1, 1);
+
+    private final EmbeddedDatabase database;
+
+    public SampleDataGenerator(EmbeddedDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Generate data at the given scale factor using the default seed
+     */
+    public GenerationReport generate(int scaleFactor) throws SQLException {
+        return generate(scaleFactor, DEFAULT_SEED);
+    }
+
+    /**
+     * Append synthetic rows to every practice table.
+     * The same scale factor and seed always produce the same data. Batches are committed as
+     * they go, so a failed run deletes the rows it generated instead of rolling back.
+     */
+    public GenerationReport generate(int scaleFactor, long seed) throws SQLException {
+        if (scaleFactor < MIN_SCALE_FACTOR || scaleFactor > MAX_SCALE_FACTOR) {
+            throw new IllegalArgumentException(String.format(
+                    "Scale factor must be between %d and %d", MIN_SCALE_FACTOR, MAX_SCALE_FACTOR));
+        }
+
+        log.info("Generating practice data at {}x scale (seed {})", scaleFactor, seed);
+
+        long startTime = System.currentTimeMillis();
+        Map<String, Integer> rowCounts = new LinkedHashMap<>();
+
+        // A connection of its own, so the batch commits never touch statements the user runs meanwhile
+        try (Connection connection = database.openPracticeConnection()) {
+            connection.setAutoCommit(false);
+            Deque<String> undo = new ArrayDeque<>(); // most recently generated first
+            try {
+                // Parents are generated before children so every foreign key resolves
+                IdRange departments = generateDepartments(connection, undo, scaleFactor, seed, rowCounts);
+                IdRange employees = generateEmployees(connection, undo, scaleFactor, seed, departments, rowCounts);
+                IdRange projects = generateProjects(connection, undo, scaleFactor, seed, departments, rowCounts);
+                generateEmployeeProjects(connection, undo, seed, employees, projects, rowCounts);
+                IdRange customers = generateCustomers(connection, undo, scaleFactor, seed, rowCounts);
+                IdRange products = generateProducts(connection, undo, scaleFactor, seed, rowCounts);
+                IdRange orders = generateOrders(connection, undo, scaleFactor, seed, customers, rowCounts);
+                generateOrderDetails(connection, undo, scaleFactor, seed, orders, products, rowCounts);
+                generatePerformanceTests(connection, undo, scaleFactor, seed, rowCounts);
+
+                connection.commit();
+
+            } catch (SQLException e) {
+                log.error("Failed to generate practice data", e);
+                deleteGenerated(connection, undo);
+                throw e;
+            }
+        } finally {
+            database.getPracticeResultCache().invalidateAll(); // bulk load bypasses QueryExecutor
+        }
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        GenerationReport report = GenerationReport.builder()
+                .scaleFactor(scaleFactor)
+                .seed(seed)
+                .rowCounts(rowCounts)
+                .elapsedMs(elapsed)
+                .build();
+
+        log.info("Generated {} rows in {} ms ({} rows/s)",
+                report.getTotalRows(), elapsed, report.getRowsPerSecond());
+        return report;
+    }
+
+    // ===== TABLE GENERATORS =====
+
+    private IdRange generateDepartments(Connection connection, Deque<String> undo, int scaleFactor, long seed,
+                                        Map<String, Integer> rowCounts) throws SQLException {
+        IdRange range = allocate(connection, undo, "departments", DEPARTMENTS_PER_SCALE * scaleFactor);
+        SplittableRandom random = randomFor(seed, 1);
+
+        String sql = "INSERT INTO departments (id, department_name, location, budget) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int id = range.first(); id <= range.last(); id++) {
+                stmt.setInt(1, id);
+                stmt.setString(2, pick(random, DEPARTMENT_NAMES) + " " + id);
+                stmt.setString(3, pick(random, CITIES));
+                stmt.setBigDecimal(4, money(random, 250_000, 5_000_000));
+                addToBatch(connection, stmt, id - range.first() + 1);
+            }
+            flush(connection, stmt);
+        }
+
+        return finish(connection, "departments", range, rowCounts);
+    }
+
+    private IdRange generateEmployees(Connection connection, Deque<String> undo, int scaleFactor, long seed,
+                                      IdRange departments, Map<String, Integer> rowCounts) throws SQLException {
+        IdRange range = allocate(connection, undo, "employees", EMPLOYEES_PER_SCALE * scaleFactor);
+        SplittableRandom random = randomFor(seed, 2);
+        // Managers are in the same range; clear them first, as H2 checks the self reference row by row
+        undo.push("UPDATE employees SET manager_id = NULL WHERE id BETWEEN " + range.first() + " AND " + range.last());
+
+        String sql = """
+            INSERT INTO employees (id, first_name, last_name, email, salary, hire_date,
+                                   department_id, manager_id, is_active)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int id = range.first(); id <= range.last(); id++) {
+                int position = id - range.first();
+                String firstName = pick(random, FIRST_NAMES);
+                String lastName = pick(random, LAST_NAMES);
+
+                stmt.setInt(1, id);
+                stmt.setString(2, firstName);
+                stmt.setString(3, lastName);
+                stmt.setString(4, String.format("%s.%s.%d@example.com",
+                        firstName.toLowerCase(), lastName.toLowerCase(), id));
+                stmt.setBigDecimal(5, money(random, 40_000, 180_000));
+                stmt.setDate(6, randomDate(random, 3650));
+                stmt.setInt(7, departments.random(random));
+
+                // Team heads come first in each block, so managers always exist already
+                if (position % TEAM_SIZE == 0) {
+                    stmt.setNull(8, Types.INTEGER);
+                } else {
+                    stmt.setInt(8, range.first() + (position / TEAM_SIZE) * TEAM_SIZE);
+                }
+                stmt.setBoolean(9, random.nextInt(20) != 0);
+                addToBatch(connection, stmt, position + 1);
+            }
+            flush(connection, stmt);
+        }
+
+        return finish(connection, "employees", range, rowCounts);
+    }
+
+    private IdRange generateProjects(Connection connection, Deque<String> undo, int scaleFactor, long seed,
+                                     IdRange departments, Map<String, Integer> rowCounts) throws SQLException {
+        IdRange range = allocate(connection, undo, "projects", PROJECTS_PER_SCALE * scaleFactor);
+        SplittableRandom random = randomFor(seed, 3);
+
+        String sql = """
+            INSERT INTO projects (id, project_name, description, start_date, end_date, budget, department_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int id = range.first(); id <= range.last(); id++) {
+                LocalDate start = BASE_DATE.plusDays(random.nextInt(3000));
+
+                stmt.setInt(1, id);
+                stmt.setString(2, "Project " + id);
+                stmt.setString(3, "Generated project for department-level exercises");
+                stmt.setDate(4, Date.valueOf(start));
+                stmt.setDate(5, Date.valueOf(start.plusDays(30 + random.nextInt(700))));
+                stmt.setBigDecimal(6, money(random, 10_000, 900_000));
+                stmt.setInt(7, departments.random(random));
+                addToBatch(connection, stmt, id - range.first() + 1);
+            }
+            flush(connection, stmt);
+        }
+
+        return finish(connection, "projects", range, rowCounts);
+    }
+
+    private void generateEmployeeProjects(Connection connection, Deque<String> undo, long seed, IdRange employees,
+                                          IdRange projects, Map<String, Integer> rowCounts) throws SQLException {
+        SplittableRandom random = randomFor(seed, 4);
+        undo.push("DELETE FROM employee_projects WHERE employee_id BETWEEN "
+                + employees.first() + " AND " + employees.last());
+
+        // One assignment per new employee keeps the (employee_id, project_id) key unique
+        String sql = """
+            INSERT INTO employee_projects (employee_id, project_id, role, start_date, end_date)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int employeeId = employees.first(); employeeId <= employees.last(); employeeId++) {
+                LocalDate start = BASE_DATE.plusDays(random.nextInt(3000));
+
+                stmt.setInt(1, employeeId);
+                stmt.setInt(2, projects.random(random));
+                stmt.setString(3, pick(random, ROLES));
+                stmt.setDate(4, Date.valueOf(start));
+                stmt.setDate(5, Date.valueOf(start.plusDays(30 + random.nextInt(365))));
+                addToBatch(connection, stmt, employeeId - employees.first() + 1);
+            }
+            flush(connection, stmt);
+        }
+
+        rowCounts.put("employee_projects", employees.count());
+    }
+
+    private IdRange generateCustomers(Connection connection, Deque<String> undo, int scaleFactor, long seed,
+                                      Map<String, Integer> rowCounts) throws SQLException {
+        IdRange range = allocate(connection, undo, "customers", CUSTOMERS_PER_SCALE * scaleFactor);
+        SplittableRandom random = randomFor(seed, 5);
+
+        String sql = """
+            INSERT INTO customers (id, company_name, contact_person, email, phone, address, city, country)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int id = range.first(); id <= range.last(); id++) {
+                stmt.setInt(1, id);
+                stmt.setString(2, pick(random, LAST_NAMES) + " Holdings " + id);
+                stmt.setString(3, pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES));
+                stmt.setString(4, "contact" + id + "@customer.example.com");
+                stmt.setString(5, String.format("555-%04d", random.nextInt(10_000)));
+                stmt.setString(6, (100 + random.nextInt(9900)) + " Market St");
+                stmt.setString(7, pick(random, CITIES));
+                stmt.setString(8, "USA");
+                addToBatch(connection, stmt, id - range.first() + 1);
+            }
+            flush(connection, stmt);
+        }
+
+        return finish(connection, "customers", range, rowCounts);
+    }
+
+    private IdRange generateProducts(Connection connection, Deque<String> undo, int scaleFactor, long seed,
+                                     Map<String, Integer> rowCounts) throws SQLException {
+        IdRange range = allocate(connection, undo, "products", PRODUCTS_PER_SCALE * scaleFactor);
+        SplittableRandom random = randomFor(seed, 6);
+
+        String sql = """
+            INSERT INTO products (id, product_code, product_name, category, unit_price, units_in_stock, discontinued)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int id = range.first(); id <= range.last(); id++) {
+                String category = pick(random, PRODUCT_CATEGORIES);
+
+                stmt.setInt(1, id);
+                stmt.setString(2, String.format("P%07d", id));
+                stmt.setString(3, category + " Item " + id);
+                stmt.setString(4, category);
+                stmt.setBigDecimal(5, money(random, 5, 5_000));
+                stmt.setInt(6, random.nextInt(1000));
+                stmt.setBoolean(7, random.nextInt(25) == 0);
+                addToBatch(connection, stmt, id - range.first() + 1);
+            }
+            flush(connection, stmt);
+        }
+
+        return finish(connection, "products", range, rowCounts);
+    }
+
+    private IdRange generateOrders(Connection connection, Deque<String> undo, int scaleFactor, long seed,
+                                   IdRange customers, Map<String, Integer> rowCounts) throws SQLException {
+        IdRange range = allocate(connection, undo, "orders", ORDERS_PER_SCALE * scaleFactor);
+        SplittableRandom random = randomFor(seed, 7);
+
+        String sql = "INSERT INTO orders (id, customer_id, order_date, total_amount, status) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int id = range.first(); id <= range.last(); id++) {
+                stmt.setInt(1, id);
+                stmt.setInt(2, customers.random(random));
+                stmt.setDate(3, randomDate(random, 3000));
+                stmt.setBigDecimal(4, money(random, 100, 90_000));
+                stmt.setString(5, pick(random, ORDER_STATUSES));
+                addToBatch(connection, stmt, id - range.first() + 1);
+            }
+            flush(connection, stmt);
+        }
+
+        return finish(connection, "orders", range, rowCounts);
+    }
+
+    private void generateOrderDetails(Connection connection, Deque<String> undo, int scaleFactor, long seed,
+                                      IdRange orders, IdRange products, Map<String, Integer> rowCounts)
+            throws SQLException {
+        IdRange range = allocate(connection, undo, "order_details", ORDER_DETAILS_PER_SCALE * scaleFactor);
+        SplittableRandom random = randomFor(seed, 8);
+
+        String sql = """
+            INSERT INTO order_details (id, order_id, product_id, quantity, unit_price, discount)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int id = range.first(); id <= range.last(); id++) {
+                stmt.setInt(1, id);
+                stmt.setInt(2, orders.random(random));
+                stmt.setInt(3, products.random(random));
+                stmt.setInt(4, 1 + random.nextInt(20));
+                stmt.setBigDecimal(5, money(random, 5, 5_000));
+                stmt.setBigDecimal(6, BigDecimal.valueOf(random.nextInt(4) * 5, 2));
+                addToBatch(connection, stmt, id - range.first() + 1);
+            }
+            flush(connection, stmt);
+        }
+
+        finish(connection, "order_details", range, rowCounts);
+    }
+
+    private void generatePerformanceTests(Connection connection, Deque<String> undo, int scaleFactor, long seed,
+                                          Map<String, Integer> rowCounts) throws SQLException {
+        IdRange range = allocate(connection, undo, "performance_test", PERFORMANCE_TESTS_PER_SCALE * scaleFactor);
+        SplittableRandom random = randomFor(seed, 9);
+
+        String sql = """
+            INSERT INTO performance_test (id, test_name, execution_time_ms, memory_usage_mb, test_date)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int id = range.first(); id <= range.last(); id++) {
+                stmt.setInt(1, id);
+                stmt.setString(2, "benchmark_" + (id % 50));
+                stmt.setInt(3, 1 + random.nextInt(5000));
+                stmt.setBigDecimal(4, money(random, 1, 2048));
+                stmt.setTimestamp(5, Timestamp.valueOf(BASE_DATE.atStartOfDay()
+                        .plusSeconds(random.nextLong(300_000_000L))));
+                addToBatch(connection, stmt, id - range.first() + 1);
+            }
+            flush(connection, stmt);
+        }
+
+        finish(connection, "performance_test", range, rowCounts);
+    }
+
+    // ===== HELPERS =====
+
+    /**
+     * Reserve ids past the table's current maximum and remember how to delete them again
+     */
+    private IdRange allocate(Connection connection, Deque<String> undo, String table, int count)
+            throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            int maxId = rs.next() ? rs.getInt(1) : 0;
+            IdRange range = new IdRange(maxId + 1, maxId + count);
+            undo.push("DELETE FROM " + table + " WHERE id BETWEEN " + range.first() + " AND " + range.last());
+            return range;
+        }
+    }
+
+    /**
+     * Delete generated rows, children before parents; earlier batches were already committed
+     */
+    private void deleteGenerated(Connection connection, Deque<String> undo) {
+        try {
+            connection.rollback();
+            connection.setAutoCommit(true);
+            try (Statement stmt = connection.createStatement()) {
+                while (!undo.isEmpty()) {
+                    stmt.executeUpdate(undo.pop());
+                }
+            }
+            log.info("Removed the partially generated practice data");
+        } catch (SQLException e) {
+            log.warn("Failed to remove partially generated practice data; tables may hold part of the run", e);
+        }
+    }
+
+    private IdRange finish(Connection connection, String table, IdRange range,
+                           Map<String, Integer> rowCounts) throws SQLException {
+        // Explicit ids were used, so move the identity past them for later INSERTs
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (range.last() + 1));
+        }
+
+        rowCounts.put(table, range.count());
+        log.debug("Generated {} rows for {}", range.count(), table);
+        return range;
+    }
+
+    private void addToBatch(Connection connection, PreparedStatement stmt, int rowNumber) throws SQLException {
+        stmt.addBatch();
+        if (rowNumber % BATCH_SIZE == 0) {
+            flush(connection, stmt);
+        }
+    }
+
+    private void flush(Connection connection, PreparedStatement stmt) throws SQLException {
+        stmt.executeBatch();
+        connection.commit();
+    }
+
+    private SplittableRandom randomFor(long seed, int table) {
+        // Independent stream per table so changing one table's volume doesn't shift the others
+        return new SplittableRandom(seed * 31 + table);
+    }
+
+    private String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private BigDecimal money(SplittableRandom random, int min, int max) {
+        return BigDecimal.valueOf(min + random.nextDouble() * (max - min)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private Date randomDate(SplittableRandom random, int maxDays) {
+        return Date.valueOf(BASE_DATE.plusDays(random.nextInt(maxDays)));
+    }
+
+    /**
+     * Contiguous block of generated primary keys
+     */
+    private record IdRange(int first, int last) {
+        int count() {
+            return last - first + 1;
+        }
+
+        int random(SplittableRandom random) {
+            return first + random.nextInt(count());
+        }
+    }
+
+    // ===== REPORT =====
+
+    @Data
+    @Builder
+    public static class GenerationReport {
+        private int scaleFactor;
+        private long seed;
+        private Map<String, Integer> rowCounts;
+        private long elapsedMs;
+
+        public long getTotalRows() {
+            return rowCounts.values().stream().mapToLong(Integer::longValue).sum();
+        }
+
+        public long getRowsPerSecond() {
+            return elapsedMs > 0 ? getTotalRows() * 1000 / elapsedMs : getTotalRows();
+        }
+    }
+}
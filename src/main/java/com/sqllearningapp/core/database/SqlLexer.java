@@ -0,0 +1,366 @@
+package com.sqllearningapp.core.database;
+
+/**
+ * Single-pass SQL tokenizer shared by statement classification, script splitting
+ * and editor highlighting. Works as a cursor over the original text: tokens are
+ * reported as offsets, so scanning never copies the statement.
+ */
+public final class SqlLexer {
+
+    public enum TokenType {
+        WHITESPACE, COMMENT, WORD, QUOTED_IDENTIFIER, STRING, NUMBER,
+        OPERATOR, OPEN_PAREN, CLOSE_PAREN, SEMICOLON, PUNCTUATION
+    }
+
+    /**
+     * Statement type as reported in {@code QueryResult.queryType}, whether the
+     * statement can change data or schema, and the table targeted by DML
+     */
+    public record Classification(String queryType, boolean readOnly, String targetTable) {
+        static final Classification UNKNOWN = new Classification("UNKNOWN", false, null);
+    }
+
+    private static final String[] READ_ONLY_VERBS = { "SELECT", "VALUES", "TABLE", "SHOW", "HELP" };
+    private static final String[] CTE_BODY_VERBS = { "SELECT", "VALUES", "TABLE", "INSERT", "UPDATE", "DELETE", "MERGE" };
+    private static final String[] KNOWN_VERBS = {
+            "SELECT", "INSERT", "UPDATE", "DELETE", "MERGE", "CREATE", "DROP", "ALTER", "TRUNCATE",
+            "COMMIT", "ROLLBACK", "GRANT", "REVOKE", "EXPLAIN", "SHOW", "HELP", "CALL", "SET"
+    };
+
+    private final CharSequence text;
+    private final int length;
+    private int position;
+    private TokenType type;
+    private int start;
+    private int end;
+
+    public SqlLexer(CharSequence text) {
+        this.text = text;
+        this.length = text.length();
+    }
+
+    /**
+     * Advance to the next token
+     * @return false at the end of the text
+     */
+    public boolean next() {
+        if (position >= length) {
+            type = null;
+            return false;
+        }
+
+        start = position;
+        char c = text.charAt(position);
+        char next = position + 1 < length ? text.charAt(position + 1) : '\0';
+
+        if (Character.isWhitespace(c)) {
+            type = TokenType.WHITESPACE;
+            do position++; while (position < length && Character.isWhitespace(text.charAt(position)));
+        } else if (c == '-' && next == '-') {
+            type = TokenType.COMMENT;
+            while (position < length && text.charAt(position) != '\n' && text.charAt(position) != '\r') position++;
+        } else if (c == '/' && next == '*') {
+            type = TokenType.COMMENT;
+            position = skipPast('*', '/', position + 2);
+        } else if (c == '\'') {
+            type = TokenType.STRING;
+            position = skipQuoted(c);
+        } else if (c == '"' || c == '`') {
+            type = TokenType.QUOTED_IDENTIFIER;
+            position = skipQuoted(c);
+        } else if (c == '$' && next == '$') {
+            type = TokenType.STRING;
+            position = skipPast('$', '$', position + 2);
+        } else if (isDigit(c) || c == '.' && isDigit(next)) {
+            type = TokenType.NUMBER;
+            position = skipNumber();
+        } else if (Character.isLetter(c) || c == '_') {
+            type = TokenType.WORD;
+            do position++; while (position < length && isWordPart(text.charAt(position)));
+        } else if (c == '(') {
+            type = TokenType.OPEN_PAREN;
+            position++;
+        } else if (c == ')') {
+            type = TokenType.CLOSE_PAREN;
+            position++;
+        } else if (c == ';') {
+            type = TokenType.SEMICOLON;
+            position++;
+        } else if (isComparison(c)) {
+            type = TokenType.OPERATOR;
+            do position++; while (position < length && isComparison(text.charAt(position)));
+        } else if ("+-*/%^~&".indexOf(c) >= 0) {
+            type = TokenType.OPERATOR;
+            position++;
+        } else {
+            type = TokenType.PUNCTUATION;
+            position++;
+        }
+
+        end = position;
+        return true;
+    }
+
+    /**
+     * Advance past whitespace and comments to the next significant token
+     */
+    public boolean nextSignificant() {
+        while (next()) {
+            if (type != TokenType.WHITESPACE && type != TokenType.COMMENT) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public TokenType type() {
+        return type;
+    }
+
+    public int start() {
+        return start;
+    }
+
+    public int end() {
+        return end;
+    }
+
+    /**
+     * Text of the current token
+     */
+    public String text() {
+        return text.subSequence(start, end).toString();
+    }
+
+    /**
+     * Check whether the current token is the given word, ignoring case
+     * @param keyword upper-case keyword
+     */
+    public boolean isWord(String keyword) {
+        return type == TokenType.WORD && regionEqualsIgnoreCase(text, start, end, keyword);
+    }
+
+    /**
+     * Check whether a word token at the given offsets is one of the keywords, ignoring case
+     */
+    public static boolean isWordIn(CharSequence text, int start, int end, String[] keywords) {
+        for (String keyword : keywords) {
+            if (regionEqualsIgnoreCase(text, start, end, keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ===== CLASSIFICATION =====
+
+    /**
+     * Classify a single statement. Leading comments and parentheses are skipped,
+     * a {@code WITH} clause resolves to the statement it introduces, and scanning
+     * stops as soon as the answer is known.
+     */
+    public static Classification classify(CharSequence sql) {
+        if (sql == null) {
+            return Classification.UNKNOWN;
+        }
+
+        SqlLexer lexer = new SqlLexer(sql);
+        boolean found = lexer.nextSignificant();
+        while (found && lexer.type == TokenType.OPEN_PAREN) {
+            found = lexer.nextSignificant(); // (SELECT ...) UNION (SELECT ...)
+        }
+        if (!found) {
+            return Classification.UNKNOWN;
+        }
+        if (lexer.type != TokenType.WORD) {
+            return new Classification("OTHER", false, null);
+        }
+
+        if (lexer.isWord("WITH") && !lexer.skipCommonTableExpressions()) {
+            return new Classification("OTHER", false, null);
+        }
+        return lexer.classifyVerb();
+    }
+
+    private Classification classifyVerb() {
+        if (isWord("VALUES") || isWord("TABLE")) {
+            return new Classification("SELECT", true, null); // row-returning query forms
+        }
+        if (isWord("SELECT")) {
+            return new Classification("SELECT", !scanForUpdateClause(), null);
+        }
+        if (isWord("INSERT") || isWord("MERGE")) {
+            String verb = isWord("INSERT") ? "INSERT" : "MERGE";
+            return new Classification(verb, false, readTableAfter("INTO"));
+        }
+        if (isWord("UPDATE")) {
+            return new Classification("UPDATE", false, readTableAfter(null));
+        }
+        if (isWord("DELETE")) {
+            return new Classification("DELETE", false, readTableAfter("FROM"));
+        }
+        if (isWord("EXPLAIN")) {
+            return classifyExplain();
+        }
+
+        for (String verb : KNOWN_VERBS) {
+            if (isWord(verb)) {
+                return new Classification(verb, isWordIn(text, start, end, READ_ONLY_VERBS), null);
+            }
+        }
+        return new Classification("OTHER", false, null);
+    }
+
+    /**
+     * Skip the CTE definitions of a WITH clause, leaving the cursor on the main verb
+     */
+    private boolean skipCommonTableExpressions() {
+        int depth = 0;
+        while (nextSignificant()) {
+            switch (type) {
+                case OPEN_PAREN -> depth++;
+                case CLOSE_PAREN -> depth--;
+                case WORD -> {
+                    if (depth == 0 && isWordIn(text, start, end, CTE_BODY_VERBS)) {
+                        return true;
+                    }
+                }
+                default -> { }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * EXPLAIN only plans the statement unless ANALYZE runs it
+     */
+    private Classification classifyExplain() {
+        boolean analyze = false;
+        while (nextSignificant() && (isWord("ANALYZE") || isWord("PLAN") || isWord("FOR"))) {
+            analyze |= isWord("ANALYZE");
+        }
+        if (!analyze) {
+            return new Classification("EXPLAIN", true, null);
+        }
+        if (isWord("WITH") && !skipCommonTableExpressions()) {
+            return new Classification("EXPLAIN", false, null);
+        }
+        return new Classification("EXPLAIN", classifyVerb().readOnly(), null);
+    }
+
+    /**
+     * SELECT ... FOR UPDATE takes row locks, so it is not treated as read-only
+     */
+    private boolean scanForUpdateClause() {
+        boolean afterFor = false;
+        while (nextSignificant()) {
+            if (afterFor && isWord("UPDATE")) {
+                return true;
+            }
+            afterFor = isWord("FOR");
+        }
+        return false;
+    }
+
+    /**
+     * Read the possibly qualified table name following the current verb
+     * @param preposition optional word between the verb and the table, e.g. INTO
+     */
+    private String readTableAfter(String preposition) {
+        if (!nextSignificant()) {
+            return null;
+        }
+        if (preposition != null && isWord(preposition) && !nextSignificant()) {
+            return null;
+        }
+
+        int nameStart = -1;
+        int nameEnd = -1;
+        boolean expectPart = true;
+        do {
+            if (expectPart && (type == TokenType.WORD || type == TokenType.QUOTED_IDENTIFIER)) {
+                if (nameStart < 0) nameStart = start;
+                nameEnd = end;
+                expectPart = false;
+            } else if (!expectPart && type == TokenType.PUNCTUATION && text.charAt(start) == '.') {
+                expectPart = true;
+            } else {
+                break;
+            }
+        } while (next());
+
+        return nameStart < 0 ? null : text.subSequence(nameStart, nameEnd).toString();
+    }
+
+    // ===== SCANNING =====
+
+    private int skipQuoted(char quote) {
+        int j = position + 1;
+        while (j < length) {
+            if (text.charAt(j) == quote) {
+                // A doubled quote is an escaped quote inside the literal
+                if (j + 1 < length && text.charAt(j + 1) == quote) {
+                    j += 2;
+                    continue;
+                }
+                return j + 1;
+            }
+            j++;
+        }
+        return length;
+    }
+
+    private int skipNumber() {
+        int j = position;
+        while (j < length && isDigit(text.charAt(j))) j++;
+        if (j < length && text.charAt(j) == '.') {
+            j++;
+            while (j < length && isDigit(text.charAt(j))) j++;
+        }
+        if (j < length && (text.charAt(j) == 'e' || text.charAt(j) == 'E')) {
+            int k = j + 1;
+            if (k < length && (text.charAt(k) == '+' || text.charAt(k) == '-')) k++;
+            if (k < length && isDigit(text.charAt(k))) {
+                j = k;
+                while (j < length && isDigit(text.charAt(j))) j++;
+            }
+        }
+        return j;
+    }
+
+    /**
+     * Offset just past the terminator, or the end of the text if it is unterminated
+     */
+    private int skipPast(char first, char second, int from) {
+        for (int j = from; j + 1 < length; j++) {
+            if (text.charAt(j) == first && text.charAt(j + 1) == second) {
+                return j + 2;
+            }
+        }
+        return length;
+    }
+
+    private static boolean regionEqualsIgnoreCase(CharSequence text, int start, int end, String keyword) {
+        if (end - start != keyword.length()) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            if (Character.toUpperCase(text.charAt(start + i)) != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWordPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    private static boolean isComparison(char c) {
+        return c == '=' || c == '<' || c == '>' || c == '!' || c == '|';
+    }
+}
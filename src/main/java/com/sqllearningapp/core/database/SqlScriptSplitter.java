@@ -0,0 +1,78 @@
+package com.sqllearningapp.core.database;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a SQL script into individual statements on top-level semicolons.
+ * Semicolons inside string literals, quoted identifiers, comments and
+ * {@code $$ ... $$} blocks do not end a statement. Statements consisting
+ * only of comments are dropped. Tokenizing is delegated to {@link SqlLexer}.
+ */
+public final class SqlScriptSplitter {
+
+    private SqlScriptSplitter() {
+    }
+
+    /**
+     * A statement and the 1-based line it starts on
+     */
+    public record ScriptStatement(String sql, int line) { }
+
+    public static List<String> split(String script) {
+        List<ScriptStatement> statements = splitWithLines(script);
+        List<String> sql = new ArrayList<>(statements.size());
+        for (ScriptStatement statement : statements) {
+            sql.add(statement.sql());
+        }
+        return sql;
+    }
+
+    public static List<ScriptStatement> splitWithLines(String script) {
+        List<ScriptStatement> statements = new ArrayList<>();
+        if (script == null || script.isEmpty()) {
+            return statements;
+        }
+
+        SqlLexer lexer = new SqlLexer(script);
+        int start = 0;          // first non-comment token of the current statement
+        int line = 1;
+        int startLine = 1;
+        boolean hasContent = false; // anything besides whitespace and comments
+
+        while (lexer.next()) {
+            SqlLexer.TokenType type = lexer.type();
+
+            if (type == SqlLexer.TokenType.SEMICOLON) {
+                addStatement(statements, script, start, lexer.start(), startLine, hasContent);
+                hasContent = false;
+            } else if (!hasContent && type != SqlLexer.TokenType.WHITESPACE
+                    && type != SqlLexer.TokenType.COMMENT) {
+                start = lexer.start(); // leading comments are not part of the statement
+                startLine = line;
+                hasContent = true;
+            }
+            line += countNewlines(script, lexer.start(), lexer.end());
+        }
+
+        addStatement(statements, script, start, script.length(), startLine, hasContent);
+        return statements;
+    }
+
+    private static void addStatement(List<ScriptStatement> statements, String script,
+                                     int start, int end, int line, boolean hasContent) {
+        if (hasContent) {
+            statements.add(new ScriptStatement(script.substring(start, end).strip(), line));
+        }
+    }
+
+    private static int countNewlines(String script, int from, int to) {
+        int count = 0;
+        for (int j = from; j < to; j++) {
+            if (script.charAt(j) == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,113 @@
+package com.sqllearningapp.core.database;
+
+import com.sqllearningapp.utils.ConfigManager;
+import lombok.Builder;
+import lombok.Data;
+
+import java.sql.*;
+
+/**
+ * JDBC statement settings applied per query type.
+ * Built from the tuning section of {@link ConfigManager.AppConfig}.
+ */
+@Data
+@Builder
+public class StatementTuning {
+
+    private static final int DEFAULT_QUERY_TIMEOUT_SECONDS = 30;
+    private static final int DEFAULT_SELECT_FETCH_SIZE = 1000;
+    private static final int DEFAULT_EXPORT_FETCH_SIZE = 10_000;
+
+    private int queryTimeoutSeconds;
+    private int selectFetchSize;
+    private int exportFetchSize;
+    private boolean forwardOnly;
+    private boolean readOnly;
+
+    public static StatementTuning defaults() {
+        return StatementTuning.builder()
+                .queryTimeoutSeconds(DEFAULT_QUERY_TIMEOUT_SECONDS)
+                .selectFetchSize(DEFAULT_SELECT_FETCH_SIZE)
+                .exportFetchSize(DEFAULT_EXPORT_FETCH_SIZE)
+                .forwardOnly(true)
+                .readOnly(true)
+                .build();
+    }
+
+    /**
+     * Resolve the current profile; non-positive values fall back to defaults
+     */
+    public static StatementTuning from(ConfigManager configManager) {
+        if (configManager == null) {
+            return defaults();
+        }
+
+        ConfigManager.AppConfig config = configManager.getConfig();
+        return StatementTuning.builder()
+                .queryTimeoutSeconds(positiveOr(config.getQueryTimeout(), DEFAULT_QUERY_TIMEOUT_SECONDS))
+                .selectFetchSize(positiveOr(config.getSelectFetchSize(), DEFAULT_SELECT_FETCH_SIZE))
+                .exportFetchSize(positiveOr(config.getExportFetchSize(), DEFAULT_EXPORT_FETCH_SIZE))
+                .forwardOnly(config.isForwardOnlyResults())
+                .readOnly(config.isReadOnlyResults())
+                .build();
+    }
+
+    /**
+     * Statement for SELECTs: cursor type, concurrency and fetch size from the profile
+     */
+    public PreparedStatement prepareSelect(Connection connection, String sql) throws SQLException {
+        return prepareQuery(connection, sql, selectFetchSize);
+    }
+
+    /**
+     * Statement for streaming exports: always forward-only and read-only with the larger fetch size
+     */
+    public PreparedStatement prepareExport(Connection connection, String sql) throws SQLException {
+        PreparedStatement stmt = connection.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        stmt.setFetchSize(exportFetchSize);
+        stmt.setFetchDirection(ResultSet.FETCH_FORWARD);
+        return stmt;
+    }
+
+    /**
+     * Statement for INSERT, UPDATE and DELETE; no cursor settings apply
+     */
+    public PreparedStatement prepareUpdate(Connection connection, String sql) throws SQLException {
+        PreparedStatement stmt = connection.prepareStatement(sql);
+        stmt.setQueryTimeout(queryTimeoutSeconds);
+        return stmt;
+    }
+
+    /**
+     * Statement for DDL and other statements; may still produce a result set
+     */
+    public Statement createStatement(Connection connection) throws SQLException {
+        Statement stmt = connection.createStatement(resultSetType(), resultSetConcurrency());
+        stmt.setQueryTimeout(queryTimeoutSeconds);
+        stmt.setFetchSize(selectFetchSize);
+        return stmt;
+    }
+
+    private PreparedStatement prepareQuery(Connection connection, String sql, int fetchSize) throws SQLException {
+        PreparedStatement stmt = connection.prepareStatement(sql, resultSetType(), resultSetConcurrency());
+        stmt.setQueryTimeout(queryTimeoutSeconds);
+        stmt.setFetchSize(fetchSize);
+        if (forwardOnly) {
+            stmt.setFetchDirection(ResultSet.FETCH_FORWARD);
+        }
+        return stmt;
+    }
+
+    private int resultSetType() {
+        return forwardOnly ? ResultSet.TYPE_FORWARD_ONLY : ResultSet.TYPE_SCROLL_INSENSITIVE;
+    }
+
+    private int resultSetConcurrency() {
+        return readOnly ? ResultSet.CONCUR_READ_ONLY : ResultSet.CONCUR_UPDATABLE;
+    }
+
+    private static int positiveOr(int value, int fallback) {
+        return value > 0 ? value : fallback;
+    }
+}
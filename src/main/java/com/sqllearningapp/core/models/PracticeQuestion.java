@@ -2,6 +2,9 @@ package com.sqllearningapp.core.models;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 /**
@@ -22,6 +25,12 @@ public class PracticeQuestion {
     private int points;
     private QueryResult expectedResult;
 
+    // Description, hint, example and solution of questions loaded from a question bank
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private QuestionContent content;
+
     // Enhanced difficulty levels
     public enum Difficulty {
         EASY("Easy", "#059669", 10),     // Green, 10 points
@@ -44,6 +53,22 @@ public class PracticeQuestion {
         public int getDefaultPoints() { return defaultPoints; }
     }
 
+    public String getDescription() {
+        return description != null || content == null ? description : content.getDescription();
+    }
+
+    public String getHint() {
+        return hint != null || content == null ? hint : content.getHint();
+    }
+
+    public String getExampleSql() {
+        return exampleSql != null || content == null ? exampleSql : content.getExampleSql();
+    }
+
+    public String getSolution() {
+        return solution != null || content == null ? solution : content.getSolution();
+    }
+
     public String getDifficultyDisplay() {
         return difficulty != null ? difficulty.getDisplayName() : "Unknown";
     }
@@ -2,6 +2,7 @@ package com.sqllearningapp.core.models;
 
 
 
+import com.sqllearningapp.core.database.ResultSpillFile;
 import lombok.Builder;
 import lombok.Data;
 import java.util.List;
@@ -11,7 +12,7 @@ import java.util.Map;
  * Represents the result of a SQL query execution
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class QueryResult {
     private boolean success;
     private String message;
@@ -20,6 +21,13 @@ public class QueryResult {
     private int rowCount;
     private long executionTimeMs;
     private String queryType; // SELECT, INSERT, UPDATE, DELETE, etc.
+    private boolean rolledBack; // DML preview: rows hold the post-statement table state
+    private long rowChecksum; // DML preview: order-independent hash over every row of the table
+    private String sql; // executed statement, used to re-run SELECTs for streaming export
+    private long totalRowCount; // all rows produced, including those spilled to disk
+    private ResultSpillFile spillFile; // rows beyond the in-memory page, null when everything fit
+    private boolean truncated; // the spill limit was reached and remaining rows were dropped
+    private boolean cached; // served from the result cache without running the statement
 
     public int getColumnCount() {
         return columnNames != null ? columnNames.size() : 0;
@@ -29,6 +37,20 @@ public class QueryResult {
         return rows == null || rows.isEmpty();
     }
 
+    public boolean hasSpilledRows() {
+        return spillFile != null && spillFile.getRowCount() > 0;
+    }
+
+    /**
+     * Delete rows spilled to disk, if any
+     */
+    public void releaseSpillFile() {
+        if (spillFile != null) {
+            spillFile.close();
+            spillFile = null;
+        }
+    }
+
     public Object getValueAt(int row, int column) {
         if (rows != null && row < rows.size() && column < getColumnCount()) {
             return rows.get(row).get(columnNames.get(column));
@@ -0,0 +1,15 @@
+package com.sqllearningapp.core.models;
+
+/**
+ * Large question text kept outside the heap and read when first needed
+ */
+public interface QuestionContent {
+
+    String getDescription();
+
+    String getHint();
+
+    String getExampleSql();
+
+    String getSolution();
+}
@@ -0,0 +1,256 @@
+package com.sqllearningapp.core.services;
+
+import com.sqllearningapp.core.database.EmbeddedDatabase;
+import com.sqllearningapp.core.database.QueryExecutor;
+import com.sqllearningapp.core.database.QueryResultCache;
+import com.sqllearningapp.core.database.SqlLexer;
+import com.sqllearningapp.core.database.SqlScriptSplitter;
+import com.sqllearningapp.core.models.PracticeQuestion;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Checks the answer being typed in the background. Each edit is debounced, then the
+ * statement is prepared for a syntax check on a separate practice connection. When it
+ * is a read-only SELECT and the question's solution is too, both are executed and
+ * compared ahead of time so that submitting the same text only has to record the result.
+ * Every edit cancels pending work and discards any stale speculative result.
+ */
+@Slf4j
+public class AnswerPrecheckService {
+
+    private static final long DEBOUNCE_MS = 400;
+
+    private final EmbeddedDatabase database;
+    private final QueryExecutionService executionService;
+    private final PracticeService practiceService;
+    private final ScheduledExecutorService executor;
+    private final AtomicLong generation = new AtomicLong();
+
+    private ScheduledFuture<?> pending;
+    private Speculation speculation;
+    private Connection sandbox; // only touched on the executor thread
+
+    public AnswerPrecheckService(EmbeddedDatabase database, QueryExecutionService executionService,
+                                 PracticeService practiceService) {
+        this.database = database;
+        this.executionService = executionService;
+        this.practiceService = practiceService;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "answer-precheck");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Outcome of the background syntax check
+     */
+    @Data
+    @Builder
+    public static class Precheck {
+        private String sql;
+        private boolean valid;
+        private String message;
+        private boolean graded; // a speculative evaluation is ready for submit
+    }
+
+    /**
+     * Speculative evaluation and the table versions it was computed against
+     */
+    private record Speculation(PracticeService.Evaluation evaluation,
+                               QueryResultCache.Fingerprint userFingerprint, QueryResultCache.Snapshot userSnapshot,
+                               QueryResultCache.Fingerprint expectedFingerprint, QueryResultCache.Snapshot expectedSnapshot) {
+    }
+
+    // ===== SCHEDULING =====
+
+    /**
+     * Check the editor text once typing pauses
+     * @param questionId current question, or null to only check syntax
+     * @param listener called on the background thread unless the text changed again
+     */
+    public void submit(String sql, String questionId, Consumer<Precheck> listener) {
+        schedule(sql, questionId, listener, DEBOUNCE_MS);
+    }
+
+    /**
+     * Check the text without waiting for typing to pause
+     */
+    public void checkNow(String sql, String questionId, Consumer<Precheck> listener) {
+        schedule(sql, questionId, listener, 0);
+    }
+
+    private synchronized void schedule(String sql, String questionId, Consumer<Precheck> listener, long delayMs) {
+        long current = generation.incrementAndGet();
+        if (pending != null) {
+            pending.cancel(false); // an in-flight statement finishes and is discarded below
+        }
+        discardSpeculation();
+
+        if (executor.isShutdown()) {
+            return;
+        }
+        pending = executor.schedule(() -> run(current, sql.trim(), questionId, listener),
+                delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Hand over the speculative evaluation if it matches the question and text
+     * and no table it read has been written since
+     */
+    public synchronized Optional<PracticeService.Evaluation> takeEvaluation(String questionId, String sql) {
+        Speculation taken = speculation;
+        speculation = null;
+        if (taken == null) {
+            return Optional.empty();
+        }
+
+        PracticeService.Evaluation evaluation = taken.evaluation();
+        if (questionId.equals(evaluation.getQuestionId()) && sql.trim().equals(evaluation.getUserQuery())
+                && isStillCurrent(taken)) {
+            return Optional.of(evaluation);
+        }
+        evaluation.release();
+        return Optional.empty();
+    }
+
+    public void shutdown() {
+        synchronized (this) {
+            generation.incrementAndGet();
+            if (pending != null) {
+                pending.cancel(false);
+            }
+            discardSpeculation();
+            // Closed as the executor's last task, after any check still using the sandbox
+            executor.execute(this::closeSandbox);
+            executor.shutdown();
+        }
+        try {
+            if (!executor.awaitTermination(2, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ===== BACKGROUND WORK =====
+
+    private void run(long current, String sql, String questionId, Consumer<Precheck> listener) {
+        if (sql.isEmpty() || current != generation.get()) {
+            return;
+        }
+        if (SqlScriptSplitter.split(sql).size() > 1) {
+            return; // scripts are checked statement by statement when executed
+        }
+
+        try {
+            Connection connection = getSandbox();
+            QueryExecutor.ValidationResult validation = executionService.validateSql(sql, connection);
+
+            Speculation result = null;
+            if (validation.isValid() && questionId != null && current == generation.get()) {
+                result = speculate(questionId, sql, connection);
+            }
+
+            synchronized (this) {
+                if (current != generation.get()) {
+                    if (result != null) result.evaluation().release();
+                    return;
+                }
+                speculation = result;
+            }
+
+            listener.accept(Precheck.builder()
+                    .sql(sql)
+                    .valid(validation.isValid())
+                    .message(validation.getMessage())
+                    .graded(result != null)
+                    .build());
+
+        } catch (Exception e) {
+            log.warn("Background answer check failed: {}", e.getMessage());
+        }
+    }
+
+    private Speculation speculate(String questionId, String sql, Connection connection) throws SQLException {
+        PracticeQuestion question = practiceService.getQuestionById(questionId);
+        if (question == null || !isSpeculative(sql) || !isSpeculative(question.getSolution())) {
+            return null;
+        }
+        // Uncommitted changes on the practice connection are invisible to the sandbox
+        if (!database.getPracticeConnection().getAutoCommit()) {
+            return null;
+        }
+
+        QueryResultCache cache = database.getPracticeResultCache();
+        QueryResultCache.Fingerprint userFingerprint = QueryResultCache.fingerprint(sql);
+        QueryResultCache.Fingerprint expectedFingerprint = QueryResultCache.fingerprint(question.getSolution());
+        QueryResultCache.Snapshot userSnapshot = cache.snapshot(userFingerprint);
+        QueryResultCache.Snapshot expectedSnapshot = cache.snapshot(expectedFingerprint);
+
+        PracticeService.Evaluation evaluation = practiceService.evaluateReadOnly(questionId, sql, connection);
+        if (evaluation == null) {
+            return null;
+        }
+        return new Speculation(evaluation, userFingerprint, userSnapshot, expectedFingerprint, expectedSnapshot);
+    }
+
+    /**
+     * Only deterministic read-only SELECTs give the same answer when run again on submit
+     */
+    private boolean isSpeculative(String sql) {
+        SqlLexer.Classification classification = SqlLexer.classify(sql);
+        return "SELECT".equals(classification.queryType()) && classification.readOnly()
+                && QueryResultCache.fingerprint(sql).cacheable();
+    }
+
+    private boolean isStillCurrent(Speculation taken) {
+        try {
+            Connection connection = database.getPracticeConnection();
+            QueryResultCache cache = database.getPracticeResultCache();
+            return connection.getAutoCommit()
+                    && cache.isUnchanged(taken.userFingerprint(), taken.userSnapshot(), connection)
+                    && cache.isUnchanged(taken.expectedFingerprint(), taken.expectedSnapshot(), connection);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discardSpeculation() {
+        if (speculation != null) {
+            speculation.evaluation().release();
+            speculation = null;
+        }
+    }
+
+    private Connection getSandbox() throws SQLException {
+        if (sandbox == null || sandbox.isClosed()) {
+            sandbox = database.openPracticeConnection();
+        }
+        return sandbox;
+    }
+
+    private void closeSandbox() {
+        try {
+            if (sandbox != null) {
+                sandbox.close();
+            }
+        } catch (SQLException e) {
+            log.debug("Failed to close precheck connection: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package com.sqllearningapp.core.services;
+
+import com.sqllearningapp.core.database.CsvRecordReader;
+import com.sqllearningapp.core.database.EmbeddedDatabase;
+import com.sqllearningapp.core.models.PracticeQuestion;
+import com.sqllearningapp.core.models.QueryResult;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Grades a whole class of submissions at once. Each worker owns a private in-memory
+ * copy of the practice database, so submissions run in parallel without seeing each
+ * other's changes or touching the learner's practice connection and statistics.
+ * Expected results are computed once per question and shared by all workers.
+ * Input is streamed, and report lines are written as soon as a submission is graded.
+ */
+@Slf4j
+public class BatchGradingService {
+
+    private static final int MAX_SANDBOXES = 8;
+    private static final int IN_FLIGHT_PER_SANDBOX = 4; // bounds how much input is held in memory
+    private static final String REPORT_HEADER = "seq,student,question_id,correct,points,execution_ms,message";
+
+    private final EmbeddedDatabase database;
+    private final QueryExecutionService executionService;
+    private final PracticeService practiceService;
+    private final int sandboxCount;
+
+    public BatchGradingService(EmbeddedDatabase database, QueryExecutionService executionService,
+                               PracticeService practiceService) {
+        this(database, executionService, practiceService,
+                Math.min(Runtime.getRuntime().availableProcessors(), MAX_SANDBOXES));
+    }
+
+    public BatchGradingService(EmbeddedDatabase database, QueryExecutionService executionService,
+                               PracticeService practiceService, int sandboxCount) {
+        this.database = database;
+        this.executionService = executionService;
+        this.practiceService = practiceService;
+        this.sandboxCount = Math.max(1, sandboxCount);
+    }
+
+    /**
+     * One student's answer to one question
+     */
+    public record Submission(String student, String questionId, String sql) {
+    }
+
+    /**
+     * Stream of submissions; returns null when exhausted
+     */
+    @FunctionalInterface
+    public interface SubmissionSource {
+        Submission next() throws IOException;
+    }
+
+    /**
+     * Called from worker threads; the input is streamed, so the total is not known upfront
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(long graded, long submitted);
+    }
+
+    // ===== GRADING =====
+
+    /**
+     * Grade a CSV file with student, question_id and sql columns, or a directory
+     * laid out as {@code <student>/<questionId>.sql}
+     */
+    public BatchReport gradeFile(Path input, Path reportFile, ProgressListener listener)
+            throws IOException, SQLException, InterruptedException {
+        if (Files.isDirectory(input)) {
+            return grade(directorySource(input), reportFile, listener);
+        }
+
+        char delimiter = CsvRecordReader.detectDelimiter(input);
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ);
+             Reader reader = CsvRecordReader.newReader(channel)) {
+            return grade(csvSource(new CsvRecordReader(reader, delimiter)), reportFile, listener);
+        }
+    }
+
+    /**
+     * Grade submissions in parallel and stream one report line per submission.
+     * Lines are written in completion order; the seq column gives the input order.
+     */
+    public BatchReport grade(SubmissionSource source, Path reportFile, ProgressListener listener)
+            throws IOException, SQLException, InterruptedException {
+        long start = System.nanoTime();
+        List<String> script = database.scriptPracticeDatabase();
+        String batchId = Long.toString(System.nanoTime(), 36);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(sandboxCount, r -> {
+            Thread thread = new Thread(r, "batch-grader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        BlockingQueue<Connection> sandboxes = new ArrayBlockingQueue<>(sandboxCount);
+        Map<String, FutureTask<QueryResult>> expectedResults = new ConcurrentHashMap<>();
+
+        int maxInFlight = sandboxCount * IN_FLIGHT_PER_SANDBOX;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicLong graded = new AtomicLong();
+        AtomicLong correct = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong submitted = new AtomicLong();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        try (ReportWriter report = new ReportWriter(reportFile)) {
+            try {
+                openSandboxes(workers, sandboxes, batchId, script);
+
+                Submission submission;
+                while (failure.get() == null && (submission = source.next()) != null) {
+                    inFlight.acquire();
+                    long seq = submitted.incrementAndGet();
+                    Submission current = submission;
+                    workers.execute(() -> {
+                        Connection sandbox = sandboxes.poll(); // one sandbox per worker thread
+                        try {
+                            GradedSubmission result = gradeOne(seq, current, sandbox, expectedResults);
+                            if (result.correct) correct.incrementAndGet();
+                            if (result.error) errors.incrementAndGet();
+                            report.write(result);
+                        } catch (Exception e) {
+                            failure.compareAndSet(null, e);
+                        } finally {
+                            sandboxes.add(sandbox);
+                            inFlight.release();
+                            long done = graded.incrementAndGet();
+                            if (listener != null) listener.onProgress(done, submitted.get());
+                        }
+                    });
+                }
+            } finally {
+                // Wait for the last submissions, also when reading failed, so none writes
+                // to a closed report or still holds a sandbox when they are closed
+                inFlight.acquireUninterruptibly(maxInFlight);
+            }
+
+            if (failure.get() != null) {
+                throw new IOException("Batch grading stopped: " + failure.get().getMessage(), failure.get());
+            }
+        } finally {
+            workers.shutdownNow();
+            closeSandboxes(sandboxes);
+            releaseExpectedResults(expectedResults);
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        BatchReport batchReport = BatchReport.builder()
+                .submissions(submitted.get())
+                .correct(correct.get())
+                .errors(errors.get())
+                .sandboxes(sandboxCount)
+                .elapsedMs(elapsedMs)
+                .reportFile(reportFile)
+                .build();
+        log.info("Graded {} submissions in {} ms ({} per minute) with {} sandboxes",
+                submitted.get(), elapsedMs, Math.round(batchReport.getSubmissionsPerMinute()), sandboxCount);
+        return batchReport;
+    }
+
+    private GradedSubmission gradeOne(long seq, Submission submission, Connection sandbox,
+                                      Map<String, FutureTask<QueryResult>> expectedResults)
+            throws InterruptedException, ExecutionException {
+        PracticeQuestion question = practiceService.getQuestionById(submission.questionId());
+        if (question == null) {
+            return GradedSubmission.error(seq, submission, 0, "Unknown question");
+        }
+        if (submission.sql() == null || submission.sql().isBlank()) {
+            return GradedSubmission.error(seq, submission, 0, "Empty submission");
+        }
+
+        QueryResult expectedResult = expectedResult(question, sandbox, expectedResults);
+        if (!expectedResult.isSuccess()) {
+            return GradedSubmission.error(seq, submission, 0,
+                    "Solution failed: " + expectedResult.getMessage());
+        }
+
+        long start = System.nanoTime();
+        QueryResult userResult = executionService.executeInSandbox(sandbox, submission.sql().trim());
+        long executionMs = (System.nanoTime() - start) / 1_000_000;
+        try {
+            if (!userResult.isSuccess()) {
+                return GradedSubmission.error(seq, submission, executionMs, userResult.getMessage());
+            }
+
+            PracticeService.Evaluation evaluation = practiceService.compare(
+                    question.getId(), submission.sql(), userResult, expectedResult);
+            return new GradedSubmission(seq, submission, evaluation.isCorrect(), false,
+                    evaluation.isCorrect() ? question.getDefaultPoints() : 0, executionMs,
+                    evaluation.isCorrect() ? "Correct" : evaluation.getDiff().getSummary());
+        } finally {
+            userResult.releaseSpillFile(); // expected results stay shared until the batch ends
+        }
+    }
+
+    /**
+     * Expected result for a question, computed by the first worker that needs it
+     */
+    private QueryResult expectedResult(PracticeQuestion question, Connection sandbox,
+                                       Map<String, FutureTask<QueryResult>> expectedResults)
+            throws InterruptedException, ExecutionException {
+        FutureTask<QueryResult> task = new FutureTask<>(
+                () -> executionService.executeInSandbox(sandbox, question.getSolution()));
+        FutureTask<QueryResult> existing = expectedResults.putIfAbsent(question.getId(), task);
+        if (existing == null) {
+            task.run();
+            existing = task;
+        }
+        return existing.get();
+    }
+
+    // ===== SANDBOXES =====
+
+    private void openSandboxes(ExecutorService workers, BlockingQueue<Connection> sandboxes,
+                               String batchId, List<String> script) throws SQLException, InterruptedException {
+        List<Future<Connection>> opening = new ArrayList<>();
+        for (int i = 0; i < sandboxCount; i++) {
+            String name = "batch_" + batchId + "_" + i;
+            opening.add(workers.submit(() -> database.openSandbox(name, script)));
+        }
+        SQLException failure = null;
+        for (Future<Connection> future : opening) {
+            try {
+                sandboxes.add(future.get());
+            } catch (ExecutionException e) {
+                failure = e.getCause() instanceof SQLException sqlException ?
+                        sqlException : new SQLException("Failed to open sandbox", e.getCause());
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void closeSandboxes(BlockingQueue<Connection> sandboxes) {
+        Connection sandbox;
+        while ((sandbox = sandboxes.poll()) != null) {
+            try {
+                sandbox.close();
+            } catch (SQLException e) {
+                log.debug("Failed to close grading sandbox: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void releaseExpectedResults(Map<String, FutureTask<QueryResult>> expectedResults) {
+        for (FutureTask<QueryResult> task : expectedResults.values()) {
+            if (task.isDone() && !task.isCancelled()) {
+                try {
+                    task.get().releaseSpillFile();
+                } catch (ExecutionException | InterruptedException ignored) {
+                    // nothing was produced
+                }
+            }
+        }
+    }
+
+    // ===== INPUT =====
+
+    /**
+     * Submissions from a delimited file; the header names the columns
+     */
+    static SubmissionSource csvSource(CsvRecordReader reader) throws IOException {
+        List<String> header = reader.next();
+        if (header == null) {
+            return () -> null;
+        }
+
+        int studentColumn = -1, questionColumn = -1, sqlColumn = -1;
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "");
+            switch (name) {
+                case "student", "studentid", "user" -> studentColumn = i;
+                case "questionid", "question" -> questionColumn = i;
+                case "sql", "query", "answer" -> sqlColumn = i;
+                default -> { }
+            }
+        }
+        if (studentColumn < 0 || questionColumn < 0 || sqlColumn < 0) {
+            throw new IOException("Expected student, question_id and sql columns but found " + header);
+        }
+
+        int student = studentColumn, question = questionColumn, sql = sqlColumn;
+        int width = Math.max(student, Math.max(question, sql));
+        return () -> {
+            List<String> record;
+            do {
+                record = reader.next();
+            } while (record != null && record.size() <= width); // skip blank and short lines
+            return record == null ? null :
+                    new Submission(record.get(student).trim(), record.get(question).trim(), record.get(sql));
+        };
+    }
+
+    /**
+     * Submissions from {@code <student>/<questionId>.sql} files; files are read one at a time
+     */
+    static SubmissionSource directorySource(Path directory) throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(directory, 2)) {
+            files = paths.filter(path -> path.getNameCount() - directory.getNameCount() == 2)
+                    .filter(path -> path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".sql"))
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .toList();
+        }
+
+        Iterator<Path> iterator = files.iterator();
+        return () -> {
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            Path file = iterator.next();
+            String fileName = file.getFileName().toString();
+            return new Submission(file.getParent().getFileName().toString(),
+                    fileName.substring(0, fileName.length() - ".sql".length()),
+                    Files.readString(file, StandardCharsets.UTF_8));
+        };
+    }
+
+    // ===== REPORT =====
+
+    private record GradedSubmission(long seq, Submission submission, boolean correct, boolean error,
+                                    int points, long executionMs, String message) {
+
+        static GradedSubmission error(long seq, Submission submission, long executionMs, String message) {
+            return new GradedSubmission(seq, submission, false, true, 0, executionMs, message);
+        }
+    }
+
+    /**
+     * Report lines from all workers, serialized through one buffered writer
+     */
+    private static class ReportWriter implements AutoCloseable {
+        private final BufferedWriter writer;
+
+        ReportWriter(Path file) throws IOException {
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            writer.write(REPORT_HEADER);
+            writer.newLine();
+        }
+
+        synchronized void write(GradedSubmission graded) throws IOException {
+            writer.write(Long.toString(graded.seq()));
+            writer.write(',');
+            writer.write(quote(graded.submission().student()));
+            writer.write(',');
+            writer.write(quote(graded.submission().questionId()));
+            writer.write(',');
+            writer.write(Boolean.toString(graded.correct()));
+            writer.write(',');
+            writer.write(Integer.toString(graded.points()));
+            writer.write(',');
+            writer.write(Long.toString(graded.executionMs()));
+            writer.write(',');
+            writer.write(quote(graded.message()));
+            writer.newLine();
+        }
+
+        private static String quote(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    @Data
+    @Builder
+    public static class BatchReport {
+        private long submissions;
+        private long correct;
+        private long errors; // unknown questions and statements that failed to run
+        private int sandboxes;
+        private long elapsedMs;
+        private Path reportFile;
+
+        public double getSubmissionsPerMinute() {
+            return elapsedMs == 0 ? submissions * 60_000.0 : submissions * 60_000.0 / elapsedMs;
+        }
+    }
+}
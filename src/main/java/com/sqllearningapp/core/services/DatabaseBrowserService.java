@@ -1,6 +1,7 @@
 package com.sqllearningapp.core.services;
 
 import com.sqllearningapp.core.database.EmbeddedDatabase;
+import com.sqllearningapp.core.database.QueryStatistics;
 import lombok.Builder;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
@@ -10,52 +11,68 @@ import java.util.*;
 
 /**
  * Database Browser Service - Provides database exploration functionality
- * Preserves your original database browser features with enhancements
+ * Preserves your original database browser features with enhancements.
+ * Lookups run under the shared execution service's concurrency limit.
  */
 @Slf4j
 public class DatabaseBrowserService {
 
     private final EmbeddedDatabase database;
+    private final QueryExecutionService executionService;
 
-    public DatabaseBrowserService(EmbeddedDatabase database) {
+    public DatabaseBrowserService(EmbeddedDatabase database, QueryExecutionService executionService) {
         this.database = database;
+        this.executionService = executionService;
     }
 
     /**
      * Get all tables in the practice database
      */
     public List<TableInfo> getAllTables() {
+        return getAllTables(true);
+    }
+
+    /**
+     * Get all tables in the practice database; without row counts only metadata is read,
+     * so no table is scanned
+     */
+    public List<TableInfo> getAllTables(boolean includeRowCounts) {
         List<TableInfo> tables = new ArrayList<>();
 
         try {
-            Connection connection = database.getPracticeConnection();
-            DatabaseMetaData metaData = connection.getMetaData();
-
-            try (ResultSet rs = metaData.getTables(null, null, "%", new String[]{"TABLE"})) {
-                while (rs.next()) {
-                    String tableName = rs.getString("TABLE_NAME");
-
-                    // Skip system tables
-                    if (!tableName.startsWith("INFORMATION_SCHEMA") &&
-                            !tableName.startsWith("SYS_") &&
-                            !tableName.startsWith("SYSTEM_")) {
-
-                        TableInfo tableInfo = TableInfo.builder()
-                                .name(tableName)
-                                .type(rs.getString("TABLE_TYPE"))
-                                .schema(rs.getString("TABLE_SCHEM"))
-                                .remarks(rs.getString("REMARKS"))
-                                .columns(getTableColumns(tableName))
-                                .rowCount(getTableRowCount(tableName))
-                                .build();
-
-                        tables.add(tableInfo);
+            return executionService.call(() -> {
+                Connection connection = database.getPracticeConnection();
+                DatabaseMetaData metaData = connection.getMetaData();
+
+                try (ResultSet rs = metaData.getTables(null, null, "%", new String[]{"TABLE"})) {
+                    while (rs.next()) {
+                        String tableName = rs.getString("TABLE_NAME");
+
+                        // Skip system tables and the query statistics mirror
+                        String schema = rs.getString("TABLE_SCHEM");
+                        if (!QueryStatistics.STATS_SCHEMA.equals(schema) &&
+                                !"INFORMATION_SCHEMA".equals(schema) &&
+                                !tableName.startsWith("INFORMATION_SCHEMA") &&
+                                !tableName.startsWith("SYS_") &&
+                                !tableName.startsWith("SYSTEM_")) {
+
+                            TableInfo tableInfo = TableInfo.builder()
+                                    .name(tableName)
+                                    .type(rs.getString("TABLE_TYPE"))
+                                    .schema(rs.getString("TABLE_SCHEM"))
+                                    .remarks(rs.getString("REMARKS"))
+                                    .columns(getTableColumns(tableName))
+                                    .rowCount(includeRowCounts ? getTableRowCount(tableName) : 0)
+                                    .build();
+
+                            tables.add(tableInfo);
+                        }
                     }
                 }
-            }
 
-            log.debug("Found {} tables in practice database", tables.size());
-            return tables;
+                log.debug("Found {} tables in practice database", tables.size());
+                return tables;
+            });
 
         } catch (SQLException e) {
             log.error("Error retrieving table list", e);
@@ -68,25 +85,28 @@ public class DatabaseBrowserService {
      */
     public TableInfo getTableInfo(String tableName) {
         try {
-            Connection connection = database.getPracticeConnection();
-            DatabaseMetaData metaData = connection.getMetaData();
-
-            // Get basic table info
-            try (ResultSet rs = metaData.getTables(null, null, tableName, new String[]{"TABLE"})) {
-                if (rs.next()) {
-                    return TableInfo.builder()
-                            .name(tableName)
-                            .type(rs.getString("TABLE_TYPE"))
-                            .schema(rs.getString("TABLE_SCHEM"))
-                            .remarks(rs.getString("REMARKS"))
-                            .columns(getTableColumns(tableName))
-                            .foreignKeys(getTableForeignKeys(tableName))
-                            .primaryKeys(getTablePrimaryKeys(tableName))
-                            .indexes(getTableIndexes(tableName))
-                            .rowCount(getTableRowCount(tableName))
-                            .build();
+            return executionService.call(() -> {
+                Connection connection = database.getPracticeConnection();
+                DatabaseMetaData metaData = connection.getMetaData();
+
+                // Get basic table info
+                try (ResultSet rs = metaData.getTables(null, null, tableName, new String[]{"TABLE"})) {
+                    if (rs.next()) {
+                        return TableInfo.builder()
+                                .name(tableName)
+                                .type(rs.getString("TABLE_TYPE"))
+                                .schema(rs.getString("TABLE_SCHEM"))
+                                .remarks(rs.getString("REMARKS"))
+                                .columns(getTableColumns(tableName))
+                                .foreignKeys(getTableForeignKeys(tableName))
+                                .primaryKeys(getTablePrimaryKeys(tableName))
+                                .indexes(getTableIndexes(tableName))
+                                .rowCount(getTableRowCount(tableName))
+                                .build();
+                    }
                 }
-            }
+                return null;
+            });
         } catch (SQLException e) {
             log.error("Error retrieving table info for: {}", tableName, e);
         }
@@ -246,27 +266,30 @@ public class DatabaseBrowserService {
         List<Map<String, Object>> sampleData = new ArrayList<>();
 
         try {
-            Connection connection = database.getPracticeConnection();
-            String sql = "SELECT * FROM " + tableName + " LIMIT " + limit;
+            return executionService.call(() -> {
+                Connection connection = database.getPracticeConnection();
+                String sql = "SELECT * FROM " + tableName + " LIMIT " + limit;
 
-            try (Statement stmt = connection.createStatement();
-                 ResultSet rs = stmt.executeQuery(sql)) {
+                try (Statement stmt = connection.createStatement();
+                     ResultSet rs = stmt.executeQuery(sql)) {
 
-                ResultSetMetaData metaData = rs.getMetaData();
-                int columnCount = metaData.getColumnCount();
+                    ResultSetMetaData metaData = rs.getMetaData();
+                    int columnCount = metaData.getColumnCount();
 
-                while (rs.next()) {
-                    Map<String, Object> row = new LinkedHashMap<>();
+                    while (rs.next()) {
+                        Map<String, Object> row = new LinkedHashMap<>();
 
-                    for (int i = 1; i <= columnCount; i++) {
-                        String columnName = metaData.getColumnName(i);
-                        Object value = rs.getObject(i);
-                        row.put(columnName, value);
-                    }
+                        for (int i = 1; i <= columnCount; i++) {
+                            String columnName = metaData.getColumnName(i);
+                            Object value = rs.getObject(i);
+                            row.put(columnName, value);
+                        }
 
-                    sampleData.add(row);
+                        sampleData.add(row);
+                    }
                 }
-            }
+                return sampleData;
+            });
 
         } catch (SQLException e) {
             log.error("Error retrieving sample data from table: {}", tableName, e);
@@ -1,7 +1,6 @@
 package com.sqllearningapp.core.services;
 
 import com.sqllearningapp.core.models.LearningTopic;
-import javafx.scene.control.TreeItem;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDateTime;
@@ -15,19 +14,40 @@ import java.util.concurrent.ConcurrentHashMap;
 @Slf4j
 public class LearningContentService {
 
+    // Topic tree structure (exactly as in your original)
+    private static final List<TopicGroup> TOPIC_OUTLINE = List.of(
+            new TopicGroup("Data Definition Language (DDL)", List.of(
+                    "Introduction to DDL", "CREATE TABLE", "ALTER TABLE", "DROP TABLE", "Constraints")),
+            new TopicGroup("Data Manipulation Language (DML)", List.of(
+                    "Introduction to DML", "SELECT Statement", "INSERT Statement", "UPDATE Statement",
+                    "DELETE Statement", "Joins", "Subqueries")),
+            new TopicGroup("Data Control Language (DCL)", List.of(
+                    "Introduction to DCL", "GRANT Statement", "REVOKE Statement")),
+            new TopicGroup("Transaction Control Language (TCL)", List.of(
+                    "Introduction to TCL", "COMMIT", "ROLLBACK", "SAVEPOINT")),
+            new TopicGroup("Database Normalization", List.of(
+                    "Database Normalization", "First Normal Form (1NF)", "Second Normal Form (2NF)",
+                    "Third Normal Form (3NF)", "BCNF"))
+    );
+
     private final Map<String, String> topicContent;
     private final Map<String, LearningTopic> topicMetadata;
     private final Map<String, Integer> topicProgress;
     private final List<String> topicOrder;
+    private final Map<String, Integer> topicPositions; // topic -> index in topicOrder
+    private final TextIndex topicIndex;
 
     public LearningContentService() {
         this.topicContent = new ConcurrentHashMap<>();
         this.topicMetadata = new ConcurrentHashMap<>();
         this.topicProgress = new ConcurrentHashMap<>();
         this.topicOrder = new ArrayList<>();
+        this.topicPositions = new HashMap<>();
+        this.topicIndex = new TextIndex();
 
         initializeContent();
         initializeMetadata();
+        buildSearchIndex();
 
         log.info("Learning content service initialized with {} topics", topicContent.size());
     }
@@ -144,69 +164,23 @@ public class LearningContentService {
                 "Database Normalization", "First Normal Form (1NF)", "Second Normal Form (2NF)",
                 "Third Normal Form (3NF)", "BCNF"
         ));
+        for (int i = 0; i < topicOrder.size(); i++) {
+            topicPositions.putIfAbsent(topicOrder.get(i), i);
+        }
+    }
+
+    /**
+     * Categories and their topics in display order; plain data, so the topic tree can be
+     * built from it off the FX thread
+     */
+    public List<TopicGroup> getTopicOutline() {
+        return TOPIC_OUTLINE;
     }
 
     /**
-     * Get the learning topics tree structure (exactly as in your original)
+     * A category of the topic tree and the topics under it
      */
-    public TreeItem<String> getLearningTopicsTree() {
-        TreeItem<String> root = new TreeItem<>("SQL Learning");
-
-        // DDL Section
-        TreeItem<String> ddlNode = new TreeItem<>("Data Definition Language (DDL)");
-        ddlNode.getChildren().addAll(
-                new TreeItem<>("Introduction to DDL"),
-                new TreeItem<>("CREATE TABLE"),
-                new TreeItem<>("ALTER TABLE"),
-                new TreeItem<>("DROP TABLE"),
-                new TreeItem<>("Constraints")
-        );
-
-        // DML Section
-        TreeItem<String> dmlNode = new TreeItem<>("Data Manipulation Language (DML)");
-        dmlNode.getChildren().addAll(
-                new TreeItem<>("Introduction to DML"),
-                new TreeItem<>("SELECT Statement"),
-                new TreeItem<>("INSERT Statement"),
-                new TreeItem<>("UPDATE Statement"),
-                new TreeItem<>("DELETE Statement"),
-                new TreeItem<>("Joins"),
-                new TreeItem<>("Subqueries")
-        );
-
-        // DCL Section
-        TreeItem<String> dclNode = new TreeItem<>("Data Control Language (DCL)");
-        dclNode.getChildren().addAll(
-                new TreeItem<>("Introduction to DCL"),
-                new TreeItem<>("GRANT Statement"),
-                new TreeItem<>("REVOKE Statement")
-        );
-
-        // TCL Section
-        TreeItem<String> tclNode = new TreeItem<>("Transaction Control Language (TCL)");
-        tclNode.getChildren().addAll(
-                new TreeItem<>("Introduction to TCL"),
-                new TreeItem<>("COMMIT"),
-                new TreeItem<>("ROLLBACK"),
-                new TreeItem<>("SAVEPOINT")
-        );
-
-        // Normalization Section
-        TreeItem<String> normalizationNode = new TreeItem<>("Database Normalization");
-        normalizationNode.getChildren().addAll(
-                new TreeItem<>("Database Normalization"),
-                new TreeItem<>("First Normal Form (1NF)"),
-                new TreeItem<>("Second Normal Form (2NF)"),
-                new TreeItem<>("Third Normal Form (3NF)"),
-                new TreeItem<>("BCNF")
-        );
-
-        root.getChildren().addAll(ddlNode, dmlNode, dclNode, tclNode, normalizationNode);
-
-        // Expand all nodes by default (preserving your original behavior)
-        expandTreeView(root);
-
-        return root;
+    public record TopicGroup(String name, List<String> topics) {
     }
 
     /**
@@ -221,11 +195,33 @@ public class LearningContentService {
         return createNotFoundContent(topic);
     }
 
+    /**
+     * Topic names in reading order
+     */
+    public List<String> getTopicNames() {
+        return List.copyOf(topicOrder);
+    }
+
+    /**
+     * Visible text of a topic, without counting it as viewed
+     */
+    public String getTopicText(String topic) {
+        return TextIndex.plainText(topicContent.get(topic));
+    }
+
+    /**
+     * Index of a topic in reading order, or -1
+     */
+    public int getTopicPosition(String topic) {
+        Integer position = topic == null ? null : topicPositions.get(topic);
+        return position != null ? position : -1;
+    }
+
     /**
      * Enhanced navigation methods
      */
     public String getNextTopic(String currentTopic) {
-        int currentIndex = topicOrder.indexOf(currentTopic);
+        int currentIndex = getTopicPosition(currentTopic);
         if (currentIndex >= 0 && currentIndex < topicOrder.size() - 1) {
             return topicOrder.get(currentIndex + 1);
         }
@@ -233,7 +229,7 @@ public class LearningContentService {
     }
 
     public String getPreviousTopic(String currentTopic) {
-        int currentIndex = topicOrder.indexOf(currentTopic);
+        int currentIndex = getTopicPosition(currentTopic);
         if (currentIndex > 0) {
             return topicOrder.get(currentIndex - 1);
         }
@@ -264,6 +260,13 @@ public class LearningContentService {
         return topicProgress.containsKey(topic) && topicProgress.get(topic) > 0;
     }
 
+    /**
+     * Copy of the view count of every viewed topic
+     */
+    public Map<String, Integer> getTopicViewCounts() {
+        return new HashMap<>(topicProgress);
+    }
+
     public Set<String> getViewedTopics() {
         return new HashSet<>(topicProgress.keySet());
     }
@@ -273,29 +276,31 @@ public class LearningContentService {
     }
 
     /**
-     * Search functionality
+     * Search functionality: topic names ranked by relevance
      */
     public List<String> searchTopics(String query) {
+        return findTopics(query, Integer.MAX_VALUE).stream()
+                .map(TextIndex.Hit::key)
+                .toList();
+    }
+
+    /**
+     * Ranked topic matches with the terms to highlight
+     */
+    public List<TextIndex.Hit> findTopics(String query, int limit) {
         if (query == null || query.trim().isEmpty()) {
             return new ArrayList<>();
         }
-
-        String lowercaseQuery = query.toLowerCase();
-        return topicContent.entrySet().stream()
-                .filter(entry ->
-                        entry.getKey().toLowerCase().contains(lowercaseQuery) ||
-                                entry.getValue().toLowerCase().contains(lowercaseQuery)
-                )
-                .map(Map.Entry::getKey)
-                .sorted()
-                .toList();
+        return topicIndex.search(query, limit);
     }
 
-    private void expandTreeView(TreeItem<String> item) {
-        if (item != null && !item.isLeaf()) {
-            item.setExpanded(true);
-            item.getChildren().forEach(this::expandTreeView);
-        }
+    /**
+     * Index the visible text of every topic, with the topic name as title
+     */
+    private void buildSearchIndex() {
+        long start = System.nanoTime();
+        topicContent.keySet().forEach(topic -> topicIndex.put(topic, topic, getTopicText(topic)));
+        log.debug("Indexed {} topics for search in {} ms", topicIndex.size(), (System.nanoTime() - start) / 1_000_000);
     }
 
     // ===== ALL YOUR EXISTING CONTENT CREATION METHODS (PRESERVED EXACTLY) =====
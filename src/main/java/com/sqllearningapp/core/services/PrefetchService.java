@@ -0,0 +1,169 @@
+package com.sqllearningapp.core.services;
+
+import com.sqllearningapp.core.database.EmbeddedDatabase;
+import com.sqllearningapp.core.models.PracticeQuestion;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Warms what the user is likely to open next while they read: the topics before and
+ * after the current one, and the neighbouring questions in the visible list. Topic
+ * pages and question descriptions are rendered through hooks set by the UI; expected
+ * results of read-only solutions are run into the practice result cache, so grading
+ * the next question starts from a cache hit. Work runs on one low-priority thread and
+ * each new position supersedes work still queued for the old one.
+ */
+@Slf4j
+public class PrefetchService {
+
+    private final EmbeddedDatabase database;
+    private final QueryExecutionService executionService;
+    private final LearningContentService learningContentService;
+    private final ExecutorService executor;
+    private final AtomicLong topicGeneration = new AtomicLong();
+    private final AtomicLong questionGeneration = new AtomicLong();
+
+    private volatile BiConsumer<String, String> topicRenderer = (topic, content) -> { };
+    private volatile Consumer<PracticeQuestion> questionRenderer = question -> { };
+    private Connection connection; // only touched on the executor thread
+
+    public PrefetchService(EmbeddedDatabase database, QueryExecutionService executionService,
+                           LearningContentService learningContentService) {
+        this.database = database;
+        this.executionService = executionService;
+        this.learningContentService = learningContentService;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "prefetch");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * Called off the FX thread with a topic name and its content to render ahead of time
+     */
+    public void setTopicRenderer(BiConsumer<String, String> topicRenderer) {
+        this.topicRenderer = topicRenderer;
+    }
+
+    /**
+     * Called off the FX thread with a question whose description should be rendered ahead of time
+     */
+    public void setQuestionRenderer(Consumer<PracticeQuestion> questionRenderer) {
+        this.questionRenderer = questionRenderer;
+    }
+
+    // ===== PREFETCHING =====
+
+    /**
+     * Warm the topics before and after the one being read
+     */
+    public void prefetchTopicsAround(String topic) {
+        if (topic == null) {
+            return;
+        }
+        long current = topicGeneration.incrementAndGet();
+        executor.execute(() -> {
+            for (String neighbour : new String[]{
+                    learningContentService.getNextTopic(topic),
+                    learningContentService.getPreviousTopic(topic)}) {
+                if (neighbour == null || current != topicGeneration.get()) {
+                    continue;
+                }
+                try {
+                    topicRenderer.accept(neighbour, learningContentService.getTopicContent(neighbour));
+                } catch (Exception e) {
+                    log.debug("Failed to prefetch topic {}: {}", neighbour, e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Warm the questions before and after position index of the list the user is working through
+     */
+    public void prefetchQuestionsAround(List<PracticeQuestion> questions, int index) {
+        if (questions == null || index < 0 || index >= questions.size()) {
+            return;
+        }
+        long current = questionGeneration.incrementAndGet();
+        List<PracticeQuestion> neighbours = new ArrayList<>(2);
+        if (index + 1 < questions.size()) neighbours.add(questions.get(index + 1));
+        if (index > 0) neighbours.add(questions.get(index - 1));
+
+        executor.execute(() -> {
+            for (PracticeQuestion question : neighbours) {
+                if (current != questionGeneration.get()) {
+                    return;
+                }
+                try {
+                    questionRenderer.accept(question);
+                    warmExpectedResult(question);
+                } catch (Exception e) {
+                    log.debug("Failed to prefetch question {}: {}", question.getId(), e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Drop queued work and close the prefetch connection on the thread that owns it
+     */
+    public void shutdown() {
+        topicGeneration.incrementAndGet();
+        questionGeneration.incrementAndGet();
+        executor.execute(this::closeConnection);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(2, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ===== PRIVATE METHODS =====
+
+    private void closeConnection() {
+        try {
+            if (connection != null) {
+                connection.close();
+                connection = null;
+            }
+        } catch (SQLException e) {
+            log.debug("Failed to close prefetch connection: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Run a read-only solution on a separate connection; the result lands in the practice
+     * result cache, where grading the question picks it up. DML solutions are left alone.
+     */
+    private void warmExpectedResult(PracticeQuestion question) throws SQLException {
+        String solution = question.getSolution();
+        if (solution == null || !executionService.isReadOnlyQuery(solution)) {
+            return;
+        }
+        // Uncommitted changes on the practice connection are invisible to this connection
+        if (!database.getPracticeConnection().getAutoCommit()) {
+            return;
+        }
+        if (connection == null || connection.isClosed()) {
+            connection = database.openPracticeConnection();
+        }
+        executionService.executeReadOnly(connection, solution);
+    }
+}
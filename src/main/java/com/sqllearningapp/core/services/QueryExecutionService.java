@@ -0,0 +1,254 @@
+package com.sqllearningapp.core.services;
+
+import com.sqllearningapp.core.database.EmbeddedDatabase;
+import com.sqllearningapp.core.database.QueryExecutor;
+import com.sqllearningapp.core.models.QueryResult;
+import com.sqllearningapp.utils.ConfigManager;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Application-wide entry point for running SQL. Created once at startup and shared by
+ * the main window, the practice service and the database browser. Owns the single
+ * {@link QueryExecutor} (and through it the practice result cache), a small worker pool
+ * for background execution, execution metrics, and a limit on how many statements
+ * may run against the embedded databases at the same time. The shared practice and main
+ * connections each have one JDBC session and one transaction, so work on them is
+ * serialized; only work on separate connections runs side by side.
+ */
+@Slf4j
+public class QueryExecutionService {
+
+    private static final int DEFAULT_MAX_CONCURRENT_QUERIES = 2;
+
+    private final QueryExecutor queryExecutor;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Semaphore sharedConnections = new Semaphore(1, true); // the shared practice and main sessions
+    private final int maxConcurrentQueries;
+
+    // Metrics
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public QueryExecutionService(EmbeddedDatabase database, ConfigManager configManager) {
+        this.queryExecutor = new QueryExecutor(database, configManager);
+
+        int configured = configManager != null ? configManager.getConfig().getMaxConcurrentQueries() : 0;
+        this.maxConcurrentQueries = configured > 0 ? configured : DEFAULT_MAX_CONCURRENT_QUERIES;
+        this.permits = new Semaphore(maxConcurrentQueries, true);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxConcurrentQueries, r -> {
+            Thread thread = new Thread(r, "query-exec-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Database work that needs an execution permit
+     */
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T run() throws SQLException;
+    }
+
+    // ===== EXECUTION =====
+
+    public QueryResult executeQuery(String sql, boolean usePracticeDb) {
+        return measured(() -> withSharedConnection(() -> queryExecutor.executeQuery(sql, usePracticeDb)));
+    }
+
+    /**
+     * Run a query whose result is only compared, not browsed: rows past the in-memory
+     * page are counted rather than spilled to disk
+     */
+    public QueryResult executeForGrading(String sql) {
+        return measured(() -> withSharedConnection(() -> queryExecutor.executeQuery(sql, true, false)));
+    }
+
+    /**
+     * Run a statement on the practice database and roll back any changes it made
+     */
+    public QueryResult executeWithRollback(String sql) {
+        return measured(() -> withSharedConnection(() -> queryExecutor.executeWithRollback(sql)));
+    }
+
+    /**
+     * Run a read-only SELECT on a separate practice connection, e.g. for speculative grading
+     */
+    public QueryResult executeReadOnly(Connection sandbox, String sql) {
+        return measured(() -> withPermit(() -> queryExecutor.executeReadOnly(sandbox, sql)));
+    }
+
+    /**
+     * Run a statement on a private sandbox database. Sandboxes share nothing with the
+     * embedded databases, so this does not count against the concurrency limit.
+     */
+    public QueryResult executeInSandbox(Connection sandbox, String sql) {
+        return measured(() -> queryExecutor.executeInSandbox(sandbox, sql));
+    }
+
+    /**
+     * Run a multi-statement script; the whole script holds the shared connection
+     */
+    public List<QueryResult> executeScript(String script, boolean usePracticeDb) {
+        List<QueryResult> results = withSharedConnection(() -> queryExecutor.executeScript(script, usePracticeDb));
+        for (QueryResult result : results) {
+            executed.increment();
+            if (!result.isSuccess()) failed.increment();
+        }
+        return results;
+    }
+
+    public QueryExecutor.ValidationResult validateSql(String sql) {
+        return withSharedConnection(() -> queryExecutor.validateSql(sql));
+    }
+
+    public QueryExecutor.ValidationResult validateSql(String sql, Connection connection) {
+        return withPermit(() -> queryExecutor.validateSql(sql, connection));
+    }
+
+    public boolean isModificationQuery(String sql) {
+        return queryExecutor.isModificationQuery(sql);
+    }
+
+    public boolean isReadOnlyQuery(String sql) {
+        return queryExecutor.isReadOnlyQuery(sql);
+    }
+
+    /**
+     * Run other work on the shared connections, such as metadata lookups, under the
+     * concurrency limit and serialized with queries on those connections. Permits are
+     * not reentrant, so the work must not call back into this service.
+     */
+    public <T> T call(SqlWork<T> work) throws SQLException {
+        acquire(true);
+        try {
+            return work.run();
+        } finally {
+            release(true);
+        }
+    }
+
+    /**
+     * Run work on the shared pool, e.g. a JavaFX Task. Queued work waits for a free worker.
+     */
+    public void submit(Runnable work) {
+        executor.execute(work);
+    }
+
+    // ===== METRICS =====
+
+    /**
+     * Execution counts, timings, current load and result cache figures
+     */
+    public Map<String, Object> getMetrics() {
+        long count = executed.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("executed", count);
+        metrics.put("failed", failed.sum());
+        metrics.put("avgMs", count == 0 ? 0.0 : totalNanos.sum() / 1e6 / count);
+        metrics.put("maxMs", maxNanos.get() / 1e6);
+        metrics.put("active", active.get());
+        metrics.put("waiting", waiting.get());
+        metrics.put("maxConcurrent", maxConcurrentQueries);
+        metrics.put("resultCache", queryExecutor.getResultCacheMetrics());
+        return metrics;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(2, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        log.info("Query execution service stopped: {}", getMetrics());
+    }
+
+    // ===== INTERNALS =====
+
+    private QueryResult measured(Supplier<QueryResult> execution) {
+        long start = System.nanoTime();
+        QueryResult result = execution.get();
+        long nanos = System.nanoTime() - start;
+
+        executed.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        if (!result.isSuccess()) {
+            failed.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Permit wrapper for executor calls on a separate connection; SQL errors are reported in the results
+     */
+    private <T> T withPermit(Supplier<T> work) {
+        acquire(false);
+        try {
+            return work.get();
+        } finally {
+            release(false);
+        }
+    }
+
+    /**
+     * Permit wrapper for executor calls on the shared connections, one at a time
+     */
+    private <T> T withSharedConnection(Supplier<T> work) {
+        acquire(true);
+        try {
+            return work.get();
+        } finally {
+            release(true);
+        }
+    }
+
+    /**
+     * The shared connection is always taken before a general permit, so the two cannot deadlock
+     */
+    private void acquire(boolean sharedConnection) {
+        waiting.incrementAndGet();
+        try {
+            if (sharedConnection) {
+                sharedConnections.acquireUninterruptibly();
+            }
+            permits.acquireUninterruptibly();
+        } finally {
+            waiting.decrementAndGet();
+        }
+        active.incrementAndGet();
+    }
+
+    private void release(boolean sharedConnection) {
+        active.decrementAndGet();
+        permits.release();
+        if (sharedConnection) {
+            sharedConnections.release();
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package com.sqllearningapp.core.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.sqllearningapp.core.models.PracticeQuestion;
+import com.sqllearningapp.core.models.QuestionContent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * Loads practice questions from the JSON packs bundled under {@code /questions}.
+ * Each pack is compiled once into a binary bank file in {@code data/question-banks}:
+ * a small index (id, title, difficulty, category, points) followed by the UTF-8 text
+ * of descriptions, hints, examples and solutions. The bank is memory-mapped and only
+ * the index is read into the heap; the text is decoded each time it is asked for.
+ * A bank is rebuilt when its pack's checksum changes.
+ */
+@Slf4j
+public final class QuestionBank {
+
+    private static final String PACK_DIRECTORY = "/questions/";
+    private static final String PACKS_RESOURCE = PACK_DIRECTORY + "packs.txt";
+    private static final Path CACHE_DIRECTORY = Paths.get("data", "question-banks");
+
+    // Bank file layout: header, content, index
+    private static final int MAGIC = 0x53514C51; // "SQLQ"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4 + 4; // magic, version, crc, length, count, index offset
+    private static final int NULL_LENGTH = -1;
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private QuestionBank() {
+    }
+
+    /**
+     * Questions from every bundled pack, in pack order
+     */
+    public static List<PracticeQuestion> loadBuiltIn() throws IOException {
+        List<PracticeQuestion> questions = new ArrayList<>();
+        for (String pack : listPacks()) {
+            questions.addAll(loadPack(pack));
+        }
+        return questions;
+    }
+
+    private static List<String> listPacks() throws IOException {
+        InputStream in = QuestionBank.class.getResourceAsStream(PACKS_RESOURCE);
+        if (in == null) {
+            throw new IOException("Question pack list not found: " + PACKS_RESOURCE);
+        }
+        List<String> packs = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    packs.add(line);
+                }
+            }
+        }
+        return packs;
+    }
+
+    /**
+     * Map the pack's bank file, compiling it first if it is missing or out of date
+     */
+    static List<PracticeQuestion> loadPack(String pack) throws IOException {
+        String resource = PACK_DIRECTORY + pack;
+        long[] checksum = checksum(resource);
+
+        Path bankFile = CACHE_DIRECTORY.resolve(pack.replaceFirst("\\.json$", "") + ".qbank");
+        try {
+            if (!isCurrent(bankFile, checksum)) {
+                Files.createDirectories(CACHE_DIRECTORY);
+                Path compiled = Files.createTempFile(CACHE_DIRECTORY, "compile-", ".tmp");
+                compile(resource, checksum, compiled);
+                Files.move(compiled, bankFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                log.info("Compiled question pack {} into {}", pack, bankFile);
+            }
+        } catch (IOException e) {
+            // Read-only data directory: compile into a temporary file instead
+            log.warn("Could not write question bank {}: {}", bankFile, e.getMessage());
+            bankFile = Files.createTempFile("question-bank-", ".qbank");
+            bankFile.toFile().deleteOnExit();
+            compile(resource, checksum, bankFile);
+        }
+        return map(bankFile, pack);
+    }
+
+    // ===== COMPILING =====
+
+    /**
+     * CRC32 and length of a pack resource
+     */
+    private static long[] checksum(String resource) throws IOException {
+        try (InputStream in = openResource(resource)) {
+            CRC32 crc = new CRC32();
+            byte[] buffer = new byte[64 * 1024];
+            long length = 0;
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                crc.update(buffer, 0, read);
+                length += read;
+            }
+            return new long[]{crc.getValue(), length};
+        }
+    }
+
+    /**
+     * Stream the JSON pack into a bank file, holding one question at a time
+     */
+    private static void compile(String resource, long[] checksum, Path target) throws IOException {
+        ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+        DataOutputStream index = new DataOutputStream(indexBytes);
+        int count = 0;
+        long contentLength;
+
+        try (InputStream in = openResource(resource);
+             JsonParser parser = JSON.createParser(in);
+             FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            channel.position(HEADER_BYTES);
+            CountingOutput content = new CountingOutput(new BufferedOutputStream(Channels.newOutputStream(channel)));
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException(resource + ": expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("questions".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        writeQuestion(resource, parser, content, index);
+                        count++;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            content.flush();
+            contentLength = content.count;
+            if (HEADER_BYTES + contentLength > Integer.MAX_VALUE) {
+                throw new IOException(resource + ": question text exceeds 2 GB");
+            }
+
+            channel.write(ByteBuffer.wrap(indexBytes.toByteArray()), HEADER_BYTES + contentLength);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(checksum[0])
+                    .putLong(checksum[1])
+                    .putInt(count)
+                    .putInt((int) (HEADER_BYTES + contentLength))
+                    .flip();
+            channel.write(header, 0);
+        }
+    }
+
+    private static void writeQuestion(String resource, JsonParser parser, CountingOutput content,
+                                      DataOutputStream index) throws IOException {
+        String id = null, title = null, difficulty = null, category = null;
+        String description = null, hint = null, exampleSql = null, solution = null;
+        int points = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "id" -> id = parser.getText();
+                case "title" -> title = parser.getText();
+                case "difficulty" -> difficulty = parser.getText().toUpperCase(Locale.ROOT);
+                case "category" -> category = parser.getText();
+                case "points" -> points = parser.getValueAsInt();
+                case "description" -> description = parser.getText();
+                case "hint" -> hint = parser.getText();
+                case "exampleSql" -> exampleSql = parser.getText();
+                case "solution" -> solution = parser.getText();
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (id == null || id.isBlank()) {
+            throw new IOException(resource + ": question without an id");
+        }
+        try {
+            PracticeQuestion.Difficulty.valueOf(difficulty);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IOException(resource + ": question " + id + " has unknown difficulty " + difficulty);
+        }
+
+        writeString(index, id);
+        writeString(index, title);
+        writeString(index, difficulty);
+        writeString(index, category);
+        index.writeInt(points);
+        index.writeInt((int) (HEADER_BYTES + content.count));
+        for (String text : new String[]{description, hint, exampleSql, solution}) {
+            if (text == null) {
+                index.writeInt(NULL_LENGTH);
+            } else {
+                byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                index.writeInt(bytes.length);
+                content.write(bytes);
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static InputStream openResource(String resource) throws IOException {
+        InputStream in = QuestionBank.class.getResourceAsStream(resource);
+        if (in == null) {
+            throw new IOException("Question pack not found: " + resource);
+        }
+        return in;
+    }
+
+    // ===== READING =====
+
+    private static boolean isCurrent(Path bankFile, long[] checksum) {
+        if (!Files.isRegularFile(bankFile)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(bankFile, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            if (channel.read(header, 0) != HEADER_BYTES) {
+                return false;
+            }
+            header.flip();
+            return header.getInt() == MAGIC
+                    && header.getInt() == FORMAT_VERSION
+                    && header.getLong() == checksum[0]
+                    && header.getLong() == checksum[1];
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Read the index of a bank file; question text stays in the mapping
+     */
+    private static List<PracticeQuestion> map(Path bankFile, String pack) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(bankFile, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Not a question bank: " + bankFile);
+        }
+        int count = buffer.getInt(24);
+        ByteBuffer index = buffer.duplicate().position(buffer.getInt(28));
+
+        List<PracticeQuestion> questions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = readString(index);
+            String title = readString(index);
+            PracticeQuestion.Difficulty difficulty = PracticeQuestion.Difficulty.valueOf(readString(index));
+            String category = readString(index);
+            int points = index.getInt();
+            int offset = index.getInt();
+
+            questions.add(PracticeQuestion.builder()
+                    .id(id)
+                    .title(title)
+                    .difficulty(difficulty)
+                    .category(category)
+                    .points(points > 0 ? points : difficulty.getDefaultPoints())
+                    .content(new MappedContent(buffer, offset,
+                            index.getInt(), index.getInt(), index.getInt(), index.getInt()))
+                    .build());
+        }
+        log.debug("Mapped {} questions from pack {}", count, pack);
+        return questions;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Text of one question inside a mapped bank; the four texts are stored back to back
+     */
+    private record MappedContent(MappedByteBuffer buffer, int offset, int descriptionLength,
+                                 int hintLength, int exampleSqlLength, int solutionLength) implements QuestionContent {
+
+        @Override
+        public String getDescription() {
+            return text(offset, descriptionLength);
+        }
+
+        @Override
+        public String getHint() {
+            return text(offset + size(descriptionLength), hintLength);
+        }
+
+        @Override
+        public String getExampleSql() {
+            return text(offset + size(descriptionLength) + size(hintLength), exampleSqlLength);
+        }
+
+        @Override
+        public String getSolution() {
+            return text(offset + size(descriptionLength) + size(hintLength) + size(exampleSqlLength), solutionLength);
+        }
+
+        private static int size(int length) {
+            return length == NULL_LENGTH ? 0 : length;
+        }
+
+        private String text(int position, int length) {
+            if (length == NULL_LENGTH) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(position, bytes); // absolute read, safe from any thread
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Tracks the content offset while writing
+     */
+    private static final class CountingOutput extends OutputStream {
+        private final OutputStream out;
+        private long count;
+
+        CountingOutput(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.sqllearningapp.core.services;
+
+import com.sqllearningapp.core.models.PracticeQuestion;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable set of practice questions, indexed by id and by difficulty when built.
+ * Lookups and per-difficulty lists and counts are constant time.
+ */
+public final class QuestionCatalog {
+
+    private final List<PracticeQuestion> questions;
+    private final Map<String, PracticeQuestion> byId;
+    private final Map<PracticeQuestion.Difficulty, List<PracticeQuestion>> byDifficulty;
+
+    public QuestionCatalog(Collection<PracticeQuestion> questions) {
+        this.questions = List.copyOf(questions);
+        this.byId = new HashMap<>(this.questions.size() * 2);
+        this.byDifficulty = new EnumMap<>(PracticeQuestion.Difficulty.class);
+
+        Map<PracticeQuestion.Difficulty, List<PracticeQuestion>> buckets =
+                new EnumMap<>(PracticeQuestion.Difficulty.class);
+        for (PracticeQuestion.Difficulty difficulty : PracticeQuestion.Difficulty.values()) {
+            buckets.put(difficulty, new ArrayList<>());
+        }
+        for (PracticeQuestion question : this.questions) {
+            if (byId.putIfAbsent(question.getId(), question) != null) {
+                throw new IllegalArgumentException("Duplicate question id: " + question.getId());
+            }
+            if (question.getDifficulty() != null) {
+                buckets.get(question.getDifficulty()).add(question);
+            }
+        }
+        buckets.forEach((difficulty, bucket) -> byDifficulty.put(difficulty, Collections.unmodifiableList(bucket)));
+    }
+
+    /**
+     * All questions in catalog order
+     */
+    public List<PracticeQuestion> getQuestions() {
+        return questions;
+    }
+
+    /**
+     * Question with the given id, or null
+     */
+    public PracticeQuestion get(String questionId) {
+        return questionId == null ? null : byId.get(questionId);
+    }
+
+    public List<PracticeQuestion> getByDifficulty(PracticeQuestion.Difficulty difficulty) {
+        return difficulty == null ? List.of() : byDifficulty.get(difficulty);
+    }
+
+    /**
+     * Questions for a difficulty name such as "easy", or every question for "all"
+     */
+    public List<PracticeQuestion> getByDifficulty(String difficulty) {
+        if (difficulty == null) {
+            return List.of();
+        }
+        if ("all".equalsIgnoreCase(difficulty)) {
+            return questions;
+        }
+        try {
+            return getByDifficulty(PracticeQuestion.Difficulty.valueOf(difficulty.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    public int count(PracticeQuestion.Difficulty difficulty) {
+        return getByDifficulty(difficulty).size();
+    }
+
+    public int size() {
+        return questions.size();
+    }
+}
@@ -0,0 +1,472 @@
+package com.sqllearningapp.core.services;
+
+import com.sqllearningapp.core.models.QueryResult;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Row-level comparison of an expected and an actual query result for grading feedback.
+ * Rows are canonicalized (numeric widths and scales, float noise, SQL date types,
+ * padded strings) and hash-partitioned, so matching is linear in the number of rows
+ * and ignores row order. Rows left unmatched on both sides are paired through a key
+ * column, when one exists, and reported as changed with per-column deltas.
+ */
+public class ResultDiffEngine {
+
+    public static final double DEFAULT_TOLERANCE = 1e-6;
+    private static final int MAX_REPORTED_ROWS = 500; // per category; counts are always complete
+    private static final int HASH_SCALE = 6; // decimal places kept when hashing non-integral numbers
+    private static final long SCALE_FACTOR = 1_000_000L; // 10^HASH_SCALE
+    private static final long MAX_SCALED = 9_000_000_000_000L; // larger magnitudes overflow once scaled
+    private static final BigDecimal MAX_SCALED_DECIMAL = BigDecimal.valueOf(MAX_SCALED);
+
+    private final double tolerance;
+
+    public ResultDiffEngine() {
+        this(DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * @param tolerance allowed numeric difference, relative to the expected value once it exceeds 1
+     */
+    public ResultDiffEngine(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    // ===== DIFF =====
+
+    public ResultDiff diff(QueryResult expected, QueryResult actual) {
+        List<String> expectedColumns = columnsOf(expected);
+        List<String> actualColumns = columnsOf(actual);
+        ColumnAlignment alignment = alignColumns(expectedColumns, actualColumns);
+
+        List<Map<String, Object>> expectedRows = rowsOf(expected);
+        List<Map<String, Object>> actualRows = rowsOf(actual);
+
+        List<RowKey> expectedKeys = canonicalRows(expectedRows, alignment.expected());
+        List<RowKey> actualKeys = canonicalRows(actualRows, alignment.actual());
+
+        // Partition expected rows by canonical content; duplicates are chained through next[]
+        int[] next = new int[expectedKeys.size()];
+        Map<RowKey, Integer> partitions = new HashMap<>(expectedKeys.size() * 4 / 3 + 1);
+        for (int i = expectedKeys.size() - 1; i >= 0; i--) {
+            Integer head = partitions.put(expectedKeys.get(i), i);
+            next[i] = head != null ? head : -1;
+        }
+
+        // Consume partitions with the actual rows
+        List<Integer> extra = new ArrayList<>();
+        int matched = 0;
+        for (int i = 0; i < actualKeys.size(); i++) {
+            RowKey key = actualKeys.get(i);
+            Integer head = partitions.get(key);
+            if (head == null) {
+                extra.add(i);
+                continue;
+            }
+            if (next[head] >= 0) {
+                partitions.put(key, next[head]);
+            } else {
+                partitions.remove(key);
+            }
+            matched++;
+        }
+
+        List<Integer> missing = new ArrayList<>();
+        for (int head : partitions.values()) {
+            for (int index = head; index >= 0; index = next[index]) {
+                missing.add(index);
+            }
+        }
+        missing.sort(null);
+
+        // Pair leftovers that share a key value; differences within tolerance count as matches
+        int keyColumn = findKeyColumn(expectedKeys, alignment.size());
+        List<RowChange> changes = new ArrayList<>();
+        int changedCount = 0;
+        if (keyColumn >= 0 && !missing.isEmpty() && !extra.isEmpty()) {
+            Map<Object, Integer> missingByKey = new HashMap<>(missing.size() * 4 / 3 + 1);
+            for (int index : missing) {
+                missingByKey.put(expectedKeys.get(index).values()[keyColumn], index);
+            }
+
+            Set<Integer> pairedMissing = new HashSet<>();
+            List<Integer> unpaired = new ArrayList<>();
+            for (int actualIndex : extra) {
+                Integer expectedIndex = missingByKey.remove(actualKeys.get(actualIndex).values()[keyColumn]);
+                if (expectedIndex == null) {
+                    unpaired.add(actualIndex);
+                    continue;
+                }
+
+                List<CellDelta> deltas = compareCells(alignment,
+                        expectedKeys.get(expectedIndex), actualKeys.get(actualIndex),
+                        expectedRows.get(expectedIndex), actualRows.get(actualIndex));
+                pairedMissing.add(expectedIndex);
+
+                if (deltas.isEmpty()) {
+                    matched++;
+                } else {
+                    changedCount++;
+                    if (changes.size() < MAX_REPORTED_ROWS) {
+                        changes.add(RowChange.builder()
+                                .key(expectedRows.get(expectedIndex).get(alignment.expected().get(keyColumn)))
+                                .expectedRow(expectedRows.get(expectedIndex))
+                                .actualRow(actualRows.get(actualIndex))
+                                .deltas(deltas)
+                                .build());
+                    }
+                }
+            }
+            missing.removeIf(pairedMissing::contains);
+            extra = unpaired;
+        }
+
+        boolean sameRows = missing.isEmpty() && extra.isEmpty() && changedCount == 0;
+        return ResultDiff.builder()
+                .expectedColumns(expectedColumns)
+                .actualColumns(actualColumns)
+                .missingColumns(alignment.missingColumns())
+                .extraColumns(alignment.extraColumns())
+                .positionalColumns(alignment.positional())
+                .keyColumn(keyColumn >= 0 ? alignment.expected().get(keyColumn) : null)
+                .matchedCount(matched)
+                .missingCount(missing.size())
+                .extraCount(extra.size())
+                .changedCount(changedCount)
+                .missingRows(pick(expectedRows, missing))
+                .extraRows(pick(actualRows, extra))
+                .changedRows(changes)
+                .orderDiffers(sameRows && !expectedKeys.equals(actualKeys))
+                .partial(isPartial(expected) || isPartial(actual))
+                .build();
+    }
+
+    // ===== COLUMNS =====
+
+    /**
+     * Column pairs to compare, in expected order
+     */
+    private record ColumnAlignment(List<String> expected, List<String> actual,
+                                   List<String> missingColumns, List<String> extraColumns, boolean positional) {
+        int size() {
+            return expected.size();
+        }
+    }
+
+    /**
+     * Match columns by name, ignoring case. When names differ but the counts agree
+     * (e.g. a different alias), columns are paired by position instead.
+     */
+    private ColumnAlignment alignColumns(List<String> expectedColumns, List<String> actualColumns) {
+        Map<String, String> actualByName = new LinkedHashMap<>();
+        for (String column : actualColumns) {
+            actualByName.putIfAbsent(column.toUpperCase(Locale.ROOT), column);
+        }
+
+        List<String> expected = new ArrayList<>();
+        List<String> actual = new ArrayList<>();
+        List<String> missingColumns = new ArrayList<>();
+        for (String column : expectedColumns) {
+            String match = actualByName.remove(column.toUpperCase(Locale.ROOT));
+            if (match != null) {
+                expected.add(column);
+                actual.add(match);
+            } else {
+                missingColumns.add(column);
+            }
+        }
+        List<String> extraColumns = new ArrayList<>(actualByName.values());
+
+        if (!missingColumns.isEmpty() && expectedColumns.size() == actualColumns.size()) {
+            return new ColumnAlignment(expectedColumns, actualColumns, missingColumns, extraColumns, true);
+        }
+        return new ColumnAlignment(expected, actual, missingColumns, extraColumns, false);
+    }
+
+    private int findKeyColumn(List<RowKey> expectedKeys, int columnCount) {
+        for (int column = 0; column < columnCount; column++) {
+            Set<Object> seen = new HashSet<>(expectedKeys.size() * 4 / 3 + 1);
+            boolean unique = true;
+            for (RowKey row : expectedKeys) {
+                Object value = row.values()[column];
+                if (value == null || !seen.add(value)) {
+                    unique = false;
+                    break;
+                }
+            }
+            if (unique) {
+                return column;
+            }
+        }
+        return -1;
+    }
+
+    // ===== VALUES =====
+
+    /**
+     * Canonical values of one row with the hash computed once
+     */
+    private record RowKey(Object[] values, int hash) {
+        RowKey(Object[] values) {
+            this(values, Arrays.hashCode(values));
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof RowKey key && hash == key.hash && Arrays.equals(values, key.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private List<RowKey> canonicalRows(List<Map<String, Object>> rows, List<String> columns) {
+        List<RowKey> keys = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            Object[] values = new Object[columns.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = canonical(row.get(columns.get(i)));
+            }
+            keys.add(new RowKey(values));
+        }
+        return keys;
+    }
+
+    /**
+     * Comparable form of a value. Numbers become a Long counting millionths (or a stripped
+     * BigDecimal when too large), so 7, 7L, 7.0 and 7.000 agree and float noise below
+     * {@link #HASH_SCALE} places disappears. SQL date types become java.time values
+     * and strings are trimmed.
+     */
+    static Object canonical(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            long l = ((Number) value).longValue();
+            return Math.abs(l) < MAX_SCALED ? (Object) (l * SCALE_FACTOR) : stripped(BigDecimal.valueOf(l));
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            if (!Double.isFinite(d)) {
+                return d;
+            }
+            if (Math.abs(d) < MAX_SCALED) {
+                return Math.round(d * SCALE_FACTOR);
+            }
+            return stripped(new BigDecimal(Double.toString(d)));
+        }
+        if (value instanceof BigDecimal decimal) {
+            if (decimal.abs().compareTo(MAX_SCALED_DECIMAL) < 0) {
+                return decimal.movePointRight(HASH_SCALE).setScale(0, RoundingMode.HALF_UP).longValue();
+            }
+            return stripped(decimal);
+        }
+        if (value instanceof BigInteger integer) {
+            return canonical(new BigDecimal(integer));
+        }
+        if (value instanceof String text) {
+            return text.trim();
+        }
+        if (value instanceof Character c) {
+            return String.valueOf(c);
+        }
+        if (value instanceof java.sql.Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        if (value instanceof java.sql.Time time) {
+            return time.toLocalTime();
+        }
+        if (value instanceof byte[] bytes) {
+            return ByteBuffer.wrap(bytes.clone());
+        }
+        return value;
+    }
+
+    private static BigDecimal stripped(BigDecimal value) {
+        return value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+    }
+
+    private List<CellDelta> compareCells(ColumnAlignment alignment, RowKey expectedKey, RowKey actualKey,
+                                         Map<String, Object> expectedRow, Map<String, Object> actualRow) {
+        List<CellDelta> deltas = new ArrayList<>();
+        for (int i = 0; i < alignment.size(); i++) {
+            Object expectedValue = expectedKey.values()[i];
+            Object actualValue = actualKey.values()[i];
+            if (Objects.equals(expectedValue, actualValue) || withinTolerance(expectedValue, actualValue)) {
+                continue;
+            }
+
+            Double numericDelta = null;
+            if (isNumeric(expectedValue) && isNumeric(actualValue)) {
+                numericDelta = numericValue(actualValue) - numericValue(expectedValue);
+            }
+            deltas.add(CellDelta.builder()
+                    .column(alignment.expected().get(i))
+                    .expected(expectedRow.get(alignment.expected().get(i)))
+                    .actual(actualRow.get(alignment.actual().get(i)))
+                    .numericDelta(numericDelta)
+                    .build());
+        }
+        return deltas;
+    }
+
+    private boolean withinTolerance(Object expected, Object actual) {
+        if (!isNumeric(expected) || !isNumeric(actual)) {
+            return false;
+        }
+        double e = numericValue(expected);
+        return Math.abs(numericValue(actual) - e) <= tolerance * Math.max(1.0, Math.abs(e));
+    }
+
+    /**
+     * Canonical numbers are Longs counting millionths or, for large values, BigDecimals
+     */
+    private static boolean isNumeric(Object canonical) {
+        return canonical instanceof Long || canonical instanceof BigDecimal;
+    }
+
+    private static double numericValue(Object canonical) {
+        return canonical instanceof Long scaled ? scaled / (double) SCALE_FACTOR : ((BigDecimal) canonical).doubleValue();
+    }
+
+    // ===== HELPERS =====
+
+    private static List<String> columnsOf(QueryResult result) {
+        return result != null && result.getColumnNames() != null ? result.getColumnNames() : List.of();
+    }
+
+    private static List<Map<String, Object>> rowsOf(QueryResult result) {
+        return result != null && result.getRows() != null ? result.getRows() : List.of();
+    }
+
+    private static boolean isPartial(QueryResult result) {
+        // DML previews are compared in full through their checksum
+        return result != null && !result.isRolledBack() && result.getTotalRowCount() > rowsOf(result).size();
+    }
+
+    private static List<Map<String, Object>> pick(List<Map<String, Object>> rows, List<Integer> indexes) {
+        int count = Math.min(indexes.size(), MAX_REPORTED_ROWS);
+        List<Map<String, Object>> picked = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            picked.add(rows.get(indexes.get(i)));
+        }
+        return picked;
+    }
+
+    // ===== DATA CLASSES =====
+
+    @Data
+    @Builder
+    public static class ResultDiff {
+        private List<String> expectedColumns;
+        private List<String> actualColumns;
+        private List<String> missingColumns;
+        private List<String> extraColumns;
+        private boolean positionalColumns; // names differ, columns compared by position
+        private String keyColumn;          // column used to pair changed rows, if any
+        private int matchedCount;
+        private int missingCount;
+        private int extraCount;
+        private int changedCount;
+        private List<Map<String, Object>> missingRows; // at most MAX_REPORTED_ROWS each
+        private List<Map<String, Object>> extraRows;
+        private List<RowChange> changedRows;
+        private boolean orderDiffers;      // same rows in a different order
+        private boolean partial;           // only the in-memory page of a spilled result was compared
+
+        /**
+         * Whether both results hold the same rows over the compared columns
+         */
+        public boolean isSameRows() {
+            return missingCount == 0 && extraCount == 0 && changedCount == 0;
+        }
+
+        /**
+         * Same column names and the same rows, ignoring order
+         */
+        public boolean isIdentical() {
+            return isSameRows() && missingColumns.isEmpty() && extraColumns.isEmpty();
+        }
+
+        private boolean sameColumnOrder() {
+            for (int i = 0; i < expectedColumns.size(); i++) {
+                if (!expectedColumns.get(i).equalsIgnoreCase(actualColumns.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * One-paragraph description for hints and the messages tab
+         */
+        public String getSummary() {
+            StringBuilder summary = new StringBuilder();
+            if (!missingColumns.isEmpty()) {
+                summary.append("Missing columns: ").append(String.join(", ", missingColumns)).append(". ");
+            }
+            if (!extraColumns.isEmpty()) {
+                summary.append("Unexpected columns: ").append(String.join(", ", extraColumns)).append(". ");
+            }
+            if (positionalColumns) {
+                summary.append("Values compared by column position. ");
+            } else if (missingColumns.isEmpty() && extraColumns.isEmpty() && !sameColumnOrder()) {
+                summary.append("Columns are in a different order. ");
+            }
+
+            if (isSameRows()) {
+                summary.append("All ").append(matchedCount).append(" rows match");
+                summary.append(orderDiffers ? " (in a different order). " : ". ");
+            } else {
+                summary.append(String.format("Rows: %d matching, %d missing, %d unexpected, %d changed. ",
+                        matchedCount, missingCount, extraCount, changedCount));
+            }
+
+            if (!changedRows.isEmpty()) {
+                RowChange first = changedRows.get(0);
+                CellDelta delta = first.getDeltas().get(0);
+                summary.append(String.format("For %s = %s, %s should be %s but is %s",
+                        keyColumn, first.getKey(), delta.getColumn(), delta.getExpected(), delta.getActual()));
+                if (delta.getNumericDelta() != null) {
+                    summary.append(String.format(" (%+g)", delta.getNumericDelta()));
+                }
+                summary.append(". ");
+            }
+            if (partial) {
+                summary.append("Only the first page of a large result was compared.");
+            }
+            return summary.toString().trim();
+        }
+    }
+
+    @Data
+    @Builder
+    public static class RowChange {
+        private Object key;
+        private Map<String, Object> expectedRow;
+        private Map<String, Object> actualRow;
+        private List<CellDelta> deltas;
+    }
+
+    @Data
+    @Builder
+    public static class CellDelta {
+        private String column;
+        private Object expected;
+        private Object actual;
+        private Double numericDelta; // actual - expected, for numeric columns
+    }
+}
@@ -0,0 +1,229 @@
+package com.sqllearningapp.core.services;
+
+import com.sqllearningapp.core.models.PracticeQuestion;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One search over learning topics, practice questions, practice database tables and
+ * columns, and the queries run in this session. Everything shares a single
+ * {@link TextIndex}, so results of different kinds are ranked together. Topics and
+ * questions are indexed at startup; the schema and history are updated as they change.
+ */
+@Slf4j
+public class SearchService {
+
+    private static final int MAX_HISTORY = 200;
+
+    private final LearningContentService learningContentService;
+    private final PracticeService practiceService;
+    private final DatabaseBrowserService databaseBrowserService;
+
+    private final TextIndex index = new TextIndex();
+    private final Map<String, SearchResult> entries = new ConcurrentHashMap<>();
+    private final Set<String> schemaKeys = ConcurrentHashMap.newKeySet();
+    private final LinkedHashMap<String, String> history = new LinkedHashMap<>(); // key -> sql, oldest first
+
+    public SearchService(LearningContentService learningContentService, PracticeService practiceService,
+                         DatabaseBrowserService databaseBrowserService) {
+        this.learningContentService = learningContentService;
+        this.practiceService = practiceService;
+        this.databaseBrowserService = databaseBrowserService;
+
+        long start = System.nanoTime();
+        indexTopics();
+        indexQuestions();
+        log.info("Search index built with {} entries in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public enum Kind {
+        TOPIC("📖", "Topic"),
+        QUESTION("🎯", "Question"),
+        TABLE("🗄", "Table"),
+        COLUMN("🔹", "Column"),
+        HISTORY("🕘", "History");
+
+        private final String icon;
+        private final String displayName;
+
+        Kind(String icon, String displayName) {
+            this.icon = icon;
+            this.displayName = displayName;
+        }
+
+        public String getIcon() { return icon; }
+        public String getDisplayName() { return displayName; }
+    }
+
+    /**
+     * A search result; target is the topic name, question id, table name, column
+     * (TABLE.COLUMN) or SQL text to open
+     */
+    @Data
+    @Builder(toBuilder = true)
+    public static class SearchResult {
+        private Kind kind;
+        private String target;
+        private String title;
+        private String detail;
+        private double score;
+    }
+
+    // ===== SEARCH =====
+
+    public List<SearchResult> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        List<SearchResult> results = new ArrayList<>();
+        for (TextIndex.Hit hit : index.search(query, limit)) {
+            SearchResult entry = entries.get(hit.key());
+            if (entry != null) {
+                results.add(entry.toBuilder().score(hit.score()).build());
+            }
+        }
+        return results;
+    }
+
+    // ===== INCREMENTAL UPDATES =====
+
+    /**
+     * Re-read tables and columns of the practice database; call off the FX thread
+     */
+    public synchronized void refreshSchema() {
+        // Names and columns only; counting rows would scan every table after each statement
+        List<DatabaseBrowserService.TableInfo> tables = databaseBrowserService.getAllTables(false);
+        Set<String> current = new HashSet<>();
+
+        for (DatabaseBrowserService.TableInfo table : tables) {
+            List<DatabaseBrowserService.ColumnInfo> columns =
+                    table.getColumns() != null ? table.getColumns() : List.of();
+            StringBuilder columnText = new StringBuilder();
+            for (DatabaseBrowserService.ColumnInfo column : columns) {
+                columnText.append(column.getName()).append(' ');
+
+                String columnKey = key(Kind.COLUMN, table.getName() + "." + column.getName());
+                current.add(columnKey);
+                put(columnKey, SearchResult.builder()
+                        .kind(Kind.COLUMN)
+                        .target(table.getName() + "." + column.getName())
+                        .title(column.getName())
+                        .detail(table.getName() + " · " + column.getDisplayType())
+                        .build(), table.getName() + " " + column.getDisplayType());
+            }
+
+            String tableKey = key(Kind.TABLE, table.getName());
+            current.add(tableKey);
+            put(tableKey, SearchResult.builder()
+                    .kind(Kind.TABLE)
+                    .target(table.getName())
+                    .title(table.getName())
+                    .detail(String.format("%d columns", columns.size()))
+                    .build(), columnText.toString());
+        }
+
+        for (String key : schemaKeys) {
+            if (!current.contains(key)) {
+                remove(key);
+            }
+        }
+        schemaKeys.retainAll(current);
+        schemaKeys.addAll(current);
+        log.debug("Search index refreshed with {} tables", tables.size());
+    }
+
+    /**
+     * Remember a successfully executed query; running it again moves it to the front
+     */
+    public void recordQuery(String sql) {
+        if (sql == null || sql.isBlank()) {
+            return;
+        }
+        String text = sql.trim();
+        String key = key(Kind.HISTORY, text);
+
+        String evicted = null;
+        synchronized (history) {
+            history.remove(key);
+            history.put(key, text);
+            if (history.size() > MAX_HISTORY) {
+                evicted = history.keySet().iterator().next();
+                history.remove(evicted);
+            }
+        }
+        if (evicted != null) {
+            remove(evicted);
+        }
+
+        String firstLine = text.lines().findFirst().orElse(text);
+        put(key, SearchResult.builder()
+                .kind(Kind.HISTORY)
+                .target(text)
+                .title(firstLine.length() > 80 ? firstLine.substring(0, 77) + "..." : firstLine)
+                .detail(text.lines().count() > 1 ? text.lines().count() + " lines" : "Query history")
+                .build(), text);
+    }
+
+    /**
+     * Queries run in this session, most recent first
+     */
+    public List<String> getQueryHistory() {
+        synchronized (history) {
+            List<String> queries = new ArrayList<>(history.values());
+            Collections.reverse(queries);
+            return queries;
+        }
+    }
+
+    // ===== INDEXING =====
+
+    private void indexTopics() {
+        for (String topic : learningContentService.getTopicNames()) {
+            put(key(Kind.TOPIC, topic), SearchResult.builder()
+                    .kind(Kind.TOPIC)
+                    .target(topic)
+                    .title(topic)
+                    .detail("Learning topic")
+                    .build(), learningContentService.getTopicText(topic));
+        }
+    }
+
+    private void indexQuestions() {
+        for (PracticeQuestion question : practiceService.getAllQuestions()) {
+            String text = String.join(" ",
+                    TextIndex.plainText(question.getDescription()),
+                    question.getCategory() != null ? question.getCategory() : "",
+                    question.getDifficultyDisplay());
+            put(key(Kind.QUESTION, question.getId()), SearchResult.builder()
+                    .kind(Kind.QUESTION)
+                    .target(question.getId())
+                    .title(question.getTitle())
+                    .detail(question.getDifficultyDisplay() + " practice question")
+                    .build(), text);
+        }
+    }
+
+    private void put(String key, SearchResult entry, String text) {
+        entries.put(key, entry);
+        index.put(key, entry.getTitle(), text);
+    }
+
+    private void remove(String key) {
+        entries.remove(key);
+        index.remove(key);
+    }
+
+    private static String key(Kind kind, String target) {
+        return kind.name() + ":" + target;
+    }
+}
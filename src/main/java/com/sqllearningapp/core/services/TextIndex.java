@@ -0,0 +1,294 @@
+package com.sqllearningapp.core.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over plain text with BM25 ranking. Every query term must
+ * match; the last term also matches as a prefix so results can follow typing.
+ * Documents can be added, replaced and removed at any time.
+ */
+public final class TextIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3; // title terms count as this many body occurrences
+    private static final int MAX_PREFIX_TERMS = 64;
+
+    private static final Pattern HIDDEN_BLOCKS = Pattern.compile(
+            "<!--.*?-->|<(script|style)\\b[^>]*>.*?</\\1\\s*>", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern TAGS = Pattern.compile("<[^>]*>");
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>(); // indexed by document number
+    private final Map<String, Integer> numbers = new HashMap<>();
+    private long totalLength;
+    private int removed;
+    private String[] sortedTerms; // for prefix lookups, rebuilt after new terms appear
+
+    /**
+     * A matching document; terms are the index terms the query matched, for highlighting
+     */
+    public record Hit(String key, double score, List<String> terms) {
+    }
+
+    private record Document(String key, int length, String[] terms) {
+    }
+
+    /**
+     * Documents containing a term, in document number order
+     */
+    private static final class Postings {
+        int[] documents = new int[4];
+        int[] frequencies = new int[4];
+        int size;
+        int liveCount;
+
+        void add(int document, int frequency) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            documents[size] = document;
+            frequencies[size++] = frequency;
+            liveCount++;
+        }
+    }
+
+    // ===== INDEXING =====
+
+    /**
+     * Index a document, replacing any earlier version with the same key
+     */
+    public synchronized void put(String key, String title, String text) {
+        remove(key);
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = count(title, TITLE_WEIGHT, frequencies) + count(text, 1, frequencies);
+
+        int number = documents.size();
+        String[] terms = new String[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            Postings list = postings.get(entry.getKey());
+            if (list == null) {
+                list = new Postings();
+                postings.put(entry.getKey(), list);
+                sortedTerms = null;
+            }
+            list.add(number, entry.getValue());
+            terms[i++] = entry.getKey();
+        }
+
+        documents.add(new Document(key, length, terms));
+        numbers.put(key, number);
+        totalLength += length;
+    }
+
+    public synchronized void remove(String key) {
+        Integer number = numbers.remove(key);
+        if (number == null) {
+            return;
+        }
+        Document document = documents.set(number, null);
+        for (String term : document.terms()) {
+            postings.get(term).liveCount--;
+        }
+        totalLength -= document.length();
+        removed++;
+
+        if (removed > 64 && removed > numbers.size()) {
+            compact();
+        }
+    }
+
+    public synchronized int size() {
+        return numbers.size();
+    }
+
+    private static int count(String text, int weight, Map<String, Integer> frequencies) {
+        if (text == null) {
+            return 0;
+        }
+        int length = 0;
+        for (String token : tokenize(text)) {
+            if (token.length() > 1) {
+                frequencies.merge(token, weight, Integer::sum);
+                length += weight;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Drop removed documents from the postings and renumber the rest
+     */
+    private void compact() {
+        int[] renumbered = new int[documents.size()];
+        List<Document> live = new ArrayList<>(numbers.size());
+        for (int i = 0; i < documents.size(); i++) {
+            Document document = documents.get(i);
+            renumbered[i] = document == null ? -1 : live.size();
+            if (document != null) {
+                numbers.put(document.key(), live.size());
+                live.add(document);
+            }
+        }
+
+        postings.values().removeIf(list -> list.liveCount == 0);
+        for (Postings list : postings.values()) {
+            int size = 0;
+            for (int i = 0; i < list.size; i++) {
+                int number = renumbered[list.documents[i]];
+                if (number >= 0) {
+                    list.documents[size] = number;
+                    list.frequencies[size++] = list.frequencies[i];
+                }
+            }
+            list.size = size;
+        }
+
+        documents.clear();
+        documents.addAll(live);
+        removed = 0;
+        sortedTerms = null;
+    }
+
+    // ===== SEARCH =====
+
+    /**
+     * Best matching documents, highest score first
+     */
+    public synchronized List<Hit> search(String query, int limit) {
+        List<String> tokens = tokenize(query == null ? "" : query);
+        if (tokens.isEmpty() || numbers.isEmpty()) {
+            return List.of();
+        }
+        boolean prefixLast = Character.isLetterOrDigit(query.charAt(query.length() - 1))
+                || query.endsWith("_");
+
+        int documentCount = documents.size();
+        double[] scores = new double[documentCount];
+        int[] matchedGroups = new int[documentCount];
+        double averageLength = Math.max(1.0, (double) totalLength / numbers.size());
+        List<String> matchedTerms = new ArrayList<>();
+
+        int groups = 0;
+        for (int g = 0; g < tokens.size(); g++) {
+            String token = tokens.get(g);
+            boolean prefix = prefixLast && g == tokens.size() - 1;
+            List<String> terms = prefix ? termsStartingWith(token) : exactTerm(token);
+            if (terms.isEmpty()) {
+                if (!prefix && token.length() < 2) {
+                    continue; // single characters are not indexed
+                }
+                return List.of();
+            }
+
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                double idf = Math.log(1 + (numbers.size() - list.liveCount + 0.5) / (list.liveCount + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int number = list.documents[i];
+                    Document document = documents.get(number);
+                    if (document == null) {
+                        continue;
+                    }
+                    if (matchedGroups[number] == groups) {
+                        matchedGroups[number] = groups + 1;
+                    }
+                    if (matchedGroups[number] == groups + 1) {
+                        int frequency = list.frequencies[i];
+                        scores[number] += idf * frequency * (K1 + 1)
+                                / (frequency + K1 * (1 - B + B * document.length() / averageLength));
+                    }
+                }
+            }
+            matchedTerms.addAll(terms);
+            groups++;
+        }
+        if (groups == 0) {
+            return List.of();
+        }
+
+        List<String> terms = List.copyOf(matchedTerms);
+        List<Hit> hits = new ArrayList<>();
+        for (int number = 0; number < documentCount; number++) {
+            if (matchedGroups[number] == groups) {
+                hits.add(new Hit(documents.get(number).key(), scores[number], terms));
+            }
+        }
+        hits.sort((a, b) -> Double.compare(b.score(), a.score()));
+        return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+    }
+
+    private List<String> exactTerm(String token) {
+        Postings list = postings.get(token);
+        return list != null && list.liveCount > 0 ? List.of(token) : List.of();
+    }
+
+    private List<String> termsStartingWith(String prefix) {
+        if (sortedTerms == null) {
+            sortedTerms = postings.keySet().toArray(new String[0]);
+            Arrays.sort(sortedTerms);
+        }
+        int start = Arrays.binarySearch(sortedTerms, prefix);
+        if (start < 0) {
+            start = -start - 1;
+        }
+
+        List<String> terms = new ArrayList<>();
+        for (int i = start; i < sortedTerms.length && sortedTerms[i].startsWith(prefix); i++) {
+            if (postings.get(sortedTerms[i]).liveCount > 0) {
+                terms.add(sortedTerms[i]);
+                if (terms.size() == MAX_PREFIX_TERMS) {
+                    break;
+                }
+            }
+        }
+        return terms;
+    }
+
+    // ===== TEXT =====
+
+    /**
+     * Lowercase runs of letters, digits and underscores
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length()
+                    && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '_');
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Visible text of an HTML fragment: comments, scripts, styles and tags removed
+     */
+    public static String plainText(String html) {
+        if (html == null) {
+            return "";
+        }
+        String text = HIDDEN_BLOCKS.matcher(html).replaceAll(" ");
+        text = TAGS.matcher(text).replaceAll(" ");
+        return text.replace("&nbsp;", " ")
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&#39;", "'")
+                .replace("&amp;", "&");
+    }
+}
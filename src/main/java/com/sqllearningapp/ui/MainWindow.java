@@ -1,7 +1,12 @@
 package com.sqllearningapp.ui;
 
 import atlantafx.base.controls.Spacer;
+import com.sqllearningapp.core.database.CsvImporter;
 import com.sqllearningapp.core.database.EmbeddedDatabase;
+import com.sqllearningapp.core.database.QueryStatistics;
+import com.sqllearningapp.core.database.ResultExporter;
+import com.sqllearningapp.core.database.SampleDataGenerator;
+import com.sqllearningapp.core.database.SqlScriptSplitter;
 import com.sqllearningapp.core.services.*;
 import com.sqllearningapp.ui.components.*;
 import com.sqllearningapp.ui.dialogs.AboutDialog;
@@ -9,6 +14,7 @@ import com.sqllearningapp.ui.dialogs.SettingsDialog;
 import com.sqllearningapp.ui.utils.UIUtils;
 import com.sqllearningapp.utils.ConfigManager;
 import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
 import javafx.scene.Scene;
@@ -17,12 +23,13 @@ import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyCodeCombination;
 import javafx.scene.input.KeyCombination;
 import javafx.scene.layout.*;
-import javafx.scene.web.WebView;
+import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -39,8 +46,13 @@ public class MainWindow {
     private final PracticeService practiceService;
     private final ProgressTrackingService progressTrackingService;
     private final DatabaseBrowserService databaseBrowserService;
+    private final QueryExecutionService queryExecutionService;
+    private final AnswerPrecheckService answerPrecheckService;
+    private final SearchService searchService;
+    private final PrefetchService prefetchService;
 
     // UI Components
+    private final WebViewPool webViewPool = new WebViewPool();
     private Stage primaryStage;
     private BorderPane root;
     private TabPane mainTabPane;
@@ -68,17 +80,21 @@ public class MainWindow {
     private Button resetBtn;
     private Button showTablesBtn;
     private Button resetQuestionBtn;
+    private CheckBox autoRollbackCheck;
     private ResultsPanel resultsPanel;
     private Label currentQuestionLabel;
     private Label difficultyLabel;
     private Label questionTitleLabel;
-    private WebView questionDescriptionWebView;
+    private QuestionDescriptionView questionDescriptionView;
     private Label executionTimeLabel;
     private Label statusLabel;
 
     // Database Browser Tab
     private DatabaseBrowser databaseBrowser;
 
+    // Global search
+    private CommandPalette commandPalette;
+
     // Progress and Statistics
     private ProgressTracker progressTracker;
     private Label statisticsLabel;
@@ -95,14 +111,19 @@ public class MainWindow {
                       ConfigManager configManager,
                       LearningContentService learningContentService,
                       PracticeService practiceService,
-                      ProgressTrackingService progressTrackingService) {
+                      ProgressTrackingService progressTrackingService,
+                      QueryExecutionService queryExecutionService) {
 
         this.database = database;
         this.configManager = configManager;
         this.learningContentService = learningContentService;
         this.practiceService = practiceService;
         this.progressTrackingService = progressTrackingService;
-        this.databaseBrowserService = new DatabaseBrowserService(database);
+        this.queryExecutionService = queryExecutionService;
+        this.databaseBrowserService = new DatabaseBrowserService(database, queryExecutionService);
+        this.answerPrecheckService = new AnswerPrecheckService(database, queryExecutionService, practiceService);
+        this.searchService = new SearchService(learningContentService, practiceService, databaseBrowserService);
+        this.prefetchService = new PrefetchService(database, queryExecutionService, learningContentService);
 
         initializeComponents();
         buildUI();
@@ -116,17 +137,21 @@ public class MainWindow {
 
         // Learning components
         topicTreeView = new TopicTreeView(learningContentService);
-        learningPanel = new LearningPanel();
+        learningPanel = new LearningPanel(learningContentService, webViewPool);
+        prefetchService.setTopicRenderer(learningPanel.getPageRenderer()::prerender);
+        prefetchService.setQuestionRenderer(question -> questionDescriptionView.prepare(question));
 
         // Practice components
         sqlEditor = new SqlEditor();
         resultsPanel = new ResultsPanel();
-        databaseBrowser = new DatabaseBrowser(databaseBrowserService);
+        resultsPanel.setResultExporter(new ResultExporter(database, configManager));
+        databaseBrowser = new DatabaseBrowser(databaseBrowserService, queryExecutionService);
+        commandPalette = new CommandPalette(searchService, this::openSearchResult);
         progressTracker = new ProgressTracker(progressTrackingService);
 
-        // Initialize question description WebView
-        questionDescriptionWebView = new WebView();
-        questionDescriptionWebView.setPrefHeight(200);
+        // Question descriptions render as native nodes; a pooled WebView is used only as a fallback
+        questionDescriptionView = new QuestionDescriptionView(webViewPool);
+        questionDescriptionView.setPrefHeight(200);
 
         log.debug("All UI components initialized successfully");
     }
@@ -179,6 +204,9 @@ public class MainWindow {
         saveQueryMenuItem.setOnAction(e -> saveQuery());
         saveQueryMenuItem.setAccelerator(new KeyCodeCombination(KeyCode.S, KeyCombination.CONTROL_DOWN));
 
+        MenuItem importCsvMenuItem = new MenuItem("Import CSV...");
+        importCsvMenuItem.setOnAction(e -> importCsv());
+
         MenuItem exportProgressMenuItem = new MenuItem("Export Progress");
         exportProgressMenuItem.setOnAction(e -> exportProgress());
 
@@ -188,7 +216,7 @@ public class MainWindow {
 
         fileMenu.getItems().addAll(
                 newQueryMenuItem, openQueryMenuItem, saveQueryMenuItem,
-                new SeparatorMenuItem(), exportProgressMenuItem,
+                new SeparatorMenuItem(), importCsvMenuItem, exportProgressMenuItem,
                 new SeparatorMenuItem(), exitMenuItem
         );
 
@@ -231,6 +259,10 @@ public class MainWindow {
         MenuItem queryHistoryMenuItem = new MenuItem("Query History");
         queryHistoryMenuItem.setOnAction(e -> showQueryHistory());
 
+        MenuItem searchMenuItem = new MenuItem("Search Everything...");
+        searchMenuItem.setOnAction(e -> showCommandPalette());
+        searchMenuItem.setAccelerator(new KeyCodeCombination(KeyCode.K, KeyCombination.CONTROL_DOWN));
+
         CheckMenuItem lineNumbersMenuItem = new CheckMenuItem("Show Line Numbers");
         lineNumbersMenuItem.setSelected(true);
         lineNumbersMenuItem.setOnAction(e -> toggleLineNumbers(lineNumbersMenuItem.isSelected()));
@@ -252,7 +284,7 @@ public class MainWindow {
         fullScreenMenuItem.setOnAction(e -> toggleFullScreen());
 
         viewMenu.getItems().addAll(
-                dbBrowserMenuItem, queryHistoryMenuItem,
+                dbBrowserMenuItem, queryHistoryMenuItem, searchMenuItem, new SeparatorMenuItem(),
                 lineNumbersMenuItem, wordWrapMenuItem, new SeparatorMenuItem(),
                 zoomInMenuItem, zoomOutMenuItem, resetZoomMenuItem, new SeparatorMenuItem(),
                 fullScreenMenuItem
@@ -271,12 +303,26 @@ public class MainWindow {
         MenuItem performanceMenuItem = new MenuItem("Performance Tips");
         performanceMenuItem.setOnAction(e -> showPerformanceTips());
 
+        MenuItem queryStatsMenuItem = new MenuItem("Query Statistics");
+        queryStatsMenuItem.setOnAction(e -> showQueryStatistics());
+
+        MenuItem generateDataMenuItem = new MenuItem("Generate Practice Data...");
+        generateDataMenuItem.setOnAction(e -> generatePracticeData());
+
+        MenuItem batchGradeMenuItem = new MenuItem("Batch Grade Submissions (CSV)...");
+        batchGradeMenuItem.setOnAction(e -> batchGrade(false));
+
+        MenuItem batchGradeFolderMenuItem = new MenuItem("Batch Grade Submissions (Folder)...");
+        batchGradeFolderMenuItem.setOnAction(e -> batchGrade(true));
+
         MenuItem settingsMenuItem = new MenuItem("Settings");
         settingsMenuItem.setOnAction(e -> showSettings());
         settingsMenuItem.setAccelerator(new KeyCodeCombination(KeyCode.COMMA, KeyCombination.CONTROL_DOWN));
 
         toolsMenu.getItems().addAll(
-                formatMenuItem, analyzeMenuItem, performanceMenuItem,
+                formatMenuItem, analyzeMenuItem, performanceMenuItem, queryStatsMenuItem,
+                new SeparatorMenuItem(), generateDataMenuItem,
+                new SeparatorMenuItem(), batchGradeMenuItem, batchGradeFolderMenuItem,
                 new SeparatorMenuItem(), settingsMenuItem
         );
 
@@ -509,7 +555,7 @@ public class MainWindow {
         questionTitleLabel.getStyleClass().add("question-title");
         questionTitleLabel.setWrapText(true);
 
-        questionDescriptionWebView.getStyleClass().add("question-description");
+        questionDescriptionView.getStyleClass().add("question-description");
 
         // SQL Editor with toolbar (exactly like your original)
         ToolBar executionBar = new ToolBar();
@@ -530,6 +576,12 @@ public class MainWindow {
         showTablesBtn = new Button("📋 Show Tables");
         showTablesBtn.getStyleClass().addAll("tables-btn", "info");
 
+        autoRollbackCheck = new CheckBox("↩ Auto-rollback DML");
+        autoRollbackCheck.getStyleClass().add("auto-rollback-check");
+        autoRollbackCheck.setSelected(configManager.getConfig().isAutoRollbackDml());
+        autoRollbackCheck.setTooltip(new Tooltip(
+                "Run INSERT/UPDATE/DELETE in a transaction, show the resulting table, then roll back"));
+
         Spacer toolbarSpacer = new Spacer();
 
         // Execution time and status
@@ -539,7 +591,7 @@ public class MainWindow {
         executionBar.getItems().addAll(
                 executeBtn, validateBtn, submitBtn,
                 new Separator(Orientation.VERTICAL),
-                resetBtn, showTablesBtn, toolbarSpacer, executionTimeLabel
+                resetBtn, showTablesBtn, autoRollbackCheck, toolbarSpacer, executionTimeLabel
         );
 
         // SQL Editor
@@ -547,7 +599,7 @@ public class MainWindow {
         VBox.setVgrow(sqlEditor, Priority.ALWAYS);
 
         centerPanel.getChildren().addAll(
-                questionHeader, questionTitleLabel, questionDescriptionWebView,
+                questionHeader, questionTitleLabel, questionDescriptionView,
                 executionBar, sqlEditor
         );
 
@@ -627,6 +679,7 @@ public class MainWindow {
             }
         });
 
+        learningPanel.setOnTopicSelected(this::selectTopicInTree);
         prevTopicBtn.setOnAction(e -> navigateToPreviousTopic());
         nextTopicBtn.setOnAction(e -> navigateToNextTopic());
 
@@ -647,10 +700,16 @@ public class MainWindow {
         resetBtn.setOnAction(e -> resetDatabase());
         showTablesBtn.setOnAction(e -> showTables());
         resetQuestionBtn.setOnAction(e -> resetQuestion());
+        autoRollbackCheck.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            configManager.getConfig().setAutoRollbackDml(newVal);
+            configManager.saveConfiguration();
+        });
 
         // SQL Editor events
         sqlEditor.addEventHandler(SqlEditor.SqlEditorEvent.EXECUTE_QUERY, e -> executeSql());
         sqlEditor.addEventHandler(SqlEditor.SqlEditorEvent.SUBMIT_ANSWER, e -> submitAnswer());
+        sqlEditor.textProperty().addListener((obs, oldText, newText) ->
+                answerPrecheckService.submit(newText, currentQuestionId, this::showPrecheck));
 
         log.debug("All event handlers set up successfully");
     }
@@ -667,9 +726,6 @@ public class MainWindow {
         log.info("Loading initial application data...");
 
         Platform.runLater(() -> {
-            // Load learning topics
-            topicTreeView.setRoot(learningContentService.getLearningTopicsTree());
-
             // Load practice questions
             loadAllQuestions();
 
@@ -681,6 +737,9 @@ public class MainWindow {
             // Select first tab
             mainTabPane.getSelectionModel().selectFirst();
 
+            // Tables and columns join the search index once read
+            refreshSearchSchema();
+
             log.info("Initial data loaded successfully");
         });
     }
@@ -692,7 +751,8 @@ public class MainWindow {
 
         currentTopic = topic;
         String content = learningContentService.getTopicContent(topic);
-        learningPanel.setContent(content);
+        learningPanel.setContent(content, topic);
+        prefetchService.prefetchTopicsAround(topic);
 
         // Update navigation buttons
         updateTopicNavigation();
@@ -700,6 +760,7 @@ public class MainWindow {
         // Track progress
         progressTrackingService.recordTopicView(topic);
         updateLearningProgress();
+        topicTreeView.refreshTopicStatus();
 
         statusLabel.setText("Viewing: " + topic);
     }
@@ -735,27 +796,7 @@ public class MainWindow {
     }
 
     private void selectTopicInTree(String topicName) {
-        TreeItem<String> root = topicTreeView.getRoot();
-        TreeItem<String> item = findTreeItem(root, topicName);
-        if (item != null) {
-            topicTreeView.getSelectionModel().select(item);
-            topicTreeView.scrollTo(topicTreeView.getSelectionModel().getSelectedIndex());
-        }
-    }
-
-    private TreeItem<String> findTreeItem(TreeItem<String> parent, String value) {
-        if (parent.getValue() != null && parent.getValue().equals(value)) {
-            return parent;
-        }
-
-        for (TreeItem<String> child : parent.getChildren()) {
-            TreeItem<String> result = findTreeItem(child, value);
-            if (result != null) {
-                return result;
-            }
-        }
-
-        return null;
+        topicTreeView.selectTopic(topicName);
     }
 
     private void updateLearningProgress() {
@@ -838,6 +879,7 @@ public class MainWindow {
             if (selectedIndex < questions.size()) {
                 var question = questions.get(selectedIndex);
                 loadQuestion(question);
+                prefetchService.prefetchQuestionsAround(questions, selectedIndex);
             }
         }
     }
@@ -852,9 +894,8 @@ public class MainWindow {
                 question.getDifficulty().getDisplayName());
         questionTitleLabel.setText(question.getTitle());
 
-        // Load question description in WebView
-        String htmlContent = createQuestionHTML(question.getDescription());
-        questionDescriptionWebView.getEngine().loadContent(htmlContent, "text/html");
+        // Show question description
+        questionDescriptionView.show(question);
 
         // Clear previous results
         resultsPanel.clear();
@@ -872,66 +913,6 @@ public class MainWindow {
         log.debug("Loaded question: {} ({})", question.getTitle(), question.getId());
     }
 
-    private String createQuestionHTML(String content) {
-        String template = """
-    <!DOCTYPE html>
-    <html>
-    <head>
-        <meta charset="UTF-8">
-        <style>
-            body { 
-                font-family: -apple-system, BlinkMacSystemFont, 'Segoe UI', Roboto, sans-serif;
-                margin: 0; 
-                padding: 16px;
-                background-color: white;
-                color: #0f172a;
-                line-height: 1.6;
-                font-size: 14px;
-            }
-            h3 { color: #2563eb; margin-bottom: 16px; font-size: 18px; }
-            h4 { color: #059669; margin-top: 24px; margin-bottom: 12px; font-size: 16px; }
-            h5 { color: #d97706; margin-top: 16px; margin-bottom: 8px; font-size: 14px; }
-            p { margin-bottom: 12px; }
-            code { 
-                background-color: #f1f5f9; 
-                padding: 2px 6px; 
-                border-radius: 4px; 
-                font-family: 'Monaco', 'Consolas', monospace;
-                font-size: 13px;
-            }
-            table { 
-                border-collapse: collapse; 
-                width: 100%; 
-                margin: 16px 0; 
-                border: 2px solid #e2e8f0;
-                font-size: 13px;
-            }
-            th { 
-                background-color: #f8fafc; 
-                border: 1px solid #cbd5e1; 
-                padding: 10px; 
-                text-align: left; 
-                font-weight: 600;
-            }
-            td { 
-                border: 1px solid #cbd5e1; 
-                padding: 8px;
-            }
-            tr:nth-child(even) { 
-                background-color: #f8fafc;
-            }
-        </style>
-    </head>
-    <body>
-    CONTENT_PLACEHOLDER
-    </body>
-    </html>
-    """;
-
-        // Safe replacement without format interpretation
-        return template.replace("CONTENT_PLACEHOLDER", content);
-    }
-
     // ===== SQL EXECUTION METHODS (PRESERVING YOUR ORIGINAL LOGIC) =====
 
     private void executeSql() {
@@ -946,32 +927,75 @@ public class MainWindow {
         queryStartTime = System.currentTimeMillis();
         totalQueriesExecuted++;
 
-        // Execute in background thread to avoid blocking UI
-        Platform.runLater(() -> {
-            try {
-                var result = database.getPracticeConnection();
-                var queryExecutor = new com.sqllearningapp.core.database.QueryExecutor(database);
-                var queryResult = queryExecutor.executeQuery(sql, true);
+        int statementCount = SqlScriptSplitter.split(sql).size();
+        boolean autoRollback = autoRollbackCheck.isSelected();
+
+        // Execute on the shared query pool to avoid blocking UI
+        Task<List<com.sqllearningapp.core.models.QueryResult>> task = new Task<>() {
+            @Override
+            protected List<com.sqllearningapp.core.models.QueryResult> call() {
+                if (statementCount > 1) {
+                    // Scripts run statement by statement and are committed; auto-rollback
+                    // previews apply to single statements only
+                    return queryExecutionService.executeScript(sql, true);
+                }
+                return List.of(autoRollback ?
+                        queryExecutionService.executeWithRollback(sql) :
+                        queryExecutionService.executeQuery(sql, true));
+            }
+        };
+
+        task.setOnSucceeded(e -> {
+            long executionTime = System.currentTimeMillis() - queryStartTime;
+            executeBtn.setDisable(false);
 
-                long executionTime = System.currentTimeMillis() - queryStartTime;
-                displayExecutionResult(queryResult, executionTime);
+            if (statementCount > 1) {
+                var scriptResults = task.getValue();
+                executionTimeLabel.setText(String.format("Execution time: %dms", executionTime));
+                resultsPanel.displayScriptResults(scriptResults, executionTime);
 
-                executeBtn.setDisable(false);
-                statusLabel.setText(queryResult.isSuccess() ? "Executed successfully" : "Execution failed");
+                boolean allSucceeded = scriptResults.size() == statementCount &&
+                        scriptResults.stream().allMatch(r -> r.isSuccess());
+                statusLabel.setText(allSucceeded ?
+                        String.format("Executed %d statements successfully", statementCount) :
+                        String.format("Script stopped at statement %d of %d", scriptResults.size(), statementCount));
 
-                if (queryResult.isSuccess()) {
+                if (allSucceeded) {
                     successfulQueries++;
                 }
+                if (scriptResults.stream().anyMatch(r -> r.isSuccess())) {
+                    searchService.recordQuery(sql);
+                }
+                if (scriptResults.stream().anyMatch(r -> r.isSuccess() && changesSchema(r))) {
+                    refreshSearchSchema();
+                }
                 updateStatistics();
+                return;
+            }
 
-            } catch (Exception e) {
-                executeBtn.setDisable(false);
-                statusLabel.setText("Execution failed: " + e.getMessage());
-                long executionTime = System.currentTimeMillis() - queryStartTime;
-                executionTimeLabel.setText(String.format("Execution time: %dms", executionTime));
-                log.error("SQL execution failed", e);
+            var queryResult = task.getValue().get(0);
+            displayExecutionResult(queryResult, executionTime);
+            statusLabel.setText(queryResult.isSuccess() ? "Executed successfully" : "Execution failed");
+
+            if (queryResult.isSuccess()) {
+                successfulQueries++;
+                searchService.recordQuery(sql);
+                if (changesSchema(queryResult)) {
+                    refreshSearchSchema();
+                }
             }
+            updateStatistics();
         });
+
+        task.setOnFailed(e -> {
+            executeBtn.setDisable(false);
+            statusLabel.setText("Execution failed: " + task.getException().getMessage());
+            long executionTime = System.currentTimeMillis() - queryStartTime;
+            executionTimeLabel.setText(String.format("Execution time: %dms", executionTime));
+            log.error("SQL execution failed", task.getException());
+        });
+
+        queryExecutionService.submit(task);
     }
 
     private void displayExecutionResult(com.sqllearningapp.core.models.QueryResult result, long executionTime) {
@@ -991,16 +1015,25 @@ public class MainWindow {
             return;
         }
 
-        var queryExecutor = new com.sqllearningapp.core.database.QueryExecutor(database);
-        var result = queryExecutor.validateSql(sql);
+        answerPrecheckService.checkNow(sql, currentQuestionId, this::showPrecheck);
+    }
 
-        if (result.isValid()) {
-            statusLabel.setText("✓ SQL syntax is valid");
-            statusLabel.setStyle("-fx-text-fill: #059669;");
-        } else {
-            statusLabel.setText("✗ " + result.getMessage());
-            statusLabel.setStyle("-fx-text-fill: #dc2626;");
-        }
+    /**
+     * Show the outcome of a background syntax check, called off the FX thread
+     */
+    private void showPrecheck(AnswerPrecheckService.Precheck precheck) {
+        Platform.runLater(() -> {
+            if (!precheck.getSql().equals(sqlEditor.getText().trim())) {
+                return; // edited again since the check started
+            }
+            if (precheck.isValid()) {
+                statusLabel.setText("✓ SQL syntax is valid");
+                statusLabel.setStyle("-fx-text-fill: #059669;");
+            } else {
+                statusLabel.setText("✗ " + precheck.getMessage());
+                statusLabel.setStyle("-fx-text-fill: #dc2626;");
+            }
+        });
     }
 
     private void submitAnswer() {
@@ -1015,15 +1048,27 @@ public class MainWindow {
             return;
         }
 
-        // Validate answer
-        var validationResult = practiceService.validateAnswer(currentQuestionId, userQuery);
+        // Validate answer, reusing the background evaluation when the text has not changed since
+        String questionId = currentQuestionId;
+        var precomputed = answerPrecheckService.takeEvaluation(questionId, userQuery).orElse(null);
+        Task<PracticeService.ValidationResult> task = new Task<>() {
+            @Override
+            protected PracticeService.ValidationResult call() {
+                return practiceService.validateAnswer(questionId, userQuery, precomputed);
+            }
+        };
 
-        Platform.runLater(() -> {
+        task.setOnSucceeded(e -> {
+            submitBtn.setDisable(false);
+            var validationResult = task.getValue();
             if (validationResult.isCorrect()) {
                 UIUtils.showSuccess("Correct Answer!", validationResult.getFormattedMessage());
                 progressTrackingService.recordQuestionCompletion(
-                        currentQuestionId, true, validationResult.getPointsEarned());
+                        questionId, true, validationResult.getPointsEarned());
             } else {
+                if (validationResult.getDiff() != null) {
+                    resultsPanel.displayDiff(validationResult.getDiff());
+                }
                 UIUtils.showError("Incorrect Answer", validationResult.getMessage());
                 if (validationResult.getHint() != null && !validationResult.getHint().isEmpty()) {
                     UIUtils.showInfo("Hint", validationResult.getHint());
@@ -1033,17 +1078,131 @@ public class MainWindow {
             updatePracticeProgress();
             updateStatistics();
         });
+
+        task.setOnFailed(e -> {
+            submitBtn.setDisable(false);
+            UIUtils.showError("Validation Failed", "Could not check your answer: " + task.getException().getMessage());
+            log.error("Failed to validate answer for {}", questionId, task.getException());
+        });
+
+        submitBtn.setDisable(true);
+        queryExecutionService.submit(task);
     }
 
     private void resetDatabase() {
-        try {
-            database.resetPracticeDatabase();
+        // The reset replaces the shared practice connection, so it waits for work still using it
+        Task<Void> task = new Task<>() {
+            @Override
+            protected Void call() throws Exception {
+                queryExecutionService.call(() -> {
+                    database.resetPracticeDatabase();
+                    return null;
+                });
+                return null;
+            }
+        };
+
+        task.setOnSucceeded(e -> {
+            resetBtn.setDisable(false);
             resultsPanel.displayMessage("Database reset successfully!", "success");
             statusLabel.setText("Database reset completed");
-        } catch (Exception e) {
-            resultsPanel.displayMessage("Failed to reset database: " + e.getMessage(), "error");
-            log.error("Failed to reset database", e);
+            refreshSearchSchema();
+        });
+
+        task.setOnFailed(e -> {
+            resetBtn.setDisable(false);
+            resultsPanel.displayMessage("Failed to reset database: " + task.getException().getMessage(), "error");
+            statusLabel.setText("Database reset failed");
+            log.error("Failed to reset database", task.getException());
+        });
+
+        resetBtn.setDisable(true);
+        statusLabel.setText("Resetting database...");
+        queryExecutionService.submit(task);
+    }
+
+    private void generatePracticeData() {
+        var config = configManager.getConfig();
+        Optional<String> input = UIUtils.showTextInput("Generate Practice Data",
+                String.format("Scale factor (%d-%d, 1x adds ~6,700 rows):",
+                        SampleDataGenerator.MIN_SCALE_FACTOR, SampleDataGenerator.MAX_SCALE_FACTOR),
+                String.valueOf(config.getPracticeDataScale()));
+        if (input.isEmpty()) {
+            return;
         }
+
+        int scaleFactor;
+        try {
+            scaleFactor = Integer.parseInt(input.get().trim());
+            if (scaleFactor < SampleDataGenerator.MIN_SCALE_FACTOR || scaleFactor > SampleDataGenerator.MAX_SCALE_FACTOR) {
+                throw new NumberFormatException();
+            }
+        } catch (NumberFormatException e) {
+            UIUtils.showError("Invalid Scale Factor", String.format("Please enter a whole number between %d and %d.",
+                    SampleDataGenerator.MIN_SCALE_FACTOR, SampleDataGenerator.MAX_SCALE_FACTOR));
+            return;
+        }
+
+        config.setPracticeDataScale(scaleFactor);
+        configManager.saveConfiguration();
+
+        Task<SampleDataGenerator.GenerationReport> task = new Task<>() {
+            @Override
+            protected SampleDataGenerator.GenerationReport call() throws Exception {
+                return new SampleDataGenerator(database).generate(scaleFactor, config.getPracticeDataSeed());
+            }
+        };
+
+        task.setOnSucceeded(e -> {
+            var report = task.getValue();
+            resultsPanel.displayMessage(String.format("Generated %,d rows at %dx scale in %,d ms (%,d rows/s)",
+                    report.getTotalRows(), report.getScaleFactor(), report.getElapsedMs(),
+                    report.getRowsPerSecond()), "success");
+            statusLabel.setText("Practice data generated");
+        });
+
+        task.setOnFailed(e -> {
+            resultsPanel.displayMessage("Failed to generate practice data: " +
+                    task.getException().getMessage(), "error");
+            statusLabel.setText("Data generation failed");
+            log.error("Failed to generate practice data", task.getException());
+        });
+
+        statusLabel.setText(String.format("Generating practice data at %dx scale...", scaleFactor));
+        Thread thread = new Thread(task, "practice-data-generator");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Refresh the STATS.QUERY_STATS mirror and show its top queries in the results panel;
+     * the editor is left alone, the same query can be run from it by hand
+     */
+    private void showQueryStatistics() {
+        Task<com.sqllearningapp.core.models.QueryResult> task = new Task<>() {
+            @Override
+            protected com.sqllearningapp.core.models.QueryResult call() throws Exception {
+                database.getQueryStatistics().flush();
+                return queryExecutionService.executeQuery(QueryStatistics.TOP_QUERIES_SQL, true);
+            }
+        };
+
+        task.setOnSucceeded(e -> {
+            var result = task.getValue();
+            displayExecutionResult(result, result.getExecutionTimeMs());
+            statusLabel.setText(result.isSuccess() ?
+                    String.format("Query statistics: %d statement(s)", result.getRowCount()) :
+                    "Failed to load query statistics");
+        });
+
+        task.setOnFailed(e -> {
+            resultsPanel.displayMessage("Failed to refresh query statistics: " +
+                    task.getException().getMessage(), "error");
+            log.error("Failed to refresh query statistics", task.getException());
+        });
+
+        statusLabel.setText("Refreshing query statistics...");
+        queryExecutionService.submit(task);
     }
 
     private void showTables() {
@@ -1126,6 +1285,135 @@ public class MainWindow {
         }
     }
 
+    private void importCsv() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Import CSV into Practice Database");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Delimited Files", "*.csv", "*.tsv", "*.txt"),
+                new FileChooser.ExtensionFilter("All Files", "*.*")
+        );
+
+        File file = fileChooser.showOpenDialog(primaryStage);
+        if (file == null) {
+            return;
+        }
+
+        String defaultName = CsvImporter.sanitizeIdentifier(file.getName().replaceFirst("\\.[^.]+$", ""));
+        Optional<String> tableName = UIUtils.showTextInput("Import CSV", "Table name:", defaultName);
+        if (tableName.isEmpty() || tableName.get().isBlank()) {
+            return;
+        }
+
+        Task<CsvImporter.ImportReport> task = new Task<>() {
+            @Override
+            protected CsvImporter.ImportReport call() throws Exception {
+                return new CsvImporter(database).importFile(file.toPath(), tableName.get(),
+                        (bytesRead, totalBytes, rowsImported) -> {
+                            updateProgress(bytesRead, totalBytes);
+                            updateMessage(String.format("Importing %s: %,d rows", file.getName(), rowsImported));
+                        });
+            }
+        };
+
+        task.progressProperty().addListener((obs, oldVal, newVal) ->
+                resultsPanel.showProgress(task.getMessage(), newVal.doubleValue()));
+
+        task.setOnSucceeded(e -> {
+            var report = task.getValue();
+            resultsPanel.hideLoading();
+            resultsPanel.displayMessage(String.format("Imported %,d rows into %s in %,d ms%s",
+                    report.getRowsImported(), report.getTableName(), report.getElapsedMs(),
+                    report.getRowsRejected() > 0 ?
+                            String.format(" (%,d malformed rows skipped)", report.getRowsRejected()) : ""),
+                    "success");
+            statusLabel.setText("Imported: " + file.getName());
+            refreshSearchSchema();
+        });
+
+        task.setOnFailed(e -> {
+            resultsPanel.hideLoading();
+            resultsPanel.displayMessage("Failed to import " + file.getName() + ": " +
+                    task.getException().getMessage(), "error");
+            statusLabel.setText("Import failed");
+            log.error("Failed to import {}", file, task.getException());
+        });
+
+        resultsPanel.showProgress("Importing " + file.getName() + "...", 0);
+        Thread thread = new Thread(task, "csv-import");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Grade a class's submissions: a CSV of student, question_id and sql columns,
+     * or a folder with one subfolder per student holding {@code <questionId>.sql} files
+     */
+    private void batchGrade(boolean fromFolder) {
+        File input;
+        if (fromFolder) {
+            DirectoryChooser directoryChooser = new DirectoryChooser();
+            directoryChooser.setTitle("Select Submissions Folder");
+            input = directoryChooser.showDialog(primaryStage);
+        } else {
+            FileChooser fileChooser = new FileChooser();
+            fileChooser.setTitle("Select Submissions File");
+            fileChooser.getExtensionFilters().addAll(
+                    new FileChooser.ExtensionFilter("Delimited Files", "*.csv", "*.tsv", "*.txt"),
+                    new FileChooser.ExtensionFilter("All Files", "*.*")
+            );
+            input = fileChooser.showOpenDialog(primaryStage);
+        }
+        if (input == null) {
+            return;
+        }
+
+        FileChooser reportChooser = new FileChooser();
+        reportChooser.setTitle("Save Grading Report");
+        reportChooser.setInitialFileName("grading-report.csv");
+        reportChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        File reportFile = reportChooser.showSaveDialog(primaryStage);
+        if (reportFile == null) {
+            return;
+        }
+
+        Task<BatchGradingService.BatchReport> task = new Task<>() {
+            @Override
+            protected BatchGradingService.BatchReport call() throws Exception {
+                return new BatchGradingService(database, queryExecutionService, practiceService)
+                        .gradeFile(input.toPath(), reportFile.toPath(), (graded, submitted) -> {
+                            updateProgress(graded, submitted);
+                            updateMessage(String.format("Grading submissions: %,d of %,d", graded, submitted));
+                        });
+            }
+        };
+
+        task.progressProperty().addListener((obs, oldVal, newVal) ->
+                resultsPanel.showProgress(task.getMessage(), newVal.doubleValue()));
+
+        task.setOnSucceeded(e -> {
+            var report = task.getValue();
+            resultsPanel.hideLoading();
+            resultsPanel.displayMessage(String.format(
+                    "Graded %,d submissions in %,d ms (%,.0f per minute, %d sandboxes): %,d correct, %,d errors. Report: %s",
+                    report.getSubmissions(), report.getElapsedMs(), report.getSubmissionsPerMinute(),
+                    report.getSandboxes(), report.getCorrect(), report.getErrors(), reportFile.getName()),
+                    "success");
+            statusLabel.setText("Graded: " + input.getName());
+        });
+
+        task.setOnFailed(e -> {
+            resultsPanel.hideLoading();
+            resultsPanel.displayMessage("Batch grading failed: " + task.getException().getMessage(), "error");
+            statusLabel.setText("Batch grading failed");
+            log.error("Failed to grade {}", input, task.getException());
+        });
+
+        resultsPanel.showProgress("Grading " + input.getName() + "...", 0);
+        Thread thread = new Thread(task, "batch-grading");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
     private void saveQuery() {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Save SQL Query");
@@ -1170,7 +1458,105 @@ public class MainWindow {
     }
 
     private void showQueryHistory() {
-        UIUtils.showInfo("Query History", "Query history feature coming soon!");
+        List<String> history = searchService.getQueryHistory();
+        if (history.isEmpty()) {
+            UIUtils.showInfo("Query History", "No queries have been run in this session yet.");
+            return;
+        }
+
+        ListView<String> historyList = new ListView<>();
+        historyList.getItems().setAll(history);
+        historyList.getSelectionModel().selectFirst();
+        historyList.setPrefSize(640, 360);
+
+        Dialog<String> dialog = new Dialog<>();
+        dialog.initOwner(primaryStage);
+        dialog.setTitle("Query History");
+        dialog.setHeaderText("Queries run in this session, most recent first");
+        ButtonType loadButton = new ButtonType("Load into Editor", ButtonBar.ButtonData.OK_DONE);
+        dialog.getDialogPane().getButtonTypes().addAll(loadButton, ButtonType.CANCEL);
+        dialog.getDialogPane().setContent(historyList);
+        dialog.setResultConverter(button -> button == loadButton ?
+                historyList.getSelectionModel().getSelectedItem() : null);
+        historyList.setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2 && historyList.getSelectionModel().getSelectedItem() != null) {
+                dialog.setResult(historyList.getSelectionModel().getSelectedItem());
+                dialog.close();
+            }
+        });
+
+        dialog.showAndWait().ifPresent(this::loadQueryIntoEditor);
+    }
+
+    // ===== GLOBAL SEARCH =====
+
+    private void showCommandPalette() {
+        commandPalette.open(primaryStage);
+    }
+
+    private void openSearchResult(SearchService.SearchResult result) {
+        switch (result.getKind()) {
+            case TOPIC -> {
+                mainTabPane.getSelectionModel().select(0); // Learn tab
+                selectTopicInTree(result.getTarget());
+            }
+            case QUESTION -> openQuestion(result.getTarget());
+            case TABLE -> {
+                showDatabaseBrowser();
+                databaseBrowser.selectTable(result.getTarget());
+            }
+            case COLUMN -> {
+                showDatabaseBrowser();
+                databaseBrowser.selectTable(result.getTarget().substring(0, result.getTarget().lastIndexOf('.')));
+            }
+            case HISTORY -> loadQueryIntoEditor(result.getTarget());
+        }
+        statusLabel.setText(result.getKind().getDisplayName() + ": " + result.getTitle());
+    }
+
+    private void openQuestion(String questionId) {
+        mainTabPane.getSelectionModel().select(1); // Practice tab
+        allLevelsRadio.setSelected(true);
+
+        List<com.sqllearningapp.core.models.PracticeQuestion> questions = practiceService.getAllQuestions();
+        for (int i = 0; i < questions.size(); i++) {
+            if (questions.get(i).getId().equals(questionId)) {
+                int index = i;
+                // The list is refilled on a later pulse when the filter changes
+                Platform.runLater(() -> {
+                    questionsList.getSelectionModel().select(index);
+                    questionsList.scrollTo(index);
+                });
+                return;
+            }
+        }
+    }
+
+    private void loadQueryIntoEditor(String sql) {
+        mainTabPane.getSelectionModel().select(1); // Practice tab
+        sqlEditor.setQuery(sql);
+        sqlEditor.requestFocus();
+    }
+
+    /**
+     * Only DDL adds or removes the tables and columns search knows about
+     */
+    private static boolean changesSchema(com.sqllearningapp.core.models.QueryResult result) {
+        String queryType = result.getQueryType();
+        return "CREATE".equals(queryType) || "DROP".equals(queryType) || "ALTER".equals(queryType);
+    }
+
+    /**
+     * Re-read tables and columns for search in the background
+     */
+    private void refreshSearchSchema() {
+        queryExecutionService.submit(() -> {
+            try {
+                searchService.refreshSchema();
+            } catch (Exception e) {
+                log.warn("Failed to refresh search schema: {}", e.getMessage());
+            }
+        });
     }
 
     private void toggleLineNumbers(boolean show) {
@@ -1282,6 +1668,9 @@ public class MainWindow {
             configManager.getConfig().setWindowHeight(stage.getHeight());
             configManager.getConfig().setMaximized(stage.isMaximized());
             configManager.saveConfiguration();
+            answerPrecheckService.shutdown();
+            prefetchService.shutdown();
+            log.info("Web views: {}", webViewPool.getStatistics());
         });
 
         log.info("Main window displayed successfully");
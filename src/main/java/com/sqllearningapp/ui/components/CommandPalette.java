@@ -0,0 +1,149 @@
+package com.sqllearningapp.ui.components;
+
+import com.sqllearningapp.core.services.SearchService;
+import javafx.geometry.Insets;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.stage.Popup;
+import javafx.stage.Window;
+
+import java.util.function.Consumer;
+
+/**
+ * Ctrl+K search palette over topics, questions, schema objects and query history.
+ * Searching runs on the FX thread as the user types; the index answers in microseconds.
+ */
+public class CommandPalette extends Popup {
+
+    private static final int MAX_RESULTS = 12;
+    private static final double WIDTH = 560;
+
+    private final SearchService searchService;
+    private final Consumer<SearchService.SearchResult> onOpen;
+    private final TextField queryField;
+    private final ListView<SearchService.SearchResult> resultsList;
+    private final Label footerLabel;
+
+    public CommandPalette(SearchService searchService, Consumer<SearchService.SearchResult> onOpen) {
+        this.searchService = searchService;
+        this.onOpen = onOpen;
+
+        queryField = new TextField();
+        queryField.setPromptText("Search topics, questions, tables, columns and history...");
+        queryField.getStyleClass().add("palette-query");
+
+        resultsList = new ListView<>();
+        resultsList.getStyleClass().add("palette-results");
+        resultsList.setCellFactory(list -> new ResultCell());
+        resultsList.setPrefHeight(360);
+        resultsList.setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2) openSelected();
+        });
+
+        footerLabel = new Label("↑↓ to move · Enter to open · Esc to close");
+        footerLabel.getStyleClass().add("palette-footer");
+
+        VBox content = new VBox(8, queryField, resultsList, footerLabel);
+        content.setPadding(new Insets(12));
+        content.setPrefWidth(WIDTH);
+        content.getStyleClass().add("command-palette");
+        getContent().add(content);
+
+        setAutoHide(true);
+        setHideOnEscape(true);
+
+        queryField.textProperty().addListener((obs, oldText, newText) -> updateResults(newText));
+        queryField.setOnKeyPressed(e -> {
+            switch (e.getCode()) {
+                case DOWN -> {
+                    moveSelection(1);
+                    e.consume();
+                }
+                case UP -> {
+                    moveSelection(-1);
+                    e.consume();
+                }
+                case ENTER -> {
+                    openSelected();
+                    e.consume();
+                }
+                default -> { }
+            }
+        });
+        resultsList.setOnKeyPressed(e -> {
+            if (e.getCode() == KeyCode.ENTER) openSelected();
+        });
+    }
+
+    /**
+     * Show centered near the top of the owner window with an empty query
+     */
+    public void open(Window owner) {
+        queryField.clear();
+        resultsList.getItems().clear();
+        footerLabel.setText("↑↓ to move · Enter to open · Esc to close");
+        show(owner, owner.getX() + (owner.getWidth() - WIDTH) / 2, owner.getY() + owner.getHeight() * 0.15);
+        getScene().getStylesheets().setAll(owner.getScene().getStylesheets());
+        queryField.requestFocus();
+    }
+
+    private void updateResults(String query) {
+        long start = System.nanoTime();
+        var results = searchService.search(query, MAX_RESULTS);
+        resultsList.getItems().setAll(results);
+        if (!results.isEmpty()) {
+            resultsList.getSelectionModel().selectFirst();
+        }
+        footerLabel.setText(query == null || query.isBlank() ? "↑↓ to move · Enter to open · Esc to close" :
+                String.format("%d result(s) in %.2f ms", results.size(), (System.nanoTime() - start) / 1e6));
+    }
+
+    private void moveSelection(int delta) {
+        int size = resultsList.getItems().size();
+        if (size == 0) return;
+        int index = Math.floorMod(resultsList.getSelectionModel().getSelectedIndex() + delta, size);
+        resultsList.getSelectionModel().select(index);
+        resultsList.scrollTo(index);
+    }
+
+    private void openSelected() {
+        SearchService.SearchResult selected = resultsList.getSelectionModel().getSelectedItem();
+        if (selected != null) {
+            hide();
+            onOpen.accept(selected);
+        }
+    }
+
+    private static class ResultCell extends ListCell<SearchService.SearchResult> {
+        @Override
+        protected void updateItem(SearchService.SearchResult result, boolean empty) {
+            super.updateItem(result, empty);
+            if (empty || result == null) {
+                setGraphic(null);
+                setText(null);
+                return;
+            }
+
+            Label icon = new Label(result.getKind().getIcon());
+            Label title = new Label(result.getTitle());
+            title.getStyleClass().add("palette-title");
+            Label detail = new Label(result.getDetail());
+            detail.getStyleClass().add("palette-detail");
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+            Label kind = new Label(result.getKind().getDisplayName());
+            kind.getStyleClass().add("palette-kind");
+
+            HBox row = new HBox(8, icon, new VBox(title, detail), spacer, kind);
+            setText(null);
+            setGraphic(row);
+        }
+    }
+}
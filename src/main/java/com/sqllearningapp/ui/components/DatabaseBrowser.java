@@ -3,8 +3,10 @@ package com.sqllearningapp.ui.components;
 import com.sqllearningapp.core.services.DatabaseBrowserService;
 import com.sqllearningapp.core.services.DatabaseBrowserService.TableInfo;
 import com.sqllearningapp.core.services.DatabaseBrowserService.ColumnInfo;
+import com.sqllearningapp.core.services.QueryExecutionService;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
@@ -12,6 +14,8 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
 /**
  * Enhanced Database Browser - Explore database structure and data
@@ -21,19 +25,23 @@ import java.util.Map;
 public class DatabaseBrowser extends BorderPane {
 
     private final DatabaseBrowserService databaseBrowserService;
+    private final QueryExecutionService queryExecutionService;
 
     // UI Components
     private ListView<TableInfo> tablesListView;
     private TableView<ColumnInfo> columnsTableView;
     private TableView<Map<String, Object>> dataTableView;
     private TextArea tableInfoArea;
+    private TextArea statsArea;
     private Label statusLabel;
 
     // Current state
     private TableInfo currentTable;
 
-    public DatabaseBrowser(DatabaseBrowserService databaseBrowserService) {
+    public DatabaseBrowser(DatabaseBrowserService databaseBrowserService,
+                           QueryExecutionService queryExecutionService) {
         this.databaseBrowserService = databaseBrowserService;
+        this.queryExecutionService = queryExecutionService;
         setupUI();
         loadTables();
         getStyleClass().add("database-browser");
@@ -95,11 +103,10 @@ public class DatabaseBrowser extends BorderPane {
         Label statsLabel = new Label("Database Statistics");
         statsLabel.getStyleClass().add("subsection-title");
 
-        TextArea statsArea = new TextArea();
+        statsArea = new TextArea();
         statsArea.setEditable(false);
         statsArea.setPrefRowCount(4);
         statsArea.getStyleClass().add("stats-area");
-        statsArea.setText(generateDatabaseStats());
 
         panel.getChildren().addAll(header, tablesListView, statsLabel, statsArea);
 
@@ -276,10 +283,23 @@ public class DatabaseBrowser extends BorderPane {
 
     // ===== PRIVATE METHODS =====
 
+    /** Runs a lookup on the query pool and applies its result on the FX thread */
+    private <T> void loadInBackground(Callable<T> lookup, Consumer<T> onLoaded, Consumer<Throwable> onError) {
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return lookup.call();
+            }
+        };
+        task.setOnSucceeded(e -> onLoaded.accept(task.getValue()));
+        task.setOnFailed(e -> onError.accept(task.getException()));
+        queryExecutionService.submit(task);
+    }
+
     private void loadTables() {
-        try {
-            List<TableInfo> tables = databaseBrowserService.getAllTables();
+        loadInBackground(databaseBrowserService::getAllTables, tables -> {
             tablesListView.setItems(FXCollections.observableArrayList(tables));
+            statsArea.setText(generateDatabaseStats(tables));
 
             statusLabel.setText(String.format("Loaded %d tables", tables.size()));
 
@@ -289,11 +309,10 @@ public class DatabaseBrowser extends BorderPane {
             }
 
             log.info("Loaded {} database tables", tables.size());
-
-        } catch (Exception e) {
+        }, e -> {
             statusLabel.setText("Failed to load tables: " + e.getMessage());
             log.error("Error loading database tables", e);
-        }
+        });
     }
 
     private void refreshTables() {
@@ -304,9 +323,20 @@ public class DatabaseBrowser extends BorderPane {
     private void loadTableDetails(TableInfo table) {
         this.currentTable = table;
 
+        // Load complete table info
+        loadInBackground(() -> databaseBrowserService.getTableInfo(table.getName()),
+                completeInfo -> showTableDetails(table, completeInfo), e -> {
+                    statusLabel.setText("Error loading table details: " + e.getMessage());
+                    log.error("Error loading table details for: {}", table.getName(), e);
+                });
+    }
+
+    private void showTableDetails(TableInfo table, TableInfo completeInfo) {
+        if (currentTable != table) {
+            return; // another table was selected while this one loaded
+        }
+
         try {
-            // Load complete table info
-            TableInfo completeInfo = databaseBrowserService.getTableInfo(table.getName());
             if (completeInfo != null) {
                 this.currentTable = completeInfo;
             }
@@ -332,14 +362,24 @@ public class DatabaseBrowser extends BorderPane {
     private void loadTableData() {
         if (currentTable == null) return;
 
-        try {
-            // Get limit from combo box
-            ComboBox<String> limitCombo = findLimitCombo();
-            int limit = limitCombo != null ? Integer.parseInt(limitCombo.getValue()) : 100;
+        // Get limit from combo box
+        ComboBox<String> limitCombo = findLimitCombo();
+        int limit = limitCombo != null ? Integer.parseInt(limitCombo.getValue()) : 100;
+        String tableName = currentTable.getName();
 
-            List<Map<String, Object>> sampleData = databaseBrowserService.getTableSampleData(
-                    currentTable.getName(), limit);
+        loadInBackground(() -> databaseBrowserService.getTableSampleData(tableName, limit),
+                sampleData -> showTableData(tableName, sampleData), e -> {
+                    statusLabel.setText("Error loading table data: " + e.getMessage());
+                    log.error("Error loading table data for: {}", tableName, e);
+                });
+    }
+
+    private void showTableData(String tableName, List<Map<String, Object>> sampleData) {
+        if (currentTable == null || !currentTable.getName().equals(tableName)) {
+            return; // another table was selected while this one loaded
+        }
 
+        try {
             // Clear existing columns
             dataTableView.getColumns().clear();
 
@@ -524,9 +564,8 @@ public class DatabaseBrowser extends BorderPane {
         return null;
     }
 
-    private String generateDatabaseStats() {
+    private String generateDatabaseStats(List<TableInfo> tables) {
         try {
-            List<TableInfo> tables = databaseBrowserService.getAllTables();
             int totalTables = tables.size();
             int totalRows = tables.stream().mapToInt(TableInfo::getRowCount).sum();
             int totalColumns = tables.stream().mapToInt(t -> t.getColumns().size()).sum();
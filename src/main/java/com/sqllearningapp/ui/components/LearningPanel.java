@@ -1,13 +1,20 @@
 package com.sqllearningapp.ui.components;
 
+import com.sqllearningapp.core.services.LearningContentService;
+import com.sqllearningapp.core.services.TextIndex;
 import javafx.concurrent.Worker;
 import javafx.geometry.Insets;
+import javafx.geometry.Side;
 import javafx.scene.control.*;
+import javafx.scene.input.KeyCode;
 import javafx.scene.layout.*;
 import javafx.scene.web.WebEngine;
 import javafx.scene.web.WebView;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 /**
  * Enhanced Learning Panel - Displays learning content with modern web view
  * Preserves your original content display functionality with improvements
@@ -15,6 +22,13 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class LearningPanel extends VBox {
 
+    private static final int MAX_SEARCH_RESULTS = 8;
+
+    private final LearningContentService learningContentService;
+    private final TopicPageRenderer pageRenderer = new TopicPageRenderer();
+    private final WebViewPool webViewPool;
+
+    private WebViewPool.ContentView contentView;
     private WebView webView;
     private WebEngine webEngine;
     private ProgressBar loadingProgress;
@@ -25,7 +39,16 @@ public class LearningPanel extends VBox {
     private String currentContent;
     private String currentTopic;
 
-    public LearningPanel() {
+    // Topic search
+    private TextField searchField;
+    private ContextMenu searchResults;
+    private List<TextIndex.Hit> currentHits = List.of();
+    private List<String> pendingHighlight = List.of();
+    private Consumer<String> onTopicSelected;
+
+    public LearningPanel(LearningContentService learningContentService, WebViewPool webViewPool) {
+        this.learningContentService = learningContentService;
+        this.webViewPool = webViewPool;
         setupUI();
         getStyleClass().add("learning-panel");
     }
@@ -34,9 +57,10 @@ public class LearningPanel extends VBox {
         setPadding(new Insets(10));
         setSpacing(8);
 
-        // Create web view for content FIRST
-        webView = new WebView();
-        webEngine = webView.getEngine();
+        // Create web view for content FIRST; its shell starts loading the stylesheet now
+        contentView = webViewPool.acquire(TopicPageRenderer.STYLESHEET);
+        webView = contentView.getWebView();
+        webEngine = contentView.getEngine();
 
         setupWebEngine();
 
@@ -105,6 +129,23 @@ public class LearningPanel extends VBox {
         printBtn.setTooltip(new Tooltip("Print Content"));
         printBtn.setOnAction(e -> printContent());
 
+        Separator separator3 = new Separator();
+
+        // Topic search
+        searchField = new TextField();
+        searchField.setPromptText("🔍 Search topics...");
+        searchField.getStyleClass().add("topic-search-field");
+        searchField.setPrefWidth(220);
+        searchResults = new ContextMenu();
+        searchField.textProperty().addListener((obs, oldText, newText) -> updateSearchResults(newText));
+        searchField.setOnKeyPressed(e -> {
+            if (e.getCode() == KeyCode.ENTER && !currentHits.isEmpty()) {
+                openSearchResult(currentHits.get(0));
+            } else if (e.getCode() == KeyCode.ESCAPE) {
+                searchField.clear();
+            }
+        });
+
         Region spacer = new Region();
         HBox.setHgrow(spacer, Priority.ALWAYS);
 
@@ -116,7 +157,7 @@ public class LearningPanel extends VBox {
         toolbar.getItems().addAll(
                 backBtn, forwardBtn, refreshBtn, separator1,
                 zoomInBtn, zoomOutBtn, zoomResetBtn, separator2,
-                printBtn, spacer, loadingProgress
+                printBtn, separator3, searchField, spacer, loadingProgress
         );
 
         return toolbar;
@@ -172,6 +213,12 @@ public class LearningPanel extends VBox {
             }
         });
 
+        // Topics are usually swapped into the loaded page without a load cycle
+        contentView.setOnContentShown(() -> {
+            loadingProgress.setVisible(false);
+            applyPendingHighlight();
+        });
+
         // Handle progress
         webEngine.getLoadWorker().progressProperty().addListener((obs, oldProgress, newProgress) -> {
             loadingProgress.setProgress(newProgress.doubleValue());
@@ -195,7 +242,7 @@ public class LearningPanel extends VBox {
 
     private void loadWelcomeContent() {
         String welcomeContent = createWelcomeHTML();
-        webEngine.loadContent(welcomeContent, "text/html");
+        contentView.showDocument(welcomeContent);
         currentTopic = "Welcome";
         statusLabel.setText("Welcome to SQL Learning");
     }
@@ -445,9 +492,12 @@ public class LearningPanel extends VBox {
         if (htmlContent != null && !htmlContent.trim().isEmpty()) {
             currentContent = htmlContent;
 
-            // Enhance the HTML with modern styling
-            String enhancedContent = enhanceContentHTML(htmlContent);
-            webEngine.loadContent(enhancedContent, "text/html");
+            // Topic fragments are rendered once and swapped into the loaded page
+            if (TopicPageRenderer.isCompleteDocument(htmlContent)) {
+                contentView.showDocument(htmlContent);
+            } else {
+                contentView.showFragment(pageRenderer.renderBody(currentTopic, htmlContent));
+            }
 
             log.debug("Loading content: {} characters", htmlContent.length());
         }
@@ -515,7 +565,7 @@ public class LearningPanel extends VBox {
         if (file != null) {
             try {
                 java.nio.file.Files.writeString(file.toPath(),
-                        enhanceContentHTML(currentContent),
+                        pageRenderer.renderStandalone(currentTopic, currentContent),
                         java.nio.charset.StandardCharsets.UTF_8);
                 statusLabel.setText("Content exported to: " + file.getName());
             } catch (Exception e) {
@@ -525,278 +575,115 @@ public class LearningPanel extends VBox {
         }
     }
 
-    // ===== PRIVATE METHODS =====
+    /**
+     * Called with the topic name when a search result is chosen
+     */
+    public void setOnTopicSelected(Consumer<String> onTopicSelected) {
+        this.onTopicSelected = onTopicSelected;
+    }
+
+    // ===== TOPIC SEARCH =====
 
-    private String enhanceContentHTML(String originalContent) {
-        // Check if it's already a complete HTML document
-        if (originalContent.trim().toLowerCase().startsWith("<!doctype") ||
-                originalContent.trim().toLowerCase().startsWith("<html")) {
-            return originalContent;
+    private void updateSearchResults(String query) {
+        currentHits = learningContentService.findTopics(query, MAX_SEARCH_RESULTS);
+        searchResults.getItems().clear();
+        if (currentHits.isEmpty()) {
+            searchResults.hide();
+            if (query != null && !query.isBlank()) {
+                statusLabel.setText("No topics match \"" + query.trim() + "\"");
+            }
+            return;
         }
 
-        // Wrap content in proper HTML structure with enhanced styling
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <meta charset="UTF-8">
-                <meta name="viewport" content="width=device-width, initial-scale=1.0">
-                <title>%s - SQL Learning</title>
-                <style>
-                    %s
-                </style>
-            </head>
-            <body>
-                <div class="content-header">
-                    <h1>%s</h1>
-                    <div class="meta-info">
-                        <span class="user">👤 SithuHan-SithuHan</span>
-                        <span class="date">📅 %s</span>
-                    </div>
-                </div>
-                <div class="content-body">
-                    %s
-                </div>
-                <div class="content-footer">
-                    <p>SQL Learning Professional Edition | <a href="https://github.com/SithuHan-SithuHan/SQL_Learning_APP" target="_blank">GitHub Repository</a></p>
-                </div>
-            </body>
-            </html>
-            """,
-                currentTopic != null ? currentTopic : "SQL Learning",
-                getLearningContentCSS(),
-                currentTopic != null ? currentTopic : "SQL Learning Content",
-                java.time.LocalDateTime.now().format(
-                        java.time.format.DateTimeFormatter.ofPattern("MMMM dd, yyyy")),
-                originalContent
-        );
+        for (TextIndex.Hit hit : currentHits) {
+            MenuItem item = new MenuItem(hit.key());
+            item.setOnAction(e -> openSearchResult(hit));
+            searchResults.getItems().add(item);
+        }
+        statusLabel.setText(currentHits.size() + " matching topic(s)");
+        if (!searchResults.isShowing() && searchField.getScene() != null) {
+            searchResults.show(searchField, Side.BOTTOM, 0, 0);
+        }
     }
 
-    private String getLearningContentCSS() {
-        return """
-            body {
-                font-family: -apple-system, BlinkMacSystemFont, 'Segoe UI', Roboto, sans-serif;
-                line-height: 1.6;
-                color: #2d3748;
-                background-color: #ffffff;
-                margin: 0;
-                padding: 0;
-                max-width: 100%;
-                overflow-x: hidden;
-            }
-            
-            .content-header {
-                background: linear-gradient(135deg, #2563eb, #1d4ed8);
-                color: white;
-                padding: 30px 40px;
-                margin-bottom: 0;
-            }
-            
-            .content-header h1 {
-                margin: 0 0 10px 0;
-                font-size: 2.2em;
-                font-weight: 700;
-            }
-            
-            .meta-info {
-                display: flex;
-                gap: 20px;
-                font-size: 0.9em;
-                opacity: 0.9;
-            }
-            
-            .meta-info span {
-                display: flex;
-                align-items: center;
-                gap: 5px;
-            }
-            
-            .content-body {
-                padding: 40px;
-                max-width: 800px;
-                margin: 0 auto;
-            }
-            
-            .content-body h1 {
-                color: #1a202c;
-                border-bottom: 3px solid #2563eb;
-                padding-bottom: 10px;
-                margin-top: 0;
-            }
-            
-            .content-body h2 {
-                color: #2d3748;
-                margin-top: 30px;
-                margin-bottom: 15px;
-                font-size: 1.4em;
-            }
-            
-            .content-body h3 {
-                color: #4a5568;
-                margin-top: 25px;
-                margin-bottom: 10px;
-            }
-            
-            .content-body p {
-                margin-bottom: 16px;
-                color: #4a5568;
-            }
-            
-            .content-body .code {
-                background: #1a202c;
-                color: #e2e8f0;
-                padding: 20px;
-                border-radius: 8px;
-                font-family: 'JetBrains Mono', 'Consolas', monospace;
-                font-size: 14px;
-                line-height: 1.5;
-                border-left: 4px solid #2563eb;
-                margin: 20px 0;
-                overflow-x: auto;
-            }
-            
-            .content-body .syntax {
-                background: #f0fff4;
-                border: 2px solid #68d391;
-                padding: 15px;
-                border-radius: 8px;
-                font-family: 'JetBrains Mono', 'Consolas', monospace;
-                margin: 15px 0;
-            }
-            
-            .content-body .highlight, .content-body .note {
-                background: #fffbeb;
-                border-left: 4px solid #f59e0b;
-                padding: 15px;
-                margin: 20px 0;
-                border-radius: 0 8px 8px 0;
-            }
-            
-            .content-body .warning {
-                background: #fef2f2;
-                border-left: 4px solid #ef4444;
-                padding: 15px;
-                margin: 20px 0;
-                border-radius: 0 8px 8px 0;
-            }
-            
-            .content-body table {
-                width: 100%;
-                border-collapse: collapse;
-                margin: 20px 0;
-                background: white;
-                border-radius: 8px;
-                overflow: hidden;
-                box-shadow: 0 1px 3px rgba(0, 0, 0, 0.1);
-            }
-            
-            .content-body th {
-                background: #f7fafc;
-                padding: 15px;
-                text-align: left;
-                font-weight: 600;
-                color: #2d3748;
-                border-bottom: 2px solid #e2e8f0;
-            }
-            
-            .content-body td {
-                padding: 12px 15px;
-                border-bottom: 1px solid #e2e8f0;
-            }
-            
-            .content-body tr:last-child td {
-                border-bottom: none;
-            }
-            
-            .content-body tr:hover {
-                background-color: #f7fafc;
-            }
-            
-            .content-body ul, .content-body ol {
-                padding-left: 25px;
-            }
-            
-            .content-body li {
-                margin-bottom: 8px;
-                color: #4a5568;
-            }
-            
-            .content-body strong {
-                color: #2d3748;
-                font-weight: 600;
-            }
-            
-            .content-body code {
-                background: #edf2f7;
-                color: #2d3748;
-                padding: 2px 6px;
-                border-radius: 4px;
-                font-family: 'JetBrains Mono', 'Consolas', monospace;
-                font-size: 0.9em;
-            }
-            
-            .content-footer {
-                background: #f7fafc;
-                padding: 20px;
-                text-align: center;
-                border-top: 1px solid #e2e8f0;
-                color: #718096;
-                font-size: 0.9em;
-            }
-            
-            .content-footer a {
-                color: #2563eb;
-                text-decoration: none;
-            }
-            
-            .content-footer a:hover {
-                text-decoration: underline;
-            }
-            
-            /* Responsive design */
-            @media (max-width: 768px) {
-                .content-header {
-                    padding: 20px;
-                }
-                
-                .content-header h1 {
-                    font-size: 1.8em;
-                }
-                
-                .content-body {
-                    padding: 20px;
-                }
-                
-                .meta-info {
-                    flex-direction: column;
-                    gap: 5px;
-                }
-                
-                .content-body .code {
-                    padding: 15px;
-                    font-size: 13px;
-                }
-            }
-            
-            /* Print styles */
-            @media print {
-                .content-header {
-                    background: #2563eb !important;
-                    -webkit-print-color-adjust: exact;
-                    color-adjust: exact;
-                }
-                
-                .content-body .code {
-                    background: #f7fafc !important;
-                    color: #2d3748 !important;
-                    border: 1px solid #e2e8f0;
-                }
-            }
-            """;
+    private void openSearchResult(TextIndex.Hit hit) {
+        searchResults.hide();
+        pendingHighlight = hit.terms();
+        if (onTopicSelected != null) {
+            onTopicSelected.accept(hit.key());
+        }
+        // Swapped-in and reselected topics are already on screen
+        Worker.State state = webEngine.getLoadWorker().getState();
+        if (state != Worker.State.SCHEDULED && state != Worker.State.RUNNING) {
+            applyPendingHighlight();
+        }
+    }
+
+    /**
+     * Mark every whole-word occurrence of the matched terms and scroll to the first
+     */
+    private void applyPendingHighlight() {
+        if (pendingHighlight.isEmpty()) {
+            return;
+        }
+        StringBuilder pattern = new StringBuilder();
+        for (String term : pendingHighlight) {
+            if (!pattern.isEmpty()) pattern.append('|');
+            pattern.append(term.replaceAll("[^\\p{L}\\p{N}_]", ""));
+        }
+        pendingHighlight = List.of();
+
+        try {
+            webEngine.executeScript("""
+                (function(pattern) {
+                    var old = document.querySelectorAll('mark.search-hit');
+                    for (var i = 0; i < old.length; i++) {
+                        old[i].replaceWith(document.createTextNode(old[i].textContent));
+                    }
+                    document.body.normalize();
+                    var re = new RegExp('\\\\b(' + pattern + ')\\\\b', 'gi');
+                    var walker = document.createTreeWalker(document.body, NodeFilter.SHOW_TEXT, {
+                        acceptNode: function(node) {
+                            var tag = node.parentNode.nodeName;
+                            return tag === 'SCRIPT' || tag === 'STYLE' ? NodeFilter.FILTER_REJECT : NodeFilter.FILTER_ACCEPT;
+                        }
+                    });
+                    var nodes = [];
+                    while (walker.nextNode()) nodes.push(walker.currentNode);
+                    var first = null;
+                    nodes.forEach(function(node) {
+                        var text = node.nodeValue;
+                        re.lastIndex = 0;
+                        if (!re.test(text)) return;
+                        re.lastIndex = 0;
+                        var fragment = document.createDocumentFragment();
+                        var last = 0, match;
+                        while ((match = re.exec(text)) !== null) {
+                            fragment.appendChild(document.createTextNode(text.substring(last, match.index)));
+                            var mark = document.createElement('mark');
+                            mark.className = 'search-hit';
+                            mark.textContent = match[0];
+                            fragment.appendChild(mark);
+                            if (!first) first = mark;
+                            last = re.lastIndex;
+                        }
+                        fragment.appendChild(document.createTextNode(text.substring(last)));
+                        node.parentNode.replaceChild(fragment, node);
+                    });
+                    if (first) first.scrollIntoView({block: 'center'});
+                })('%s');
+                """.formatted(pattern));
+        } catch (Exception e) {
+            log.debug("Failed to highlight search matches: {}", e.getMessage());
+        }
     }
 
     // ===== GETTER METHODS =====
 
+    public TopicPageRenderer getPageRenderer() {
+        return pageRenderer;
+    }
+
     public String getCurrentContent() {
         return currentContent;
     }
@@ -0,0 +1,101 @@
+package com.sqllearningapp.ui.components;
+
+import com.sqllearningapp.core.models.PracticeQuestion;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.StackPane;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shows question descriptions as native JavaFX nodes built by {@link SimpleHtmlRenderer}.
+ * Node trees are cached per question, so returning to a question reuses its nodes.
+ * A pooled WebView is borrowed only for descriptions outside the supported HTML
+ * subset, and goes back to the pool when the next description renders natively.
+ */
+@Slf4j
+public class QuestionDescriptionView extends StackPane {
+
+    private static final int MAX_CACHED_QUESTIONS = 32;
+    private static final String FALLBACK_STYLESHEET = "/themes/question-content.css";
+
+    private final WebViewPool webViewPool;
+    private final ScrollPane scrollPane;
+    private WebViewPool.ContentView fallbackView; // only while showing unsupported HTML
+
+    // Rendered descriptions by question id, least recently shown first
+    private final Map<String, Rendered> rendered = Collections.synchronizedMap(
+            new LinkedHashMap<>(32, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Rendered> eldest) {
+                    return size() > MAX_CACHED_QUESTIONS;
+                }
+            });
+
+    /**
+     * A description and its node tree; node is null when the description needs a WebView
+     */
+    private record Rendered(String html, Node node) {
+    }
+
+    public QuestionDescriptionView(WebViewPool webViewPool) {
+        this.webViewPool = webViewPool;
+
+        scrollPane = new ScrollPane();
+        scrollPane.setFitToWidth(true);
+        scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
+        scrollPane.getStyleClass().add("question-description-scroll");
+
+        getStyleClass().add("question-description-view");
+        getChildren().add(scrollPane);
+    }
+
+    /**
+     * Show a question's description
+     */
+    public void show(PracticeQuestion question) {
+        Rendered description = render(question);
+        if (description.node() != null) {
+            releaseFallback();
+            scrollPane.setContent(description.node());
+            scrollPane.setVvalue(0);
+            if (getChildren().get(0) != scrollPane) {
+                getChildren().setAll(scrollPane);
+            }
+        } else {
+            if (fallbackView == null) {
+                fallbackView = webViewPool.acquire(FALLBACK_STYLESHEET);
+            }
+            fallbackView.showFragment(description.html());
+            getChildren().setAll(fallbackView.getWebView());
+        }
+    }
+
+    /**
+     * Build a question's node tree ahead of time; safe to call off the FX thread
+     */
+    public void prepare(PracticeQuestion question) {
+        render(question);
+    }
+
+    private Rendered render(PracticeQuestion question) {
+        return rendered.computeIfAbsent(question.getId(), id -> {
+            long start = System.nanoTime();
+            String html = question.getDescription() != null ? question.getDescription() : "";
+            Node node = SimpleHtmlRenderer.render(html);
+            log.debug("Rendered description of {} {} in {} us", id,
+                    node != null ? "natively" : "for a web view", (System.nanoTime() - start) / 1000);
+            return new Rendered(html, node);
+        });
+    }
+
+    private void releaseFallback() {
+        if (fallbackView != null) {
+            webViewPool.release(fallbackView);
+            fallbackView = null;
+        }
+    }
+}
@@ -1,18 +1,27 @@
 package com.sqllearningapp.ui.components;
 
+import com.sqllearningapp.core.database.ResultExporter;
 import com.sqllearningapp.core.models.QueryResult;
+import com.sqllearningapp.core.services.ResultDiffEngine;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.scene.text.Text;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Enhanced Results Panel - Displays query results with modern styling
@@ -27,8 +36,23 @@ public class ResultsPanel extends VBox {
     private Label summaryLabel;
     private ProgressIndicator loadingIndicator;
 
+    // Pager for results that spilled to disk
+    private HBox pagerBar;
+    private Label pageLabel;
+    private Button prevPageBtn;
+    private Button nextPageBtn;
+    private int currentPage;
+
+    // Side-by-side grading diff, shown only after a wrong answer
+    private Tab diffTab;
+    private Label diffSummaryLabel;
+    private TableView<DiffLine> expectedDiffTable;
+    private TableView<DiffLine> actualDiffTable;
+    private boolean diffScrollSynced;
+
     // Current result state
     private QueryResult currentResult;
+    private ResultExporter resultExporter;
 
     public ResultsPanel() {
         setupUI();
@@ -57,6 +81,10 @@ public class ResultsPanel extends VBox {
 
         tabPane.getTabs().addAll(resultsTab, messagesTab);
 
+        // Diff tab is added on demand
+        diffTab = new Tab("🔍 Diff");
+        diffTab.setContent(createDiffContent());
+
         // Set growth priorities
         VBox.setVgrow(tabPane, Priority.ALWAYS);
 
@@ -134,7 +162,7 @@ public class ResultsPanel extends VBox {
             return row;
         });
 
-        content.getChildren().add(resultsTable);
+        content.getChildren().addAll(resultsTable, createPagerBar());
         VBox.setVgrow(resultsTable, Priority.ALWAYS);
 
         ScrollPane scrollPane = new ScrollPane(content);
@@ -145,6 +173,25 @@ public class ResultsPanel extends VBox {
         return scrollPane;
     }
 
+    private HBox createPagerBar() {
+        prevPageBtn = new Button("◀ Previous");
+        prevPageBtn.setOnAction(e -> showPage(currentPage - 1));
+
+        nextPageBtn = new Button("Next ▶");
+        nextPageBtn.setOnAction(e -> showPage(currentPage + 1));
+
+        pageLabel = new Label();
+        pageLabel.getStyleClass().add("results-page-label");
+
+        pagerBar = new HBox(10, prevPageBtn, pageLabel, nextPageBtn);
+        pagerBar.getStyleClass().add("results-pager");
+        pagerBar.setAlignment(javafx.geometry.Pos.CENTER);
+        pagerBar.setVisible(false);
+        pagerBar.setManaged(false);
+
+        return pagerBar;
+    }
+
     private ScrollPane createMessagesContent() {
         VBox content = new VBox(10);
         content.setPadding(new Insets(10));
@@ -166,12 +213,95 @@ public class ResultsPanel extends VBox {
         return scrollPane;
     }
 
+    private VBox createDiffContent() {
+        diffSummaryLabel = new Label();
+        diffSummaryLabel.setWrapText(true);
+        diffSummaryLabel.getStyleClass().add("diff-summary");
+
+        expectedDiffTable = createDiffTable(true);
+        actualDiffTable = createDiffTable(false);
+
+        // Keep both sides on the same line
+        expectedDiffTable.getSelectionModel().selectedIndexProperty().addListener((obs, oldVal, newVal) -> {
+            if (actualDiffTable.getSelectionModel().getSelectedIndex() != newVal.intValue()) {
+                actualDiffTable.getSelectionModel().select(newVal.intValue());
+            }
+        });
+        actualDiffTable.getSelectionModel().selectedIndexProperty().addListener((obs, oldVal, newVal) -> {
+            if (expectedDiffTable.getSelectionModel().getSelectedIndex() != newVal.intValue()) {
+                expectedDiffTable.getSelectionModel().select(newVal.intValue());
+            }
+        });
+
+        SplitPane sides = new SplitPane(
+                new VBox(4, new Label("Expected"), expectedDiffTable),
+                new VBox(4, new Label("Your result"), actualDiffTable));
+        VBox.setVgrow(expectedDiffTable, Priority.ALWAYS);
+        VBox.setVgrow(actualDiffTable, Priority.ALWAYS);
+
+        VBox content = new VBox(8, diffSummaryLabel, sides);
+        content.setPadding(new Insets(10));
+        VBox.setVgrow(sides, Priority.ALWAYS);
+        return content;
+    }
+
+    private TableView<DiffLine> createDiffTable(boolean expectedSide) {
+        TableView<DiffLine> table = new TableView<>();
+        table.getStyleClass().addAll("results-table", "diff-table");
+        table.setPlaceholder(new Label(expectedSide ? "No expected rows missing" : "No unexpected rows"));
+        table.setRowFactory(tv -> new TableRow<>() {
+            @Override
+            protected void updateItem(DiffLine line, boolean empty) {
+                super.updateItem(line, empty);
+                getStyleClass().removeAll("diff-missing", "diff-extra", "diff-changed");
+                if (!empty && line != null) {
+                    getStyleClass().add(line.styleClass());
+                }
+            }
+        });
+        return table;
+    }
+
     // ===== PUBLIC METHODS =====
 
+    /**
+     * Show where a graded answer differs from the expected result, side by side:
+     * changed rows first, then missing and unexpected rows
+     */
+    public void displayDiff(ResultDiffEngine.ResultDiff diff) {
+        List<DiffLine> lines = new ArrayList<>();
+        for (ResultDiffEngine.RowChange change : diff.getChangedRows()) {
+            Set<String> changedColumns = new HashSet<>();
+            for (ResultDiffEngine.CellDelta delta : change.getDeltas()) {
+                changedColumns.add(delta.getColumn().toUpperCase(Locale.ROOT));
+            }
+            lines.add(new DiffLine("diff-changed", change.getExpectedRow(), change.getActualRow(), changedColumns));
+        }
+        for (Map<String, Object> row : diff.getMissingRows()) {
+            lines.add(new DiffLine("diff-missing", row, null, Set.of()));
+        }
+        for (Map<String, Object> row : diff.getExtraRows()) {
+            lines.add(new DiffLine("diff-extra", null, row, Set.of()));
+        }
+
+        ObservableList<DiffLine> items = FXCollections.observableArrayList(lines);
+        populateDiffTable(expectedDiffTable, diff.getExpectedColumns(), items, true);
+        populateDiffTable(actualDiffTable, diff.getActualColumns(), items, false);
+        diffSummaryLabel.setText(diff.getSummary());
+
+        if (!tabPane.getTabs().contains(diffTab)) {
+            tabPane.getTabs().add(diffTab);
+        }
+        tabPane.getSelectionModel().select(diffTab);
+        Platform.runLater(this::syncDiffScrolling);
+    }
+
+
     /**
      * Display query results (preserving your original displayExecutionResult logic)
      */
     public void displayResult(QueryResult result) {
+        releaseCurrentResult(result);
         this.currentResult = result;
 
         if (result == null) {
@@ -185,8 +315,8 @@ public class ResultsPanel extends VBox {
         // Update messages
         updateMessages(result);
 
-        // Display results if it's a SELECT query
-        if (result.getQueryType().equals("SELECT") && result.getRows() != null) {
+        // Display results if it's a SELECT query or a rolled-back DML preview
+        if ((result.getQueryType().equals("SELECT") || result.isRolledBack()) && result.getRows() != null) {
             displayTableResults(result);
 
             // Select results tab
@@ -204,6 +334,63 @@ public class ResultsPanel extends VBox {
                 result.getRowCount(), result.getExecutionTimeMs());
     }
 
+    /**
+     * Display the per-statement results of a script.
+     * Every statement is logged to the messages tab; the last result set is shown in the table.
+     */
+    public void displayScriptResults(List<QueryResult> results, long totalTimeMs) {
+        if (results == null || results.isEmpty()) {
+            clear();
+            return;
+        }
+
+        String timestamp = java.time.LocalDateTime.now()
+                .format(java.time.format.DateTimeFormatter.ofPattern("HH:mm:ss"));
+        StringBuilder messages = new StringBuilder();
+        QueryResult lastResultSet = null;
+        int failed = 0;
+
+        for (int i = 0; i < results.size(); i++) {
+            QueryResult result = results.get(i);
+            messages.append(String.format("[%s] #%d %s: %s (%dms)\n", timestamp, i + 1,
+                    result.getQueryType(), result.getMessage(), result.getExecutionTimeMs()));
+
+            if (!result.isSuccess()) {
+                failed++;
+            } else if (result.getColumnNames() != null && result.getRows() != null) {
+                lastResultSet = result;
+            }
+        }
+        messagesArea.appendText(messages.toString());
+        messagesArea.setScrollTop(Double.MAX_VALUE);
+
+        if (lastResultSet != null) {
+            releaseCurrentResult(lastResultSet);
+            currentResult = lastResultSet;
+            displayTableResults(lastResultSet);
+        } else {
+            releaseCurrentResult(null);
+            currentResult = null;
+            clearTable();
+        }
+
+        // Results of earlier statements are no longer reachable from the UI
+        for (QueryResult result : results) {
+            if (result != lastResultSet) {
+                result.releaseSpillFile();
+            }
+        }
+
+        summaryLabel.setText(failed == 0 ?
+                String.format("✅ %d statement(s) executed in %dms", results.size(), totalTimeMs) :
+                String.format("❌ Statement #%d failed after %dms", results.size(), totalTimeMs));
+        summaryLabel.getStyleClass().removeAll("success", "warning", "error", "info");
+        summaryLabel.getStyleClass().add(failed == 0 ? "success" : "error");
+
+        tabPane.getSelectionModel().select(failed == 0 && lastResultSet != null ? 0 : 1);
+        updateExportButton();
+    }
+
     /**
      * Display error message
      */
@@ -257,9 +444,11 @@ public class ResultsPanel extends VBox {
      * Clear all results
      */
     public void clear() {
+        releaseCurrentResult(null);
         currentResult = null;
         clearTable();
         messagesArea.clear();
+        tabPane.getTabs().remove(diffTab);
         summaryLabel.setText("No results");
         summaryLabel.getStyleClass().removeAll("success", "warning", "error", "info");
         updateExportButton();
@@ -273,15 +462,92 @@ public class ResultsPanel extends VBox {
         summaryLabel.setText("⏳ " + message);
     }
 
+    /**
+     * Show determinate progress for long-running operations such as imports
+     */
+    public void showProgress(String message, double progress) {
+        loadingIndicator.setProgress(progress);
+        loadingIndicator.setVisible(true);
+        summaryLabel.setText("⏳ " + message);
+    }
+
     /**
      * Hide loading state
      */
     public void hideLoading() {
         loadingIndicator.setVisible(false);
+        loadingIndicator.setProgress(ProgressIndicator.INDETERMINATE_PROGRESS);
     }
 
     // ===== PRIVATE METHODS =====
 
+    /**
+     * One aligned line of the diff view; a side is null when the row only exists on the other
+     */
+    private record DiffLine(String styleClass, Map<String, Object> expected, Map<String, Object> actual,
+                            Set<String> changedColumns) {
+        Map<String, Object> side(boolean expectedSide) {
+            return expectedSide ? expected : actual;
+        }
+    }
+
+    private void populateDiffTable(TableView<DiffLine> table, List<String> columns,
+                                   ObservableList<DiffLine> items, boolean expectedSide) {
+        table.getColumns().clear();
+        for (String columnName : columns) {
+            TableColumn<DiffLine, String> column = new TableColumn<>(columnName);
+            column.setCellValueFactory(data -> {
+                Map<String, Object> row = data.getValue().side(expectedSide);
+                if (row == null) {
+                    return new SimpleStringProperty("");
+                }
+                Object value = row.get(columnName);
+                return new SimpleStringProperty(value != null ? value.toString() : "NULL");
+            });
+
+            String key = columnName.toUpperCase(Locale.ROOT);
+            column.setCellFactory(col -> new TableCell<>() {
+                @Override
+                protected void updateItem(String item, boolean empty) {
+                    super.updateItem(item, empty);
+                    getStyleClass().remove("diff-cell-changed");
+                    setText(empty ? null : item);
+
+                    DiffLine line = empty ? null : getTableRow().getItem();
+                    if (line != null && line.changedColumns().contains(key)) {
+                        getStyleClass().add("diff-cell-changed");
+                    }
+                }
+            });
+            table.getColumns().add(column);
+        }
+        table.setItems(items);
+    }
+
+    /**
+     * Bind the vertical scroll bars of both diff tables once their skins exist
+     */
+    private void syncDiffScrolling() {
+        if (diffScrollSynced) {
+            return;
+        }
+        ScrollBar left = findVerticalScrollBar(expectedDiffTable);
+        ScrollBar right = findVerticalScrollBar(actualDiffTable);
+        if (left != null && right != null) {
+            left.valueProperty().bindBidirectional(right.valueProperty());
+            diffScrollSynced = true;
+        }
+    }
+
+    private ScrollBar findVerticalScrollBar(TableView<?> table) {
+        for (Node node : table.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar bar && bar.getOrientation() == Orientation.VERTICAL) {
+                return bar;
+            }
+        }
+        return null;
+    }
+
     private void displayTableResults(QueryResult result) {
         if (result.getColumnNames() == null || result.getRows() == null) {
             clearTable();
@@ -328,9 +594,8 @@ public class ResultsPanel extends VBox {
             resultsTable.getColumns().add(column);
         }
 
-        // Set data
-        ObservableList<Map<String, Object>> data = FXCollections.observableArrayList(result.getRows());
-        resultsTable.setItems(data);
+        // Set data (first page; later pages are read from the spill file on demand)
+        showPage(0);
 
         // Auto-resize columns
         Platform.runLater(() -> {
@@ -349,6 +614,69 @@ public class ResultsPanel extends VBox {
     private void clearTable() {
         resultsTable.getColumns().clear();
         resultsTable.setItems(null);
+        currentPage = 0;
+        updatePager();
+    }
+
+    private void showPage(int page) {
+        QueryResult result = currentResult;
+        if (result == null || result.getRows() == null || page < 0 || page >= getPageCount()) {
+            return;
+        }
+
+        List<Map<String, Object>> rows;
+        if (page == 0) {
+            rows = result.getRows();
+        } else {
+            int pageSize = getPageSize();
+            try {
+                rows = result.getSpillFile().readRows((long) (page - 1) * pageSize, pageSize);
+            } catch (java.io.IOException e) {
+                displayError("Failed to read result page: " + e.getMessage());
+                log.error("Failed to read spilled result rows", e);
+                return;
+            }
+        }
+
+        currentPage = page;
+        resultsTable.setItems(FXCollections.observableArrayList(rows));
+        resultsTable.scrollTo(0);
+        updatePager();
+    }
+
+    private int getPageSize() {
+        // The in-memory rows form the first page and set the page size
+        return Math.max(1, currentResult.getRows().size());
+    }
+
+    private int getPageCount() {
+        if (currentResult == null || !currentResult.hasSpilledRows()) {
+            return 1;
+        }
+        long spilled = currentResult.getSpillFile().getRowCount();
+        return 1 + (int) ((spilled + getPageSize() - 1) / getPageSize());
+    }
+
+    private void updatePager() {
+        boolean paged = currentResult != null && currentResult.hasSpilledRows();
+        pagerBar.setVisible(paged);
+        pagerBar.setManaged(paged);
+        if (!paged) {
+            return;
+        }
+
+        long first = (long) currentPage * getPageSize() + 1;
+        long last = first + (resultsTable.getItems() != null ? resultsTable.getItems().size() : 0) - 1;
+        pageLabel.setText(String.format("Rows %,d–%,d of %,d%s", first, last,
+                currentResult.getTotalRowCount(), currentResult.isTruncated() ? "+" : ""));
+        prevPageBtn.setDisable(currentPage == 0);
+        nextPageBtn.setDisable(currentPage >= getPageCount() - 1);
+    }
+
+    private void releaseCurrentResult(QueryResult next) {
+        if (currentResult != null && currentResult != next) {
+            currentResult.releaseSpillFile();
+        }
     }
 
     private void updateSummary(QueryResult result) {
@@ -357,8 +685,12 @@ public class ResultsPanel extends VBox {
 
         if (result.isSuccess()) {
             if (result.getQueryType().equals("SELECT")) {
-                summaryText = String.format("✅ %d row(s) returned in %dms",
-                        result.getRowCount(), result.getExecutionTimeMs());
+                summaryText = String.format("✅ %,d%s row(s) returned in %dms",
+                        Math.max(result.getRowCount(), result.getTotalRowCount()),
+                        result.isTruncated() ? "+" : "", result.getExecutionTimeMs());
+            } else if (result.isRolledBack()) {
+                summaryText = String.format("↩ %s previewed (%d row(s) affected, rolled back) in %dms",
+                        result.getQueryType(), result.getRowCount(), result.getExecutionTimeMs());
             } else {
                 summaryText = String.format("✅ %s completed (%d row(s) affected) in %dms",
                         result.getQueryType(), result.getRowCount(), result.getExecutionTimeMs());
@@ -467,6 +799,7 @@ public class ResultsPanel extends VBox {
         fileChooser.getExtensionFilters().addAll(
                 new javafx.stage.FileChooser.ExtensionFilter("CSV Files", "*.csv"),
                 new javafx.stage.FileChooser.ExtensionFilter("Tab Separated", "*.tsv"),
+                new javafx.stage.FileChooser.ExtensionFilter("JSON Lines", "*.jsonl"),
                 new javafx.stage.FileChooser.ExtensionFilter("All Files", "*.*")
         );
 
@@ -474,46 +807,57 @@ public class ResultsPanel extends VBox {
         java.io.File file = fileChooser.showSaveDialog(stage);
 
         if (file != null) {
-            try {
-                exportToFile(file);
-                displayMessage("Results exported to: " + file.getName(), "success");
-            } catch (Exception e) {
-                displayMessage("Export failed: " + e.getMessage(), "error");
-                log.error("Failed to export results", e);
-            }
+            exportToFile(file);
         }
     }
 
-    private void exportToFile(java.io.File file) throws java.io.IOException {
-        String separator = file.getName().toLowerCase().endsWith(".tsv") ? "\t" : ",";
+    /**
+     * Export on a background thread; SELECT results are streamed in full from the database
+     */
+    private void exportToFile(java.io.File file) {
+        if (resultExporter == null) {
+            displayMessage("Export is not available", "error");
+            return;
+        }
 
-        try (java.io.PrintWriter writer = new java.io.PrintWriter(
-                new java.io.FileWriter(file, java.nio.charset.StandardCharsets.UTF_8))) {
+        QueryResult result = currentResult;
+        boolean streaming = resultExporter.canStream(result);
 
-            // Write header
-            writer.println(String.join(separator, currentResult.getColumnNames()));
+        Task<Long> task = new Task<>() {
+            @Override
+            protected Long call() throws Exception {
+                return resultExporter.export(result, file.toPath(), rowsWritten ->
+                        updateMessage(String.format("Exporting: %,d rows written", rowsWritten)));
+            }
+        };
 
-            // Write data
-            for (Map<String, Object> row : currentResult.getRows()) {
-                List<String> values = currentResult.getColumnNames().stream()
-                        .map(col -> {
-                            Object value = row.get(col);
-                            String str = value != null ? value.toString() : "";
-                            // Escape CSV values if needed
-                            if (separator.equals(",") && (str.contains(",") || str.contains("\"") || str.contains("\n"))) {
-                                str = "\"" + str.replace("\"", "\"\"") + "\"";
-                            }
-                            return str;
-                        })
-                        .toList();
+        task.messageProperty().addListener((obs, oldVal, newVal) ->
+                showProgress(newVal, ProgressIndicator.INDETERMINATE_PROGRESS));
 
-                writer.println(String.join(separator, values));
-            }
-        }
+        task.setOnSucceeded(e -> {
+            hideLoading();
+            displayMessage(String.format("Exported %,d row(s) to: %s%s", task.getValue(), file.getName(),
+                    streaming ? " (full result)" : ""), "success");
+        });
+
+        task.setOnFailed(e -> {
+            hideLoading();
+            displayMessage("Export failed: " + task.getException().getMessage(), "error");
+            log.error("Failed to export results", task.getException());
+        });
+
+        showProgress("Exporting to " + file.getName() + "...", ProgressIndicator.INDETERMINATE_PROGRESS);
+        Thread thread = new Thread(task, "result-export");
+        thread.setDaemon(true);
+        thread.start();
     }
 
     // ===== GETTER METHODS =====
 
+    public void setResultExporter(ResultExporter resultExporter) {
+        this.resultExporter = resultExporter;
+    }
+
     public QueryResult getCurrentResult() {
         return currentResult;
     }
@@ -0,0 +1,459 @@
+package com.sqllearningapp.ui.components;
+
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextFlow;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Renders the small HTML subset used in question descriptions directly to JavaFX
+ * layout and text nodes. No controls are used, so trees can be built off the FX thread.
+ * The subset covers headings, paragraphs, lists, tables, line breaks, preformatted
+ * text, and inline bold, italic and code. Styling comes from the "html-" classes in
+ * modern-theme.css, and inline style attributes are ignored. For anything outside the
+ * subset, {@link #render} returns null so the caller can fall back to a WebView.
+ * Text without any tags is shown line by line; ASCII tables keep a monospace font.
+ */
+public final class SimpleHtmlRenderer {
+
+    private static final Set<String> CONTAINER_TAGS = Set.of(
+            "html", "body", "div", "section", "article", "p", "blockquote");
+    private static final Set<String> HEADING_TAGS = Set.of("h1", "h2", "h3", "h4", "h5", "h6");
+    private static final Set<String> TABLE_TAGS = Set.of("table", "thead", "tbody", "tfoot", "tr", "th", "td");
+    private static final Set<String> INLINE_TAGS = Set.of(
+            "strong", "b", "em", "i", "u", "code", "span", "a", "small", "br");
+    private static final Set<String> OTHER_TAGS = Set.of("ul", "ol", "li", "pre", "hr");
+    private static final Set<String> VOID_TAGS = Set.of("br", "hr");
+
+    private SimpleHtmlRenderer() {
+    }
+
+    /**
+     * Parsed element; children are Elements and Strings (raw text, entities decoded)
+     */
+    private static final class Element {
+        final String tag;
+        final List<Object> children = new ArrayList<>();
+
+        Element(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    // ===== RENDERING =====
+
+    /**
+     * Node tree for the HTML, or null when it uses anything outside the supported subset.
+     * Nodes may be built off the FX thread as long as they are not yet in a scene.
+     */
+    public static Node render(String html) {
+        VBox content = new VBox();
+        content.getStyleClass().add("html-content");
+        if (html == null || html.isBlank()) {
+            return content;
+        }
+        if (html.indexOf('<') < 0) {
+            renderPlainText(html, content);
+            return content;
+        }
+
+        Element root = parse(html);
+        if (root == null) {
+            return null;
+        }
+        renderChildren(root, content, List.of());
+        return content;
+    }
+
+    private static void renderChildren(Element element, VBox target, List<String> baseClasses) {
+        Inline inline = new Inline(target, baseClasses);
+        for (Object child : element.children) {
+            if (child instanceof String text) {
+                inline.text(text, List.of());
+            } else {
+                Element e = (Element) child;
+                if (INLINE_TAGS.contains(e.tag)) {
+                    renderInline(e, inline, List.of());
+                } else {
+                    inline.flush();
+                    renderBlock(e, target, baseClasses);
+                }
+            }
+        }
+        inline.flush();
+    }
+
+    private static void renderBlock(Element element, VBox target, List<String> baseClasses) {
+        switch (element.tag) {
+            case "h1", "h2", "h3", "h4", "h5", "h6" ->
+                    renderChildren(element, target, List.of("html-heading", "html-" + element.tag));
+            case "ul", "ol" -> target.getChildren().add(renderList(element, element.tag.equals("ol")));
+            case "table", "thead", "tbody", "tfoot", "tr" -> target.getChildren().add(renderTable(element));
+            case "pre" -> {
+                TextFlow flow = new TextFlow(styled(new Text(textOf(element)), List.of("html-text", "html-pre")));
+                flow.getStyleClass().add("html-pre-block");
+                target.getChildren().add(flow);
+            }
+            case "hr" -> {
+                Region rule = new Region();
+                rule.getStyleClass().add("html-rule");
+                target.getChildren().add(rule);
+            }
+            default -> renderChildren(element, target, baseClasses); // containers, stray li/td
+        }
+    }
+
+    private static void renderInline(Element element, Inline inline, List<String> classes) {
+        if (element.tag.equals("br")) {
+            inline.lineBreak();
+            return;
+        }
+        List<String> nested = new ArrayList<>(classes);
+        switch (element.tag) {
+            case "strong", "b" -> nested.add("html-strong");
+            case "em", "i" -> nested.add("html-em");
+            case "u" -> nested.add("html-underline");
+            case "code" -> nested.add("html-code");
+            case "a" -> nested.add("html-link");
+            case "small" -> nested.add("html-small");
+            default -> { }
+        }
+        for (Object child : element.children) {
+            if (child instanceof String text) {
+                inline.text(text, nested);
+            } else {
+                Element e = (Element) child;
+                if (INLINE_TAGS.contains(e.tag)) {
+                    renderInline(e, inline, nested);
+                } else {
+                    inline.text(textOf(e), nested); // blocks inside inline markup are flattened
+                }
+            }
+        }
+    }
+
+    private static Node renderList(Element list, boolean ordered) {
+        VBox items = new VBox();
+        items.getStyleClass().add("html-list");
+        int number = 1;
+        for (Object child : list.children) {
+            if (!(child instanceof Element item) || !item.tag.equals("li")) {
+                continue;
+            }
+            Text marker = styled(new Text(ordered ? (number++) + "." : "•"), List.of("html-text", "html-list-marker"));
+            VBox body = new VBox();
+            renderChildren(item, body, List.of());
+            HBox.setHgrow(body, Priority.ALWAYS);
+            HBox row = new HBox(6, marker, body);
+            row.setAlignment(Pos.TOP_LEFT);
+            items.getChildren().add(row);
+        }
+        return items;
+    }
+
+    private static Node renderTable(Element table) {
+        GridPane grid = new GridPane();
+        grid.getStyleClass().add("html-table");
+        List<Element> rows = new ArrayList<>();
+        collectRows(table, rows);
+
+        for (int r = 0; r < rows.size(); r++) {
+            int c = 0;
+            for (Object child : rows.get(r).children) {
+                if (!(child instanceof Element cell) || !(cell.tag.equals("td") || cell.tag.equals("th"))) {
+                    continue;
+                }
+                boolean header = cell.tag.equals("th");
+                VBox box = new VBox();
+                box.getStyleClass().add("html-cell");
+                if (header) {
+                    box.getStyleClass().add("html-header-cell");
+                } else if (r % 2 == 1) {
+                    box.getStyleClass().add("html-even-row");
+                }
+                renderChildren(cell, box, header ? List.of("html-strong") : List.of());
+                box.setMaxWidth(Double.MAX_VALUE);
+                GridPane.setHgrow(box, Priority.ALWAYS);
+                grid.add(box, c++, r);
+            }
+        }
+        return grid;
+    }
+
+    private static void collectRows(Element element, List<Element> rows) {
+        if (element.tag.equals("tr")) {
+            rows.add(element);
+            return;
+        }
+        for (Object child : element.children) {
+            if (child instanceof Element e && TABLE_TAGS.contains(e.tag)) {
+                collectRows(e, rows);
+            }
+        }
+    }
+
+    /**
+     * Plain text descriptions: blank lines separate paragraphs, and runs of lines drawn
+     * with '+' and '|' are ASCII tables kept in a monospace block
+     */
+    private static void renderPlainText(String text, VBox target) {
+        StringBuilder block = new StringBuilder();
+        boolean tableBlock = false;
+        for (String line : (text.strip() + "\n\n").split("\n", -1)) {
+            String trimmed = line.strip();
+            boolean tableLine = trimmed.startsWith("+") || trimmed.startsWith("|");
+            if (trimmed.isEmpty() || tableLine != tableBlock) {
+                if (!block.isEmpty()) {
+                    String content = block.toString().stripTrailing();
+                    TextFlow flow = new TextFlow(styled(new Text(content),
+                            tableBlock ? List.of("html-text", "html-pre") : List.of("html-text")));
+                    if (tableBlock) flow.getStyleClass().add("html-pre-block");
+                    target.getChildren().add(flow);
+                    block.setLength(0);
+                }
+                tableBlock = tableLine;
+                if (trimmed.isEmpty()) continue;
+            }
+            block.append(tableBlock ? line.stripTrailing() : trimmed).append('\n');
+        }
+    }
+
+    private static Text styled(Text text, List<String> classes) {
+        text.getStyleClass().addAll(classes);
+        return text;
+    }
+
+    private static String textOf(Element element) {
+        StringBuilder text = new StringBuilder();
+        for (Object child : element.children) {
+            if (child instanceof String s) {
+                text.append(s);
+            } else if (((Element) child).tag.equals("br")) {
+                text.append('\n');
+            } else {
+                text.append(textOf((Element) child));
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Collects inline runs into one TextFlow, collapsing whitespace like a browser
+     */
+    private static final class Inline {
+        private final VBox target;
+        private final List<String> baseClasses;
+        private final List<Text> texts = new ArrayList<>();
+        private boolean lineStart = true;
+        private boolean spacePending;
+
+        Inline(VBox target, List<String> baseClasses) {
+            this.target = target;
+            this.baseClasses = baseClasses;
+        }
+
+        void text(String raw, List<String> classes) {
+            StringBuilder collapsed = new StringBuilder();
+            for (int i = 0; i < raw.length(); i++) {
+                char c = raw.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    spacePending = !lineStart;
+                } else {
+                    if (spacePending) {
+                        collapsed.append(' ');
+                        spacePending = false;
+                    }
+                    collapsed.append(c);
+                    lineStart = false;
+                }
+            }
+            if (!collapsed.isEmpty()) {
+                add(collapsed.toString(), classes);
+            }
+        }
+
+        void lineBreak() {
+            spacePending = false;
+            lineStart = true;
+            add("\n", List.of());
+        }
+
+        private void add(String content, List<String> classes) {
+            Text text = styled(new Text(content), baseClasses);
+            text.getStyleClass().add("html-text");
+            text.getStyleClass().addAll(classes);
+            texts.add(text);
+        }
+
+        void flush() {
+            spacePending = false;
+            lineStart = true;
+            if (!texts.isEmpty()) {
+                TextFlow flow = new TextFlow(texts.toArray(new Text[0]));
+                flow.getStyleClass().add("html-flow");
+                target.getChildren().add(flow);
+                texts.clear();
+            }
+        }
+    }
+
+    // ===== PARSING =====
+
+    /**
+     * Tolerant parser for the supported subset; null when an unsupported tag or
+     * attribute (colspan, rowspan) is found
+     */
+    private static Element parse(String html) {
+        Element root = new Element("#root");
+        Deque<Element> open = new ArrayDeque<>();
+        open.push(root);
+        StringBuilder text = new StringBuilder();
+
+        int i = 0;
+        while (i < html.length()) {
+            char c = html.charAt(i);
+            if (c != '<') {
+                text.append(c);
+                i++;
+                continue;
+            }
+            if (html.startsWith("<!--", i)) {
+                int end = html.indexOf("-->", i + 4);
+                i = end < 0 ? html.length() : end + 3;
+                continue;
+            }
+            int end = html.indexOf('>', i);
+            if (end < 0) {
+                text.append(html, i, html.length());
+                break;
+            }
+            String tag = html.substring(i + 1, end).trim();
+            i = end + 1;
+            if (tag.startsWith("!") || tag.startsWith("?")) {
+                continue; // doctype
+            }
+
+            boolean closing = tag.startsWith("/");
+            String name = tagName(closing ? tag.substring(1) : tag);
+            if (!isSupported(name)) {
+                return null;
+            }
+            String lower = tag.toLowerCase(Locale.ROOT);
+            if (lower.contains("colspan") || lower.contains("rowspan")) {
+                return null;
+            }
+
+            flushText(text, open.peek());
+            if (closing) {
+                if (open.stream().anyMatch(e -> e.tag.equals(name))) {
+                    while (!open.pop().tag.equals(name)) {
+                        // close elements left open inside this one
+                    }
+                }
+            } else {
+                closeImplied(open, name);
+                Element element = new Element(name);
+                open.peek().children.add(element);
+                if (!VOID_TAGS.contains(name) && !tag.endsWith("/")) {
+                    open.push(element);
+                }
+            }
+        }
+        flushText(text, open.peek());
+        return root;
+    }
+
+    /**
+     * A new paragraph, list item, row or cell ends the open one of the same kind
+     */
+    private static void closeImplied(Deque<Element> open, String name) {
+        boolean cell = name.equals("td") || name.equals("th");
+        if (name.equals("tr") || cell) {
+            if (open.peek().tag.equals("td") || open.peek().tag.equals("th")) open.pop();
+            if (name.equals("tr") && open.peek().tag.equals("tr")) open.pop();
+        } else if ((name.equals("p") || name.equals("li")) && open.peek().tag.equals(name)) {
+            open.pop();
+        }
+    }
+
+    private static boolean isSupported(String name) {
+        return CONTAINER_TAGS.contains(name) || HEADING_TAGS.contains(name) || TABLE_TAGS.contains(name)
+                || INLINE_TAGS.contains(name) || OTHER_TAGS.contains(name);
+    }
+
+    private static String tagName(String tag) {
+        int end = 0;
+        while (end < tag.length() && Character.isLetterOrDigit(tag.charAt(end))) {
+            end++;
+        }
+        return tag.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+
+    private static void flushText(StringBuilder text, Element parent) {
+        if (!text.isEmpty()) {
+            parent.children.add(decodeEntities(text.toString()));
+            text.setLength(0);
+        }
+    }
+
+    private static String decodeEntities(String text) {
+        if (text.indexOf('&') < 0) {
+            return text;
+        }
+        StringBuilder decoded = new StringBuilder(text.length());
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            int semicolon = c == '&' ? text.indexOf(';', i) : -1;
+            if (semicolon < 0 || semicolon - i > 10) {
+                decoded.append(c);
+                i++;
+                continue;
+            }
+            String entity = text.substring(i + 1, semicolon);
+            String value = switch (entity) {
+                case "amp" -> "&";
+                case "lt" -> "<";
+                case "gt" -> ">";
+                case "quot" -> "\"";
+                case "apos" -> "'";
+                case "nbsp" -> "\u00a0";
+                default -> numericEntity(entity);
+            };
+            if (value == null) {
+                decoded.append(c);
+                i++;
+            } else {
+                decoded.append(value);
+                i = semicolon + 1;
+            }
+        }
+        return decoded.toString();
+    }
+
+    private static String numericEntity(String entity) {
+        try {
+            if (entity.startsWith("#x") || entity.startsWith("#X")) {
+                return Character.toString(Integer.parseInt(entity.substring(2), 16));
+            }
+            if (entity.startsWith("#")) {
+                return Character.toString(Integer.parseInt(entity.substring(1)));
+            }
+        } catch (IllegalArgumentException e) {
+            // not a valid code point; keep the text as written
+        }
+        return null;
+    }
+}
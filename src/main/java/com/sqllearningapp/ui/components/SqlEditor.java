@@ -1,5 +1,6 @@
 package com.sqllearningapp.ui.components;
 
+import com.sqllearningapp.core.database.SqlLexer;
 import javafx.concurrent.Task;
 import javafx.scene.control.ContextMenu;
 import javafx.scene.control.MenuItem;
@@ -15,8 +16,6 @@ import org.fxmisc.richtext.model.StyleSpansBuilder;
 
 import java.time.Duration;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -58,18 +57,12 @@ public class SqlEditor extends CodeArea {
             "LIMIT", "OFFSET", "TOP", "FETCH", "FIRST", "LAST", "WITH", "RECURSIVE"
     };
 
-    // Enhanced Patterns
-    private static final Pattern KEYWORD_PATTERN = Pattern.compile(
-            "\\b(" + String.join("|", KEYWORDS) + ")\\b", Pattern.CASE_INSENSITIVE);
+    // Keyword lookup for highlighting; words are matched case-insensitively
+    private static final Set<String> KEYWORD_SET = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
 
-    private static final Pattern STRING_PATTERN = Pattern.compile("'([^'\\\\]|\\\\.)*'");
-    private static final Pattern NUMBER_PATTERN = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
-    private static final Pattern COMMENT_PATTERN = Pattern.compile(
-            "--[^\r\n]*|/\\*([^*]|\\*+[^*/])*\\*+/");
-    private static final Pattern OPERATOR_PATTERN = Pattern.compile(
-            "[=<>!]+|\\+|\\-|\\*|\\/|\\%");
-    private static final Pattern FUNCTION_PATTERN = Pattern.compile(
-            "\\b[A-Za-z_][A-Za-z0-9_]*(?=\\s*\\()");
+    static {
+        Collections.addAll(KEYWORD_SET, KEYWORDS);
+    }
 
     // Context menu
     private ContextMenu contextMenu;
@@ -167,41 +160,24 @@ public class SqlEditor extends CodeArea {
     private StyleSpans<Collection<String>> computeHighlighting(String text) {
         StyleSpansBuilder<Collection<String>> spansBuilder = new StyleSpansBuilder<>();
 
-        // Combined pattern for all syntax elements
-        Pattern pattern = Pattern.compile(
-                "(?<KEYWORD>" + KEYWORD_PATTERN.pattern() + ")"
-                        + "|(?<STRING>" + STRING_PATTERN.pattern() + ")"
-                        + "|(?<COMMENT>" + COMMENT_PATTERN.pattern() + ")"
-                        + "|(?<NUMBER>" + NUMBER_PATTERN.pattern() + ")"
-                        + "|(?<FUNCTION>" + FUNCTION_PATTERN.pattern() + ")"
-                        + "|(?<OPERATOR>" + OPERATOR_PATTERN.pattern() + ")",
-                Pattern.CASE_INSENSITIVE
-        );
-
-        Matcher matcher = pattern.matcher(text);
+        // Same tokenizer the query executor uses to classify statements
+        SqlLexer lexer = new SqlLexer(text);
         int lastEnd = 0;
 
-        while (matcher.find()) {
-            String styleClass = null;
-
-            if (matcher.group("KEYWORD") != null) {
-                styleClass = "sql-keyword";
-            } else if (matcher.group("STRING") != null) {
-                styleClass = "sql-string";
-            } else if (matcher.group("COMMENT") != null) {
-                styleClass = "sql-comment";
-            } else if (matcher.group("NUMBER") != null) {
-                styleClass = "sql-number";
-            } else if (matcher.group("FUNCTION") != null) {
-                styleClass = "sql-function";
-            } else if (matcher.group("OPERATOR") != null) {
-                styleClass = "sql-operator";
-            }
+        while (lexer.next()) {
+            String styleClass = switch (lexer.type()) {
+                case WORD -> styleForWord(text, lexer);
+                case STRING -> "sql-string";
+                case COMMENT -> "sql-comment";
+                case NUMBER -> "sql-number";
+                case OPERATOR -> "sql-operator";
+                default -> null;
+            };
 
             if (styleClass != null) {
-                spansBuilder.add(Collections.emptyList(), matcher.start() - lastEnd);
-                spansBuilder.add(Collections.singleton(styleClass), matcher.end() - matcher.start());
-                lastEnd = matcher.end();
+                spansBuilder.add(Collections.emptyList(), lexer.start() - lastEnd);
+                spansBuilder.add(Collections.singleton(styleClass), lexer.end() - lexer.start());
+                lastEnd = lexer.end();
             }
         }
 
@@ -209,6 +185,19 @@ public class SqlEditor extends CodeArea {
         return spansBuilder.create();
     }
 
+    private String styleForWord(String text, SqlLexer lexer) {
+        if (KEYWORD_SET.contains(lexer.text())) {
+            return "sql-keyword";
+        }
+
+        // A word directly followed by an opening parenthesis is a function call
+        int i = lexer.end();
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i < text.length() && text.charAt(i) == '(' ? "sql-function" : null;
+    }
+
     private void setupKeyboardShortcuts() {
         setOnKeyPressed(event -> {
             // F5 for execution (preserving your original)
@@ -0,0 +1,172 @@
+package com.sqllearningapp.ui.components;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Turns topic fragments into the page content shown in the learning WebView: the
+ * topic header, the lesson and the footer. Each topic is rendered once and kept in an
+ * LRU cache bounded by total size. The stylesheet is not part of the rendered markup;
+ * the pooled view's shell links it once (see {@link WebViewPool}). Thread safe, so
+ * topics can be rendered ahead of time off the FX thread.
+ */
+@Slf4j
+public final class TopicPageRenderer {
+
+    public static final String STYLESHEET = "/themes/learning-content.css";
+
+    private static final long MAX_CACHED_CHARS = 4L * 1024 * 1024;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMMM dd, yyyy");
+
+    private static final String BODY_TEMPLATE = """
+            <div class="content-header">
+                <h1>%s</h1>
+                <div class="meta-info">
+                    <span class="user">👤 SithuHan-SithuHan</span>
+                    <span class="date">📅 %s</span>
+                </div>
+            </div>
+            <div class="content-body">
+                %s
+            </div>
+            <div class="content-footer">
+                <p>SQL Learning Professional Edition | <a href="https://github.com/SithuHan-SithuHan/SQL_Learning_APP" target="_blank">GitHub Repository</a></p>
+            </div>
+            """;
+
+    private static final String STANDALONE_TEMPLATE = """
+            <!DOCTYPE html>
+            <html>
+            <head>
+                <meta charset="UTF-8">
+                <meta name="viewport" content="width=device-width, initial-scale=1.0">
+                <title>%s - SQL Learning</title>
+                <style>
+            %s
+                </style>
+            </head>
+            <body>
+            %s
+            </body>
+            </html>
+            """;
+
+    private String stylesheetText;
+
+    private final LinkedHashMap<String, Page> pages = new LinkedHashMap<>(32, 0.75f, true);
+    private long cachedChars;
+    private long hits;
+    private long misses;
+
+    /**
+     * Rendered content and what it was rendered from
+     */
+    private record Page(String source, String date, String html) {
+    }
+
+    // ===== RENDERING =====
+
+    /**
+     * Content for a topic fragment, from the cache when the fragment has not changed
+     */
+    public String renderBody(String topic, String fragment) {
+        String key = topic != null ? topic : "";
+        String date = LocalDate.now().format(DATE_FORMAT);
+
+        synchronized (this) {
+            Page page = pages.get(key);
+            if (page != null && page.date().equals(date)
+                    && (page.source() == fragment || page.source().equals(fragment))) {
+                hits++;
+                return page.html();
+            }
+        }
+
+        String html = String.format(BODY_TEMPLATE, topic != null ? topic : "SQL Learning Content", date, fragment);
+        synchronized (this) {
+            misses++;
+            Page previous = pages.put(key, new Page(fragment, date, html));
+            if (previous != null) {
+                cachedChars -= previous.html().length();
+            }
+            cachedChars += html.length();
+            evict();
+        }
+        return html;
+    }
+
+    /**
+     * Render a topic ahead of navigation so showing it later is a cache hit
+     */
+    public void prerender(String topic, String fragment) {
+        if (fragment != null && !fragment.isBlank() && !isCompleteDocument(fragment)) {
+            renderBody(topic, fragment);
+        }
+    }
+
+    /**
+     * Self-contained page with the stylesheet inlined, for saving outside the app; not cached
+     */
+    public String renderStandalone(String topic, String fragment) {
+        if (isCompleteDocument(fragment)) {
+            return fragment;
+        }
+        return String.format(STANDALONE_TEMPLATE,
+                topic != null ? topic : "SQL Learning",
+                getStylesheetText(),
+                renderBody(topic, fragment));
+    }
+
+    public synchronized void clear() {
+        pages.clear();
+        cachedChars = 0;
+    }
+
+    public synchronized String getStatistics() {
+        return String.format("%d page(s), %,d chars cached, %d hit(s), %d miss(es)",
+                pages.size(), cachedChars, hits, misses);
+    }
+
+    /**
+     * Whether content is a whole HTML document, shown as it is rather than as a topic fragment
+     */
+    public static boolean isCompleteDocument(String content) {
+        String start = content.stripLeading();
+        start = start.substring(0, Math.min(9, start.length())).toLowerCase(Locale.ROOT);
+        return start.startsWith("<!doctype") || start.startsWith("<html");
+    }
+
+    // ===== PRIVATE METHODS =====
+
+    /**
+     * Drop least recently shown pages until the cache fits; the newest page always stays
+     */
+    private void evict() {
+        Iterator<Map.Entry<String, Page>> it = pages.entrySet().iterator();
+        while (cachedChars > MAX_CACHED_CHARS && pages.size() > 1 && it.hasNext()) {
+            cachedChars -= it.next().getValue().html().length();
+            it.remove();
+        }
+    }
+
+    private synchronized String getStylesheetText() {
+        if (stylesheetText == null) {
+            try (InputStream in = TopicPageRenderer.class.getResourceAsStream(STYLESHEET)) {
+                stylesheetText = in != null ? new String(in.readAllBytes(), StandardCharsets.UTF_8) : "";
+            } catch (IOException e) {
+                log.error("Failed to read stylesheet {}", STYLESHEET, e);
+                return "";
+            }
+        }
+        return stylesheetText;
+    }
+}
@@ -1,21 +1,37 @@
 package com.sqllearningapp.ui.components;
 
 import com.sqllearningapp.core.services.LearningContentService;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.scene.control.TreeCell;
 import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeView;
 import javafx.scene.control.Tooltip;
-import javafx.scene.image.ImageView;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 /**
  * Enhanced Topic Tree View - Displays learning topics with modern styling
- * Preserves your original topic tree structure with visual improvements
+ * Preserves your original topic tree structure with visual improvements.
+ * The tree is built from the topic outline on a background thread, and a category's
+ * topic items are only created when it is first expanded. Status refreshes touch only
+ * the topics whose view count changed.
  */
 @Slf4j
 public class TopicTreeView extends TreeView<String> {
 
+    private static final int EXPAND_ALL_LIMIT = 100; // larger curricula start with categories collapsed
+
     private final LearningContentService learningContentService;
+    private final Map<String, CategoryItem> topicCategories = new HashMap<>(); // topic name -> category item
+    private final Map<String, TreeItem<String>> topicItems = new HashMap<>();  // topic name -> created leaf item
+    private Map<String, Integer> shownViewCounts = new HashMap<>();           // view counts the cells last showed
+    private String pendingSelection; // topic selected before the tree finished loading
 
     public TopicTreeView(LearningContentService learningContentService) {
         this.learningContentService = learningContentService;
@@ -32,30 +48,65 @@ public class TopicTreeView extends TreeView<String> {
     }
 
     private void loadTopics() {
-        TreeItem<String> rootItem = learningContentService.getLearningTopicsTree();
-        setRoot(rootItem);
+        Task<LoadedTree> task = new Task<>() {
+            @Override
+            protected LoadedTree call() {
+                return buildTree(learningContentService.getTopicOutline());
+            }
+        };
+
+        task.setOnSucceeded(e -> showTree(task.getValue()));
+        task.setOnFailed(e -> log.error("Failed to load learning topics tree", task.getException()));
 
-        // Expand all categories by default
-        expandAll(rootItem);
+        Thread thread = new Thread(task, "topic-tree");
+        thread.setDaemon(true);
+        thread.start();
+    }
 
-        log.debug("Loaded learning topics tree with {} items", countTreeItems(rootItem));
+    /**
+     * Root and category items plus the topic to category lookup; topic items are left for expansion
+     */
+    private record LoadedTree(TreeItem<String> root, Map<String, CategoryItem> topicCategories, int topicCount) {
     }
 
-    private void expandAll(TreeItem<String> item) {
-        if (item != null && !item.isLeaf()) {
-            item.setExpanded(true);
-            for (TreeItem<String> child : item.getChildren()) {
-                expandAll(child);
+    private LoadedTree buildTree(List<LearningContentService.TopicGroup> outline) {
+        long start = System.nanoTime();
+        TreeItem<String> root = new TreeItem<>("SQL Learning");
+        Map<String, CategoryItem> categories = new HashMap<>();
+        List<TreeItem<String>> children = new ArrayList<>(outline.size());
+        int topicCount = 0;
+        for (LearningContentService.TopicGroup group : outline) {
+            CategoryItem category = new CategoryItem(group.name(), group.topics());
+            children.add(category);
+            for (String topic : group.topics()) {
+                categories.putIfAbsent(topic, category);
             }
+            topicCount += group.topics().size();
+        }
+        root.getChildren().setAll(children);
+        root.setExpanded(true);
+
+        // Expand all categories by default, unless there are too many topics to create up front
+        if (topicCount <= EXPAND_ALL_LIMIT) {
+            children.forEach(category -> category.setExpanded(true));
         }
+
+        log.debug("Built learning topics tree with {} categories and {} topics in {} us",
+                children.size(), topicCount, (System.nanoTime() - start) / 1000);
+        return new LoadedTree(root, categories, topicCount);
     }
 
-    private int countTreeItems(TreeItem<String> item) {
-        int count = 1;
-        for (TreeItem<String> child : item.getChildren()) {
-            count += countTreeItems(child);
+    private void showTree(LoadedTree tree) {
+        topicCategories.putAll(tree.topicCategories());
+        shownViewCounts = learningContentService.getTopicViewCounts();
+        setRoot(tree.root());
+
+        if (pendingSelection != null) {
+            String topic = pendingSelection;
+            pendingSelection = null;
+            selectTopic(topic);
         }
-        return count;
+        log.debug("Loaded learning topics tree with {} topics", tree.topicCount());
     }
 
     private String createTooltipText(String topicName) {
@@ -76,6 +127,43 @@ public class TopicTreeView extends TreeView<String> {
         return tooltip.toString();
     }
 
+    // ===== LAZY CATEGORY ITEM =====
+
+    /**
+     * A category whose topic items are created the first time its children are asked for,
+     * which the tree does when the category is expanded
+     */
+    private class CategoryItem extends TreeItem<String> {
+
+        private final List<String> topics;
+        private boolean childrenCreated;
+
+        CategoryItem(String name, List<String> topics) {
+            super(name);
+            this.topics = topics;
+        }
+
+        @Override
+        public boolean isLeaf() {
+            return false;
+        }
+
+        @Override
+        public ObservableList<TreeItem<String>> getChildren() {
+            if (!childrenCreated) {
+                childrenCreated = true;
+                List<TreeItem<String>> items = new ArrayList<>(topics.size());
+                for (String topic : topics) {
+                    TreeItem<String> item = new TreeItem<>(topic);
+                    topicItems.putIfAbsent(topic, item);
+                    items.add(item);
+                }
+                super.getChildren().setAll(items);
+            }
+            return super.getChildren();
+        }
+    }
+
     // ===== CUSTOM TREE CELL =====
 
     private class TopicTreeCell extends TreeCell<String> {
@@ -142,12 +230,23 @@ public class TopicTreeView extends TreeView<String> {
 
     // ===== PUBLIC METHODS =====
 
+    /**
+     * Redraw topics whose view count changed since the last refresh; topics without an
+     * item yet are drawn with their current status when their category is expanded
+     */
     public void refreshTopicStatus() {
-        // Refresh the display to show updated view status
-        TreeItem<String> root = getRoot();
-        if (root != null) {
-            refreshTreeItem(root);
+        Map<String, Integer> viewCounts = learningContentService.getTopicViewCounts();
+        for (Map.Entry<String, Integer> entry : viewCounts.entrySet()) {
+            if (!Objects.equals(entry.getValue(), shownViewCounts.get(entry.getKey()))) {
+                refreshTreeItem(topicItems.get(entry.getKey()));
+            }
         }
+        for (String topic : shownViewCounts.keySet()) {
+            if (!viewCounts.containsKey(topic)) {
+                refreshTreeItem(topicItems.get(topic));
+            }
+        }
+        shownViewCounts = viewCounts;
     }
 
     private void refreshTreeItem(TreeItem<String> item) {
@@ -156,34 +255,42 @@ public class TopicTreeView extends TreeView<String> {
             String value = item.getValue();
             item.setValue(null);
             item.setValue(value);
-
-            for (TreeItem<String> child : item.getChildren()) {
-                refreshTreeItem(child);
-            }
         }
     }
 
     public void selectTopic(String topicName) {
-        TreeItem<String> item = findTreeItem(getRoot(), topicName);
+        if (getRoot() == null) {
+            pendingSelection = topicName;
+            return;
+        }
+        TreeItem<String> item = getTopicItem(topicName);
         if (item != null) {
+            for (TreeItem<String> parent = item.getParent(); parent != null; parent = parent.getParent()) {
+                parent.setExpanded(true);
+            }
             getSelectionModel().select(item);
             scrollTo(getSelectionModel().getSelectedIndex());
         }
     }
 
-    private TreeItem<String> findTreeItem(TreeItem<String> parent, String value) {
-        if (parent.getValue() != null && parent.getValue().equals(value)) {
-            return parent;
+    /**
+     * Leaf item of a topic, creating its category's items if needed; null for unknown
+     * topics or while the tree is loading. Category nodes are not topics, even when a
+     * category shares its name with a topic.
+     */
+    public TreeItem<String> getTopicItem(String topicName) {
+        if (topicName == null) {
+            return null;
         }
-
-        for (TreeItem<String> child : parent.getChildren()) {
-            TreeItem<String> result = findTreeItem(child, value);
-            if (result != null) {
-                return result;
+        TreeItem<String> item = topicItems.get(topicName);
+        if (item == null) {
+            CategoryItem category = topicCategories.get(topicName);
+            if (category != null) {
+                category.getChildren();
+                item = topicItems.get(topicName);
             }
         }
-
-        return null;
+        return item;
     }
 
     public String getSelectedTopic() {
@@ -0,0 +1,210 @@
+package com.sqllearningapp.ui.components;
+
+import javafx.concurrent.Worker;
+import javafx.scene.web.WebEngine;
+import javafx.scene.web.WebView;
+import lombok.extern.slf4j.Slf4j;
+import netscape.javascript.JSObject;
+
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out WebViews that keep one shell document loaded. The shell links a shared
+ * stylesheet and is loaded as soon as a view is created, so the stylesheet is parsed
+ * before the first content arrives. After that, content is swapped into the shell
+ * through the DOM instead of reloading a whole page. Released views are kept for
+ * reuse, and the pool counts views, swaps and timings so memory and switch costs can
+ * be checked. FX thread only.
+ */
+@Slf4j
+public final class WebViewPool {
+
+    private static final int MAX_IDLE = 2;
+
+    private static final String SHELL_TEMPLATE = """
+            <!DOCTYPE html>
+            <html>
+            <head>
+                <meta charset="UTF-8">
+                <meta name="viewport" content="width=device-width, initial-scale=1.0">
+                %s
+                <script>
+                    function showContent(html) {
+                        document.getElementById('pooled-content').innerHTML = html;
+                        window.scrollTo(0, 0);
+                    }
+                </script>
+            </head>
+            <body><div id="pooled-content">%s</div></body>
+            </html>
+            """;
+
+    private final Map<String, Deque<ContentView>> idle = new HashMap<>(); // stylesheet -> released views
+
+    // Statistics
+    private int created;
+    private int live;
+    private int reused;
+    private long createNanos;
+    private long swaps;
+    private long swapNanos;
+    private long documentLoads;
+
+    /**
+     * A view whose shell links the given stylesheet resource, e.g. "/themes/learning-content.css"
+     */
+    public ContentView acquire(String stylesheet) {
+        Deque<ContentView> views = idle.get(stylesheet);
+        if (views != null && !views.isEmpty()) {
+            reused++;
+            return views.pop();
+        }
+        return new ContentView(stylesheet);
+    }
+
+    /**
+     * Return a view once it is no longer on screen; its content is cleared
+     */
+    public void release(ContentView view) {
+        view.setOnContentShown(null);
+        view.showFragment("");
+        Deque<ContentView> views = idle.computeIfAbsent(view.stylesheet, key -> new ArrayDeque<>());
+        if (views.size() < MAX_IDLE) {
+            views.push(view);
+        } else {
+            live--;
+        }
+    }
+
+    public String getStatistics() {
+        return String.format("%d live web view(s), %d created (avg %.1f ms), %d reused, "
+                        + "%d content swap(s) (avg %.2f ms), %d full document load(s)",
+                live, created, created == 0 ? 0.0 : createNanos / 1e6 / created, reused,
+                swaps, swaps == 0 ? 0.0 : swapNanos / 1e6 / swaps, documentLoads);
+    }
+
+    /**
+     * A pooled WebView showing either its shell with swapped-in content or a complete document
+     */
+    public final class ContentView {
+
+        private final String stylesheet;
+        private final String stylesheetLink;
+        private final WebView webView;
+        private final WebEngine engine;
+
+        private boolean shellReady;   // the shell document is loaded and can take swaps
+        private boolean shellLoading;
+        private String pending;       // content to swap in once the shell has loaded
+        private Runnable onContentShown;
+
+        private ContentView(String stylesheet) {
+            long start = System.nanoTime();
+            this.stylesheet = stylesheet;
+            URL url = WebViewPool.class.getResource(stylesheet);
+            if (url == null) {
+                log.warn("Stylesheet {} not found", stylesheet);
+            }
+            this.stylesheetLink = url != null
+                    ? "<link rel=\"stylesheet\" type=\"text/css\" href=\"" + url.toExternalForm() + "\">"
+                    : "";
+            this.webView = new WebView();
+            this.engine = webView.getEngine();
+
+            engine.getLoadWorker().stateProperty().addListener((obs, oldState, newState) -> {
+                if (newState == Worker.State.SUCCEEDED) {
+                    if (shellLoading) {
+                        shellLoading = false;
+                        shellReady = true;
+                        if (pending != null) {
+                            String content = pending;
+                            pending = null;
+                            swap(content);
+                            return;
+                        }
+                    }
+                    contentShown();
+                } else if (newState == Worker.State.FAILED) {
+                    shellLoading = false;
+                }
+                // CANCELLED means a newer load replaced this one and has already set the flags
+            });
+            loadShell("");
+
+            created++;
+            live++;
+            createNanos += System.nanoTime() - start;
+            log.debug("Created web view for {} in {} ms", stylesheet, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        public WebView getWebView() {
+            return webView;
+        }
+
+        public WebEngine getEngine() {
+            return engine;
+        }
+
+        /**
+         * Called after new content is on screen, whether swapped in or loaded
+         */
+        public void setOnContentShown(Runnable onContentShown) {
+            this.onContentShown = onContentShown;
+        }
+
+        /**
+         * Show an HTML fragment inside the shell, swapping it in when the shell is ready
+         */
+        public void showFragment(String html) {
+            if (shellReady) {
+                swap(html);
+            } else if (shellLoading) {
+                pending = html;
+            } else {
+                loadShell(html);
+            }
+        }
+
+        /**
+         * Show a complete HTML document; this replaces the shell until the next fragment
+         */
+        public void showDocument(String html) {
+            shellReady = false;
+            shellLoading = false;
+            pending = null;
+            documentLoads++;
+            engine.loadContent(html, "text/html");
+        }
+
+        private void loadShell(String content) {
+            shellReady = false;
+            shellLoading = true;
+            pending = null;
+            engine.loadContent(String.format(SHELL_TEMPLATE, stylesheetLink, content), "text/html");
+        }
+
+        private void swap(String html) {
+            long start = System.nanoTime();
+            try {
+                ((JSObject) engine.executeScript("window")).call("showContent", html);
+            } catch (Exception e) {
+                log.debug("Content swap failed, reloading shell: {}", e.getMessage());
+                loadShell(html);
+                return;
+            }
+            swaps++;
+            swapNanos += System.nanoTime() - start;
+            contentShown();
+        }
+
+        private void contentShown() {
+            if (onContentShown != null) {
+                onContentShown.run();
+            }
+        }
+    }
+}
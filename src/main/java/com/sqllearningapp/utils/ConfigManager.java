@@ -107,6 +107,21 @@ public class ConfigManager {
         defaultConfig.setAutoResetDatabase(false);
         defaultConfig.setQueryTimeout(30);
         defaultConfig.setMaxResultRows(1000);
+        defaultConfig.setResultMemoryBudgetMb(64);
+        defaultConfig.setSpillLargeResults(true);
+        defaultConfig.setMaxSpilledRows(5_000_000);
+        defaultConfig.setResultCacheEnabled(true);
+        defaultConfig.setResultCacheSizeMb(32);
+        defaultConfig.setMaxConcurrentQueries(2);
+        defaultConfig.setAutoRollbackDml(true);
+        defaultConfig.setPracticeDataScale(10);
+        defaultConfig.setPracticeDataSeed(42L);
+
+        // Query tuning
+        defaultConfig.setSelectFetchSize(1000);
+        defaultConfig.setExportFetchSize(10_000);
+        defaultConfig.setForwardOnlyResults(true);
+        defaultConfig.setReadOnlyResults(true);
 
         // Learning preferences
         defaultConfig.setAutoAdvanceTopics(false);
@@ -284,8 +299,23 @@ public class ConfigManager {
         // Database settings
         private boolean autoResetDatabase = false;
         private int queryTimeout = 30;
-        private int maxResultRows = 1000;
+        private int maxResultRows = 1000; // rows kept in memory; the rest spill to disk
+        private int resultMemoryBudgetMb = 64;
+        private boolean spillLargeResults = true;
+        private int maxSpilledRows = 5_000_000;
+        private boolean resultCacheEnabled = true; // reuse results of repeated read-only SELECTs
+        private int resultCacheSizeMb = 32;
+        private int maxConcurrentQueries = 2; // statements running at once across the whole app
         private boolean enableQueryLogging = true;
+        private boolean autoRollbackDml = true; // preview INSERT/UPDATE/DELETE, then roll back
+        private int practiceDataScale = 10; // default scale factor for generated practice data
+        private long practiceDataSeed = 42L;
+
+        // Query tuning (applied per query type by QueryExecutor)
+        private int selectFetchSize = 1000;
+        private int exportFetchSize = 10_000;
+        private boolean forwardOnlyResults = true;
+        private boolean readOnlyResults = true;
 
         // Learning preferences
         private boolean autoAdvanceTopics = false;
@@ -304,6 +304,11 @@ public class FileUtils {
         return tempPath.toString();
     }
 
+    public static Path getTempDirectory() throws IOException {
+        createDirectoryIfNotExists(TEMP_DIR);
+        return Paths.get(TEMP_DIR);
+    }
+
     public static void cleanupTempFiles() throws IOException {
         Path tempDir = Paths.get(TEMP_DIR);
         if (!Files.exists(tempDir)) return;
@@ -2,6 +2,7 @@ module com.sqllearningapp {
     // JavaFX modules
     requires javafx.controls;
     requires javafx.web;
+    requires jdk.jsobject;
     requires javafx.graphics;
 
     // RichTextFX and ReactFX for the code editor
@@ -0,0 +1,110 @@
+package com.sqllearningapp.core.database;
+
+import com.sqllearningapp.core.models.QueryResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Grading sandboxes must survive whatever a submission contains
+ */
+class QueryExecutorSandboxTest {
+
+    private final QueryExecutor executor = new QueryExecutor(null);
+    private Connection sandbox;
+
+    @BeforeEach
+    void openSandbox() throws SQLException {
+        sandbox = DriverManager.getConnection("jdbc:h2:mem:sandbox_test");
+        try (Statement stmt = sandbox.createStatement()) {
+            stmt.execute("CREATE TABLE t (id INT PRIMARY KEY, name VARCHAR(20))");
+            stmt.execute("INSERT INTO t VALUES (1, 'a'), (2, 'b')");
+        }
+    }
+
+    @AfterEach
+    void closeSandbox() throws SQLException {
+        sandbox.close();
+    }
+
+    @Test
+    void singleSelectRuns() {
+        QueryResult result = executor.executeInSandbox(sandbox, "SELECT * FROM t ORDER BY id");
+
+        assertTrue(result.isSuccess(), result.getMessage());
+        assertEquals(2, result.getRowCount());
+    }
+
+    @Test
+    void trailingSemicolonIsOneStatement() {
+        assertTrue(executor.executeInSandbox(sandbox, "SELECT * FROM t;").isSuccess());
+    }
+
+    @Test
+    void selectFollowedByDropIsRefusedAndTableSurvives() throws SQLException {
+        QueryResult result = executor.executeInSandbox(sandbox, "SELECT * FROM t; DROP TABLE t");
+
+        assertFalse(result.isSuccess());
+        assertEquals(2, countRows());
+    }
+
+    @Test
+    void deleteHiddenBehindSelectIsRefused() throws SQLException {
+        QueryResult result = executor.executeInSandbox(sandbox, "SELECT * FROM t; DELETE FROM t");
+
+        assertFalse(result.isSuccess());
+        assertEquals(2, countRows());
+    }
+
+    @Test
+    void rowsPastThePageAreCountedNotSpilled() throws SQLException {
+        try (Statement stmt = sandbox.createStatement()) {
+            stmt.execute("CREATE TABLE big AS SELECT X AS id FROM SYSTEM_RANGE(1, 5000)");
+        }
+
+        QueryResult result = executor.executeInSandbox(sandbox, "SELECT * FROM big");
+
+        assertTrue(result.isSuccess(), result.getMessage());
+        assertEquals(1000, result.getRowCount());
+        assertEquals(5000, result.getTotalRowCount());
+        assertNull(result.getSpillFile());
+    }
+
+    @Test
+    void dmlPreviewCoversRowsPastThePage() throws SQLException {
+        try (Statement stmt = sandbox.createStatement()) {
+            stmt.execute("CREATE TABLE big (id INT PRIMARY KEY, v INT) AS SELECT X, 0 FROM SYSTEM_RANGE(5000, 1, -1)");
+        }
+
+        QueryResult expected = executor.executeInSandbox(sandbox, "UPDATE big SET v = 1 WHERE id = 4000");
+        QueryResult same = executor.executeInSandbox(sandbox, "UPDATE big SET v = 1 WHERE id = 4000");
+        QueryResult other = executor.executeInSandbox(sandbox, "UPDATE big SET v = 1 WHERE id = 4001");
+
+        assertTrue(expected.isSuccess(), expected.getMessage());
+        assertEquals(5000, expected.getTotalRowCount());
+        assertEquals(1, expected.getRows().get(0).get("ID"));
+        assertEquals(same.getRowChecksum(), expected.getRowChecksum());
+        assertEquals(expected.getRows(), other.getRows());
+        assertNotEquals(expected.getRowChecksum(), other.getRowChecksum());
+    }
+
+    private int countRows() throws SQLException {
+        try (Statement stmt = sandbox.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM t")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.sqllearningapp.core.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Values of different numeric types must canonicalize alike
+ */
+class ResultDiffEngineTest {
+
+    @Test
+    void smallNumbersAgreeAcrossTypes() {
+        assertEquals(ResultDiffEngine.canonical(7), ResultDiffEngine.canonical(7.0));
+        assertEquals(ResultDiffEngine.canonical(7L), ResultDiffEngine.canonical(new BigDecimal("7.000")));
+    }
+
+    @Test
+    void largeIntegersAgreeWithDoublesAndDecimals() {
+        Object bigint = ResultDiffEngine.canonical(10_000_000_000_000L);
+
+        assertEquals(ResultDiffEngine.canonical(1e13), bigint);
+        assertEquals(ResultDiffEngine.canonical(new BigDecimal("10000000000000.00")), bigint);
+    }
+}